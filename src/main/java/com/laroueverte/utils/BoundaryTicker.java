@@ -0,0 +1,189 @@
+package com.laroueverte.utils;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodic tick source firing on the {@link TimeBoundary} of a time zone, for example at the start of each local hour or day.<br>
+ * Each tick is scheduled from the absolute time of the next boundary, computed on the clock of the ticker, so delays never accumulate. A wake up before
+ * the boundary is rescheduled instead of ticking early. When a tick is so late that later boundaries have already passed, those are counted as missed and
+ * skipped. The lateness of each tick is kept as a metric.<br>
+ * The listener gets the boundaries one at a time and in order, even when a late tick and the next one run on two threads of the scheduler
+ *
+ * @author la roue verte
+ */
+public final class BoundaryTicker {
+	private final TimeBoundary boundary;
+	private final ZoneOffsetTable table;
+	private final TimeZone timeZone;
+	private final ScheduledExecutorService scheduler;
+	private final Consumer<DateConstant> listener;
+	private final Clock clock;
+	/** Held for the whole tick, listener call included, unlike the ticker lock */
+	private final Object delivery = new Object();
+
+	private ScheduledFuture<?> future;
+	private long deadline;
+	private boolean running;
+
+	private volatile long tickCount;
+	private volatile long missedCount;
+	private volatile long lastLatenessMillis;
+	private volatile long maxLatenessMillis;
+	private volatile long totalLatenessMillis;
+
+	/**
+	 * Ticker on the clock of the library, {@link DateBuilder#getClock()}
+	 *
+	 * @param boundary is the boundary to tick on
+	 * @param zone is the time zone of the boundaries
+	 * @param scheduler runs the ticks
+	 * @param listener receives each boundary, in the time zone of the ticker. It is called outside of the ticker lock, from the scheduler threads
+	 */
+	public BoundaryTicker(TimeBoundary boundary, ZoneId zone, ScheduledExecutorService scheduler, Consumer<DateConstant> listener) {
+		this(boundary, zone, scheduler, listener, DateBuilder.getClock());
+	}
+
+	/**
+	 *
+	 * @param boundary is the boundary to tick on
+	 * @param zone is the time zone of the boundaries
+	 * @param scheduler runs the ticks
+	 * @param listener receives each boundary, in the time zone of the ticker. It is called outside of the ticker lock, from the scheduler threads
+	 * @param clock gives the current time
+	 */
+	public BoundaryTicker(TimeBoundary boundary, ZoneId zone, ScheduledExecutorService scheduler, Consumer<DateConstant> listener, Clock clock) {
+		if (boundary == null || zone == null || scheduler == null || listener == null || clock == null) {
+			throw new IllegalArgumentException("Boundary, zone, scheduler, listener and clock are mandatory");
+		}
+		this.boundary = boundary;
+		this.table = ZoneOffsetTable.forZone(zone);
+		this.timeZone = TimeZone.getTimeZone(zone);
+		this.scheduler = scheduler;
+		this.listener = listener;
+		this.clock = clock;
+	}
+
+	/**
+	 * Schedules the first tick on the next boundary
+	 */
+	public synchronized void start() {
+		if (running) {
+			throw new IllegalStateException("Ticker already started");
+		}
+		running = true;
+		long now = clock.millis();
+		deadline = boundary.next(now, table);
+		schedule(now);
+	}
+
+	/**
+	 * Cancels the next tick. A listener call already under way is not waited for, but no other one starts
+	 */
+	public synchronized void stop() {
+		running = false;
+		if (future != null) {
+			future.cancel(false);
+			future = null;
+		}
+	}
+
+	/**
+	 *
+	 * @return the time of the next tick, in milliseconds since EPOCH
+	 */
+	public synchronized long getNextDeadline() {
+		return deadline;
+	}
+
+	/**
+	 *
+	 * @return the number of ticks sent to the listener
+	 */
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	/**
+	 *
+	 * @return the number of boundaries skipped because a tick was later than the following boundary
+	 */
+	public long getMissedCount() {
+		return missedCount;
+	}
+
+	/**
+	 *
+	 * @return the lateness of the last tick, in milliseconds
+	 */
+	public long getLastLatenessMillis() {
+		return lastLatenessMillis;
+	}
+
+	/**
+	 *
+	 * @return the highest lateness observed, in milliseconds
+	 */
+	public long getMaxLatenessMillis() {
+		return maxLatenessMillis;
+	}
+
+	/**
+	 *
+	 * @return the mean lateness of the ticks, in milliseconds
+	 */
+	public double getMeanLatenessMillis() {
+		long count = tickCount;
+		return count == 0 ? 0 : (double) totalLatenessMillis / count;
+	}
+
+	private void schedule(long now) {
+		future = scheduler.schedule(this::tick, Math.max(0, deadline - now), TimeUnit.MILLISECONDS);
+	}
+
+	void tick() {
+		synchronized (delivery) {
+			DateBuilder date;
+			synchronized (this) {
+				if (!running) {
+					return;
+				}
+				long now = clock.millis();
+				if (now < deadline) {
+					// Woken up early, the scheduler clock drifted from the ticker one
+					schedule(now);
+					return;
+				}
+				long boundaryMillis = deadline;
+				long lateness = now - boundaryMillis;
+				lastLatenessMillis = lateness;
+				maxLatenessMillis = Math.max(maxLatenessMillis, lateness);
+				totalLatenessMillis += lateness;
+				tickCount++;
+				deadline = boundary.next(boundaryMillis, table);
+				long missed = 0;
+				while (deadline <= now) {
+					missed++;
+					deadline = boundary.next(deadline, table);
+				}
+				missedCount += missed;
+				schedule(now);
+				date = DateBuilder.milliseconds(boundaryMillis);
+				date.calendar.setTimeZone(timeZone);
+			}
+			// Outside of the ticker lock : a slow listener doesn't block stop(), and a listener waiting for another thread using the ticker can't deadlock
+			if (isRunning()) {
+				listener.accept(date);
+			}
+		}
+	}
+
+	private synchronized boolean isRunning() {
+		return running;
+	}
+}
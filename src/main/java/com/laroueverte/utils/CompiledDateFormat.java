@@ -0,0 +1,477 @@
+package com.laroueverte.utils;
+
+import java.text.DecimalFormatSymbols;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link java.text.SimpleDateFormat} compatible pattern compiled once into an immutable list of formatting operations. Day, month, am/pm and era names
+ * are precomputed per locale, so formatting only appends chars to a caller supplied StringBuilder : no Calendar, no Date, no intermediate String.<br>
+ * Instances are immutable and can be shared between threads.<br>
+ * Supported pattern letters are G y M L d E u D F a H k K h m s S Z X. Dates and offsets are computed as java.time does (proleptic gregorian calendar,
+ * local mean time before standard time zones), so very old dates may differ from SimpleDateFormat ones
+ *
+ * @author la roue verte
+ */
+public final class CompiledDateFormat {
+	private static final int LITERAL = 0;
+	private static final int ERA = 1;
+	private static final int YEAR = 2;
+	private static final int MONTH = 3;
+	private static final int MONTH_STANDALONE = 4;
+	private static final int DAY_OF_MONTH = 5;
+	private static final int DAY_OF_WEEK = 6;
+	private static final int ISO_DAY_OF_WEEK = 7;
+	private static final int DAY_OF_YEAR = 8;
+	private static final int DAY_OF_WEEK_IN_MONTH = 9;
+	private static final int AM_PM = 10;
+	private static final int HOUR_OF_DAY0 = 11;
+	private static final int HOUR_OF_DAY1 = 12;
+	private static final int HOUR0 = 13;
+	private static final int HOUR1 = 14;
+	private static final int MINUTE = 15;
+	private static final int SECOND = 16;
+	private static final int MILLISECOND = 17;
+	private static final int RFC822_ZONE = 18;
+	private static final int ISO_ZONE = 19;
+
+	private static final String SIMPLE_DATE_FORMAT_LETTERS = "GyMdkHmsSEDFwWahKzZYuXL";
+	private static final Map<Locale, NameTable> NAME_TABLES = new ConcurrentHashMap<>();
+
+	private final String pattern;
+	private final Locale locale;
+	private final ZoneId zone;
+	private final ZoneOffsetTable offsets;
+	private final int[] operations;
+	private final int[] counts;
+	private final String[] literals;
+	private final NameTable names;
+	private final boolean forceStandaloneMonth;
+	private final char zeroDigit;
+
+	private CompiledDateFormat(String pattern, Locale locale, ZoneId zone, int[] operations, int[] counts, String[] literals) {
+		this.pattern = pattern;
+		this.locale = locale;
+		this.zone = zone;
+		this.offsets = ZoneOffsetTable.forZone(zone);
+		this.operations = operations;
+		this.counts = counts;
+		this.literals = literals;
+		this.names = NAME_TABLES.computeIfAbsent(locale, NameTable::new);
+		// Same rule as SimpleDateFormat : a pattern whose only field is a month uses the standalone month names
+		int fieldCount = 0;
+		int lastOperation = LITERAL;
+		for (int operation : operations) {
+			if (operation != LITERAL) {
+				fieldCount++;
+				lastOperation = operation;
+			}
+		}
+		this.forceStandaloneMonth = fieldCount == 1 && lastOperation == MONTH;
+		this.zeroDigit = DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+	}
+
+	/**
+	 * Compiles a pattern with the default format locale and time zone, as {@link java.text.SimpleDateFormat#SimpleDateFormat(String)} would use
+	 *
+	 * @param pattern is a SimpleDateFormat pattern
+	 * @return the compiled format
+	 * @throws IllegalArgumentException if the pattern is invalid or uses an unsupported letter
+	 */
+	public static CompiledDateFormat compile(String pattern) {
+		return compile(pattern, Locale.getDefault(Locale.Category.FORMAT));
+	}
+
+	/**
+	 *
+	 * @param pattern is a SimpleDateFormat pattern
+	 * @param locale is the locale of day and month names
+	 * @return the compiled format, using the default time zone
+	 * @throws IllegalArgumentException if the pattern is invalid or uses an unsupported letter
+	 */
+	public static CompiledDateFormat compile(String pattern, Locale locale) {
+		return compile(pattern, locale, ZoneId.systemDefault());
+	}
+
+	/**
+	 *
+	 * @param pattern is a SimpleDateFormat pattern
+	 * @param locale is the locale of day and month names
+	 * @param zone is the time zone in which dates are rendered
+	 * @return the compiled format
+	 * @throws IllegalArgumentException if the pattern is invalid or uses an unsupported letter
+	 */
+	public static CompiledDateFormat compile(String pattern, Locale locale, ZoneId zone) {
+		List<Integer> operations = new ArrayList<>();
+		List<Integer> counts = new ArrayList<>();
+		List<String> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		boolean inQuote = false;
+		int length = pattern.length();
+		for (int i = 0; i < length; i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+					literal.append('\'');
+					i++;
+				} else {
+					inQuote = !inQuote;
+				}
+			} else if (inQuote || !(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+				literal.append(c);
+			} else {
+				int count = 1;
+				while (i + 1 < length && pattern.charAt(i + 1) == c) {
+					count++;
+					i++;
+				}
+				if (literal.length() > 0) {
+					operations.add(LITERAL);
+					counts.add(0);
+					literals.add(literal.toString());
+					literal.setLength(0);
+				}
+				operations.add(operation(c, count));
+				counts.add(count);
+				literals.add(null);
+			}
+		}
+		if (inQuote) {
+			throw new IllegalArgumentException("Unterminated quote");
+		}
+		if (literal.length() > 0) {
+			operations.add(LITERAL);
+			counts.add(0);
+			literals.add(literal.toString());
+		}
+		int size = operations.size();
+		int[] operationArray = new int[size];
+		int[] countArray = new int[size];
+		for (int i = 0; i < size; i++) {
+			operationArray[i] = operations.get(i);
+			countArray[i] = counts.get(i);
+		}
+		return new CompiledDateFormat(pattern, locale, zone, operationArray, countArray, literals.toArray(new String[size]));
+	}
+
+	private static int operation(char letter, int count) {
+		switch (letter) {
+		case 'G':
+			return ERA;
+		case 'y':
+			return YEAR;
+		case 'M':
+			return MONTH;
+		case 'L':
+			return MONTH_STANDALONE;
+		case 'd':
+			return DAY_OF_MONTH;
+		case 'E':
+			return DAY_OF_WEEK;
+		case 'u':
+			return ISO_DAY_OF_WEEK;
+		case 'D':
+			return DAY_OF_YEAR;
+		case 'F':
+			return DAY_OF_WEEK_IN_MONTH;
+		case 'a':
+			return AM_PM;
+		case 'H':
+			return HOUR_OF_DAY0;
+		case 'k':
+			return HOUR_OF_DAY1;
+		case 'K':
+			return HOUR0;
+		case 'h':
+			return HOUR1;
+		case 'm':
+			return MINUTE;
+		case 's':
+			return SECOND;
+		case 'S':
+			return MILLISECOND;
+		case 'Z':
+			return RFC822_ZONE;
+		case 'X':
+			if (count > 3) {
+				throw new IllegalArgumentException("invalid ISO 8601 format: length=" + count);
+			}
+			return ISO_ZONE;
+		default:
+			if (SIMPLE_DATE_FORMAT_LETTERS.indexOf(letter) >= 0) {
+				throw new IllegalArgumentException("Unsupported pattern character '" + letter + "'");
+			}
+			throw new IllegalArgumentException("Illegal pattern character '" + letter + "'");
+		}
+	}
+
+	/**
+	 * Reuses the compiled pattern in another time zone, without parsing it again
+	 *
+	 * @param otherZone is the time zone in which dates are rendered
+	 * @return a format rendering in otherZone
+	 */
+	public CompiledDateFormat withZone(ZoneId otherZone) {
+		if (otherZone.equals(zone)) {
+			return this;
+		}
+		return new CompiledDateFormat(pattern, locale, otherZone, operations, counts, literals);
+	}
+
+	/**
+	 *
+	 * @return the source pattern
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 *
+	 * @return the locale of day and month names
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+
+	/**
+	 *
+	 * @return the time zone in which dates are rendered
+	 */
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	/**
+	 * Formats a date
+	 *
+	 * @param date is the date to format
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder format(DateConstant date, StringBuilder destination) {
+		return format(date.getTimeInMillis(), destination);
+	}
+
+	/**
+	 * Formats a date
+	 *
+	 * @param date is the date to format
+	 * @return the formatted date
+	 */
+	public String format(DateConstant date) {
+		return format(date.getTimeInMillis(), new StringBuilder(pattern.length() + 16)).toString();
+	}
+
+	/**
+	 * Formats a time in milliseconds since EPOCH, appending only chars to the destination
+	 *
+	 * @param millis is the time to format
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder format(long millis, StringBuilder destination) {
+		int offsetMillis = offsets.getOffsetMillis(millis);
+		long local = millis + offsetMillis;
+		long epochDay = Math.floorDiv(local, EpochDays.MILLIS_PER_DAY);
+		int millisOfDay = (int) (local - epochDay * EpochDays.MILLIS_PER_DAY);
+		int civil = EpochDays.toCivil(epochDay);
+		int year = EpochDays.year(civil);
+		int month = EpochDays.month(civil);
+		int day = EpochDays.dayOfMonth(civil);
+		int hour = millisOfDay / 3_600_000;
+		for (int i = 0; i < operations.length; i++) {
+			int count = counts[i];
+			switch (operations[i]) {
+			case LITERAL:
+				destination.append(literals[i]);
+				break;
+			case ERA:
+				destination.append(count >= 4 ? names.longEras[year > 0 ? 1 : 0] : names.shortEras[year > 0 ? 1 : 0]);
+				break;
+			case YEAR:
+				int yearOfEra = year > 0 ? year : 1 - year;
+				if (count == 2) {
+					appendNumber(destination, yearOfEra % 100, 2);
+				} else {
+					appendNumber(destination, yearOfEra, count);
+				}
+				break;
+			case MONTH:
+				if (count >= 4) {
+					destination.append(forceStandaloneMonth ? names.longStandaloneMonths[month - 1] : names.longMonths[month - 1]);
+				} else if (count == 3) {
+					destination.append(forceStandaloneMonth ? names.shortStandaloneMonths[month - 1] : names.shortMonths[month - 1]);
+				} else {
+					appendNumber(destination, month, count);
+				}
+				break;
+			case MONTH_STANDALONE:
+				String standaloneName = count >= 4 ? names.longStandaloneOnlyMonths[month - 1] : count == 3 ? names.shortStandaloneOnlyMonths[month - 1] : null;
+				if (standaloneName != null) {
+					destination.append(standaloneName);
+				} else {
+					appendNumber(destination, month, count);
+				}
+				break;
+			case DAY_OF_MONTH:
+				appendNumber(destination, day, count);
+				break;
+			case DAY_OF_WEEK:
+				int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+				destination.append(count >= 4 ? names.longWeekdays[dayOfWeek] : names.shortWeekdays[dayOfWeek]);
+				break;
+			case ISO_DAY_OF_WEEK:
+				appendNumber(destination, (int) Math.floorMod(epochDay + 3, 7L) + 1, count);
+				break;
+			case DAY_OF_YEAR:
+				appendNumber(destination, (int) (epochDay - EpochDays.of(year, 1, 1)) + 1, count);
+				break;
+			case DAY_OF_WEEK_IN_MONTH:
+				appendNumber(destination, (day - 1) / 7 + 1, count);
+				break;
+			case AM_PM:
+				destination.append(count >= 4 ? names.longAmPm[hour / 12] : names.shortAmPm[hour / 12]);
+				break;
+			case HOUR_OF_DAY0:
+				appendNumber(destination, hour, count);
+				break;
+			case HOUR_OF_DAY1:
+				appendNumber(destination, hour == 0 ? 24 : hour, count);
+				break;
+			case HOUR0:
+				appendNumber(destination, hour % 12, count);
+				break;
+			case HOUR1:
+				appendNumber(destination, hour % 12 == 0 ? 12 : hour % 12, count);
+				break;
+			case MINUTE:
+				appendNumber(destination, millisOfDay / 60_000 % 60, count);
+				break;
+			case SECOND:
+				appendNumber(destination, millisOfDay / 1000 % 60, count);
+				break;
+			case MILLISECOND:
+				appendNumber(destination, millisOfDay % 1000, count);
+				break;
+			case RFC822_ZONE:
+				int offsetMinutes = offsetMillis / 60_000;
+				destination.append(offsetMinutes < 0 ? '-' : '+');
+				offsetMinutes = Math.abs(offsetMinutes);
+				appendAsciiNumber(destination, offsetMinutes / 60);
+				appendAsciiNumber(destination, offsetMinutes % 60);
+				break;
+			case ISO_ZONE:
+				if (offsetMillis == 0) {
+					destination.append('Z');
+					break;
+				}
+				int isoOffsetMinutes = offsetMillis / 60_000;
+				destination.append(isoOffsetMinutes < 0 ? '-' : '+');
+				isoOffsetMinutes = Math.abs(isoOffsetMinutes);
+				appendAsciiNumber(destination, isoOffsetMinutes / 60);
+				if (count > 1) {
+					if (count == 3) {
+						destination.append(':');
+					}
+					appendAsciiNumber(destination, isoOffsetMinutes % 60);
+				}
+				break;
+			default:
+				throw new IllegalStateException("Unknown operation " + operations[i]);
+			}
+		}
+		return destination;
+	}
+
+	/**
+	 * Appends a positive number, left padded with zeros up to minDigits, using the locale digits
+	 */
+	private void appendNumber(StringBuilder destination, int value, int minDigits) {
+		int digits = 1;
+		int divisor = 1;
+		while (divisor <= value / 10) {
+			divisor *= 10;
+			digits++;
+		}
+		for (int i = digits; i < minDigits; i++) {
+			destination.append(zeroDigit);
+		}
+		while (divisor > 0) {
+			destination.append((char) (zeroDigit + value / divisor % 10));
+			divisor /= 10;
+		}
+	}
+
+	/**
+	 * Appends a number from 0 to 99 on 2 ascii digits, as SimpleDateFormat does for zones
+	 */
+	private static void appendAsciiNumber(StringBuilder destination, int value) {
+		destination.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledDateFormat[" + pattern + ", " + locale + ", " + zone + "]";
+	}
+
+	/**
+	 * Names of one locale, as SimpleDateFormat obtains them from Calendar.getDisplayName
+	 */
+	private static final class NameTable {
+		private final String[] longMonths = new String[12];
+		private final String[] shortMonths = new String[12];
+		private final String[] longStandaloneMonths = new String[12];
+		private final String[] shortStandaloneMonths = new String[12];
+		// Standalone names without fallback to format names, null when the locale has none
+		private final String[] longStandaloneOnlyMonths = new String[12];
+		private final String[] shortStandaloneOnlyMonths = new String[12];
+		// Indexed by Calendar.DAY_OF_WEEK, 1 = Sunday
+		private final String[] longWeekdays = new String[8];
+		private final String[] shortWeekdays = new String[8];
+		private final String[] longAmPm = new String[2];
+		private final String[] shortAmPm = new String[2];
+		private final String[] longEras = new String[2];
+		private final String[] shortEras = new String[2];
+
+		private NameTable(Locale locale) {
+			Calendar calendar = Calendar.getInstance(locale);
+			calendar.clear();
+			for (int month = 0; month < 12; month++) {
+				calendar.set(2000, month, 1);
+				longMonths[month] = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, locale);
+				shortMonths[month] = calendar.getDisplayName(Calendar.MONTH, Calendar.SHORT, locale);
+				longStandaloneOnlyMonths[month] = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG_STANDALONE, locale);
+				shortStandaloneOnlyMonths[month] = calendar.getDisplayName(Calendar.MONTH, Calendar.SHORT_STANDALONE, locale);
+				longStandaloneMonths[month] = longStandaloneOnlyMonths[month] != null ? longStandaloneOnlyMonths[month] : longMonths[month];
+				shortStandaloneMonths[month] = shortStandaloneOnlyMonths[month] != null ? shortStandaloneOnlyMonths[month] : shortMonths[month];
+			}
+			for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek++) {
+				// 2000-01-02 is a Sunday
+				calendar.set(2000, 0, 1 + dayOfWeek);
+				longWeekdays[dayOfWeek] = calendar.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.LONG, locale);
+				shortWeekdays[dayOfWeek] = calendar.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.SHORT, locale);
+			}
+			for (int amPm = 0; amPm < 2; amPm++) {
+				calendar.set(2000, 0, 1, amPm * 12, 0);
+				longAmPm[amPm] = calendar.getDisplayName(Calendar.AM_PM, Calendar.LONG, locale);
+				shortAmPm[amPm] = calendar.getDisplayName(Calendar.AM_PM, Calendar.SHORT, locale);
+			}
+			calendar.set(2000, 0, 1, 0, 0);
+			for (int era = 0; era < 2; era++) {
+				calendar.set(Calendar.ERA, era);
+				longEras[era] = nonNull(calendar.getDisplayName(Calendar.ERA, Calendar.LONG, locale));
+				shortEras[era] = nonNull(calendar.getDisplayName(Calendar.ERA, Calendar.SHORT, locale));
+			}
+		}
+
+		private static String nonNull(String name) {
+			return name == null ? "" : name;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.laroueverte.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rendering of the current time of {@link DateBuilder#getClock()} in a fixed pattern, for log lines and headers formatted on every request. The rendering is
+ * cached and only redone when the clock leaves its second, or its millisecond for patterns with milliseconds : a call costs a volatile read and a time
+ * comparison.<br>
+ * Instances are thread safe and lock free, a thread finding an outdated rendering renders the new one and publishes it with a compare and set
+ *
+ * @author la roue verte
+ */
+public final class CurrentTimeFormat {
+	private final CompiledDateFormat format;
+	private final long periodMillis;
+	private final AtomicReference<Rendering> current = new AtomicReference<>(new Rendering(Long.MIN_VALUE, null));
+	private final LongAdder renderCount = new LongAdder();
+
+	/**
+	 *
+	 * @param format is the format of the current time
+	 */
+	public CurrentTimeFormat(CompiledDateFormat format) {
+		this.format = format;
+		this.periodMillis = hasMilliseconds(format.getPattern()) ? 1 : 1000;
+	}
+
+	/**
+	 *
+	 * @param pattern is a SimpleDateFormat compatible pattern, see {@link CompiledDateFormat}
+	 * @param locale is the locale of the names of days and months
+	 * @param zone is the time zone of the rendered time
+	 * @return a new cached format
+	 */
+	public static CurrentTimeFormat of(String pattern, Locale locale, ZoneId zone) {
+		return new CurrentTimeFormat(CompiledDateFormat.compile(pattern, locale, zone));
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the rendered time
+	 * @return the current time as {@value DateConstant#ISO_FORMAT_TIME}
+	 */
+	public static CurrentTimeFormat isoFormatTime(ZoneId zone) {
+		return of(DateConstant.ISO_FORMAT_TIME, Locale.ROOT, zone);
+	}
+
+	/**
+	 *
+	 * @return the current time as {@link DateConstant#toISO8601ZuluTimeNoMillis()} renders it, like 2023-03-15T14:03:12Z
+	 */
+	public static CurrentTimeFormat zuluTimeNoMillis() {
+		return of("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT, ZoneOffset.UTC);
+	}
+
+	/**
+	 *
+	 * @return the current time, rendered at most once per second (or millisecond)
+	 */
+	public String get() {
+		return rendering().text;
+	}
+
+	/**
+	 *
+	 * @return the current time in UTF-8, shared by all the callers of the same second (or millisecond) : it must not be modified
+	 */
+	public byte[] getBytes() {
+		return rendering().bytes;
+	}
+
+	public CompiledDateFormat getFormat() {
+		return format;
+	}
+
+	long getRenderCount() {
+		return renderCount.sum();
+	}
+
+	private Rendering rendering() {
+		long now = DateBuilder.getClock().millis();
+		Rendering rendering = current.get();
+		if (now >= rendering.start && now < rendering.start + periodMillis) {
+			return rendering;
+		}
+		long start = now - Math.floorMod(now, periodMillis);
+		Rendering fresh = new Rendering(start, format.format(start, new StringBuilder(32)).toString());
+		renderCount.increment();
+		// A failed update means another thread published a rendering meanwhile, which is as good
+		current.compareAndSet(rendering, fresh);
+		return fresh;
+	}
+
+	private static boolean hasMilliseconds(String pattern) {
+		boolean quoted = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			} else if (c == 'S' && !quoted) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "CurrentTimeFormat[" + format.getPattern() + "]";
+	}
+
+	private static final class Rendering {
+		final long start;
+		final String text;
+		final byte[] bytes;
+
+		Rendering(long start, String text) {
+			this.start = start;
+			this.text = text;
+			this.bytes = text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -1,8 +1,13 @@
 
 package com.laroueverte.utils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -10,6 +15,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * This Class implement a DateBuilder by inheriting from DateConstant. It provides builder and state modification methods
@@ -18,6 +24,11 @@ import java.util.Date;
  *
  */
 public class DateBuilder extends DateConstant {
+	static final String NULL_INPUT = "null input";
+	private static final String FORMAT_MISMATCH = "text does not match format";
+
+	private static volatile Clock clock = Clock.systemDefaultZone();
+
 	// Private Java constructors
 	private DateBuilder() {
 		super();
@@ -31,6 +42,29 @@ public class DateBuilder extends DateConstant {
 		super(calendar);
 	}
 
+	// Clock
+
+	/**
+	 * Changes the clock giving the current time to {@link #now()}, {@link #isFuture()} and the schedulers of the library. Meant to run tests with a
+	 * simulated time
+	 *
+	 * @param clock is the new clock
+	 */
+	public static void setClock(Clock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Clock can't be null");
+		}
+		DateBuilder.clock = clock;
+	}
+
+	/**
+	 *
+	 * @return the clock giving the current time, the system one by default
+	 */
+	public static Clock getClock() {
+		return clock;
+	}
+
 	// Constructors
 
 	/**
@@ -41,6 +75,15 @@ public class DateBuilder extends DateConstant {
 		return new DateBuilder();
 	}
 
+	/**
+	 *
+	 * @param zone is the time zone of the new builder
+	 * @return a DateBuilder build with the current date and time, in the given time zone
+	 */
+	public static DateBuilder now(ZoneId zone) {
+		return now().inZone(zone);
+	}
+
 	/**
 	 *
 	 * @param date is the source date
@@ -58,8 +101,18 @@ public class DateBuilder extends DateConstant {
 	 * @return a new DateBuilder build with the given parameters
 	 */
 	public static DateBuilder dateTime(Date date, Date time) {
-		DateBuilder timeDateBuilder = DateBuilder.date(time);
-		return new DateBuilder(date).setHour(timeDateBuilder.getHour()).setMinute(timeDateBuilder.getMinute()).setSecond(timeDateBuilder.getSecond());
+		ZoneId zone = ZoneId.systemDefault();
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		if (!table.covers(date.getTime()) || !table.covers(time.getTime())) {
+			// Before 1900, Calendar and java.time don't agree on local mean times : keep the Calendar view
+			DateBuilder timeDateBuilder = DateBuilder.date(time);
+			return new DateBuilder(date).setHour(timeDateBuilder.getHour()).setMinute(timeDateBuilder.getMinute()).setSecond(timeDateBuilder.getSecond());
+		}
+		long localDate = table.toLocalMillis(date.getTime());
+		int timeOfDay = TimeOfDay.fromMillis(time.getTime(), zone);
+		// Hour, minute and second of the time, millisecond of the date
+		timeOfDay += TimeOfDay.millisecond(TimeOfDay.fromLocalMillis(localDate)) - TimeOfDay.millisecond(timeOfDay);
+		return milliseconds(TimeOfDay.combine(Math.floorDiv(localDate, EpochDays.MILLIS_PER_DAY), timeOfDay, zone));
 	}
 
 	/**
@@ -92,6 +145,28 @@ public class DateBuilder extends DateConstant {
 		return date(new Date(milliseconds));
 	}
 
+	/**
+	 * Build a new DateBuilder from a number of milliseconds since EPOCH
+	 *
+	 * @param milliseconds is the number of milliseconds since EPOCH
+	 * @param zone is the time zone of the new builder
+	 * @return a new DateBuilder build with the given parameters
+	 */
+	public static DateBuilder milliseconds(long milliseconds, ZoneId zone) {
+		return milliseconds(milliseconds).inZone(zone);
+	}
+
+	/**
+	 * Build a new DateBuilder from a date written by {@link DateConstant#writeTo(DataOutput)}
+	 *
+	 * @param in is the source stream
+	 * @return a new DateBuilder build with the given parameters
+	 * @throws IOException if the stream can't be read or is corrupted
+	 */
+	public static DateBuilder readFrom(DataInput in) throws IOException {
+		return new DateCodec().readFrom(in);
+	}
+
 	/**
 	 * Build a new DateBuilder by parsing a string in ISO8601 format
 	 *
@@ -137,6 +212,17 @@ public class DateBuilder extends DateConstant {
 		return milliseconds(localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
 	}
 
+	/**
+	 * Convert a LocalDateTime of the given time zone to a DateBuilder in this time zone
+	 *
+	 * @param localDateTime is the LocalDateTime to convert
+	 * @param zone is the time zone of the local date time and of the new builder
+	 * @return a new DateBuilder build with the given parameters
+	 */
+	public static DateBuilder localDateTime(LocalDateTime localDateTime, ZoneId zone) {
+		return milliseconds(localDateTime.atZone(zone).toInstant().toEpochMilli(), zone);
+	}
+
 	/**
 	 * Parse a ISO8601 string in local format (not including timezone) like 2014-02-07T16:25:00
 	 *
@@ -256,17 +342,91 @@ public class DateBuilder extends DateConstant {
 		return string(timestamp, ISO_FORMAT_TIME);
 	}
 
+	/**
+	 * Non throwing version of {@link #string(String, String)}. A string that doesn't match the format costs no exception, which matters when parsing dirty
+	 * bulk input
+	 *
+	 * @param dateString is the source string
+	 * @param format is date format
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the string could be parsed
+	 */
+	public static boolean tryString(String dateString, String format, DateParseResult result) {
+		if (dateString == null) {
+			return result.failure(0, NULL_INPUT);
+		}
+		ParsePosition position = new ParsePosition(0);
+		Date date = new SimpleDateFormat(format).parse(dateString, position);
+		if (date == null) {
+			return result.failure(position.getErrorIndex(), FORMAT_MISMATCH);
+		}
+		return result.success(date.getTime());
+	}
+
+	/**
+	 * Non throwing version of {@link #iso(String)}
+	 *
+	 * @param dateString is a date formatted in "iso" format yyyy-MM-dd
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the string could be parsed
+	 */
+	public static boolean tryIso(String dateString, DateParseResult result) {
+		return tryString(dateString, ISO_FORMAT, result);
+	}
+
+	/**
+	 * Non throwing version of {@link #isoTimestamp(String)}
+	 *
+	 * @param timestamp is source iso date string formatted in "iso" format yyyy-MM-dd HH:mm:ss
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the string could be parsed
+	 */
+	public static boolean tryIsoTimestamp(String timestamp, DateParseResult result) {
+		return tryString(timestamp, ISO_FORMAT_TIME, result);
+	}
+
+	/**
+	 * Non throwing version of {@link #iso8601(String)}. Only years written with 4 digits are supported
+	 *
+	 * @param dateString is the source string
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the string could be parsed
+	 */
+	public static boolean tryIso8601(String dateString, DateParseResult result) {
+		if (dateString == null) {
+			return result.failure(0, NULL_INPUT);
+		}
+		return Iso8601Parser.parse(dateString, 0, dateString.length(), result);
+	}
+
 	/**
 	 * Builds a new constant instance based on this builder
 	 *
-	 * @return a new datebuilder constant instance
+	 * @return a new datebuilder constant instance, whose fields are computed so that it can be shared between threads
 	 */
 	public DateConstant constant() {
-		return new DateConstant(this.getDate());
+		// Zone first : setting it after the time would leave the fields to compute on the first read, racing if the constant is shared
+		Calendar constant = Calendar.getInstance(calendar.getTimeZone());
+		constant.setTimeInMillis(calendar.getTimeInMillis());
+		return new DateConstant(constant);
 	}
 
 	// Methods modifying the state of the builder
 
+	/**
+	 * Moves the builder to another time zone, keeping the same instant. Fields, renderings, trimTo*, set* and add* methods then use the local time of this
+	 * zone
+	 *
+	 * @param zone is the new time zone
+	 * @return the same instance, modified
+	 */
+	public DateBuilder inZone(ZoneId zone) {
+		long millis = calendar.getTimeInMillis();
+		calendar.setTimeZone(TimeZone.getTimeZone(zone));
+		calendar.setTimeInMillis(millis);
+		return this;
+	}
+
 	/**
 	 * Only keep, hour, minute and seconds
 	 *
@@ -461,8 +621,7 @@ public class DateBuilder extends DateConstant {
 	 * @return the same instance, modified
 	 */
 	public DateBuilder addHours(int count) {
-		calendar.add(Calendar.HOUR_OF_DAY, count);
-		return this;
+		return addMillis(count * 3_600_000L);
 	}
 
 	/**
@@ -471,8 +630,7 @@ public class DateBuilder extends DateConstant {
 	 * @return the same instance, modified
 	 */
 	public DateBuilder addMinutes(int count) {
-		calendar.add(Calendar.MINUTE, count);
-		return this;
+		return addMillis(count * 60_000L);
 	}
 
 	/**
@@ -481,18 +639,29 @@ public class DateBuilder extends DateConstant {
 	 * @return the same instance, modified
 	 */
 	public DateBuilder addSeconds(int count) {
-		calendar.add(Calendar.SECOND, count);
+		return addMillis(count * 1000L);
+	}
+
+	/**
+	 * Moves in time by an exact elapsed amount, using epoch arithmetic instead of calendar fields. Like hours, minutes and seconds, milliseconds are elapsed
+	 * time : adding 1 hour on a DST day may not change the local hour
+	 *
+	 * @param count number of milliseconds to add. Can be negative to go back in time
+	 * @return the same instance, modified
+	 */
+	public DateBuilder addMillis(long count) {
+		calendar.setTimeInMillis(calendar.getTimeInMillis() + count);
 		return this;
 	}
 
 	/**
-	 * Adds a duration, currenly only from seconds (milliseconds not supported)
+	 * Adds a duration as elapsed time, up to the millisecond (nanoseconds are truncated)
 	 *
 	 * @param duration is a Duration to add
 	 * @return the same instance, modified
 	 */
 	public DateBuilder addDuration(Duration duration) {
-		return addSeconds((int) duration.getSeconds());
+		return addMillis(duration.toMillis());
 	}
 
 	/**
@@ -0,0 +1,96 @@
+package com.laroueverte.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Compact binary codec for dates : each value is written as a zigzag varint of its epoch milliseconds followed by a varint zone index. A zone id is written
+ * in full only the first time it is met, later values only refer to its index. A codec instance thus holds the zone dictionary of one stream : use one
+ * instance to write a stream and another one to read it back, in the same order
+ *
+ * @author la roue verte
+ */
+public final class DateCodec {
+	private final List<String> zoneIds = new ArrayList<>();
+	private final Map<String, Integer> zoneIndexes = new HashMap<>();
+
+	/**
+	 * Writes a date in the stream
+	 *
+	 * @param date is the date to write
+	 * @param out is the destination stream
+	 * @throws IOException if the stream can't be written
+	 */
+	public void writeTo(DateConstant date, DataOutput out) throws IOException {
+		writeVarLong(out, zigZag(date.getTimeInMillis()));
+		String zoneId = date.calendar.getTimeZone().getID();
+		Integer index = zoneIndexes.get(zoneId);
+		if (index == null) {
+			writeVarLong(out, zoneIds.size());
+			out.writeUTF(zoneId);
+			zoneIndexes.put(zoneId, zoneIds.size());
+			zoneIds.add(zoneId);
+		} else {
+			writeVarLong(out, index);
+		}
+	}
+
+	/**
+	 * Reads a date previously written by {@link #writeTo(DateConstant, DataOutput)}
+	 *
+	 * @param in is the source stream
+	 * @return a new DateBuilder, in the time zone it was written with
+	 * @throws IOException if the stream can't be read or is corrupted
+	 */
+	public DateBuilder readFrom(DataInput in) throws IOException {
+		long millis = unZigZag(readVarLong(in));
+		long index = readVarLong(in);
+		String zoneId;
+		if (index == zoneIds.size()) {
+			zoneId = in.readUTF();
+			zoneIndexes.put(zoneId, zoneIds.size());
+			zoneIds.add(zoneId);
+		} else if (index >= 0 && index < zoneIds.size()) {
+			zoneId = zoneIds.get((int) index);
+		} else {
+			throw new IOException("Unknown zone index " + index);
+		}
+		DateBuilder result = DateBuilder.milliseconds(millis);
+		result.calendar.setTimeZone(TimeZone.getTimeZone(zoneId));
+		return result;
+	}
+
+	static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static void writeVarLong(DataOutput out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	static long readVarLong(DataInput in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,206 @@
+package com.laroueverte.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Incremental decoder of a date column of a delimited text stream (CSV like), read from a pipe or a socket as well as from a file. Bytes are pulled into a
+ * reused direct buffer and the date field of each row is parsed in place by a {@link DateFormatDetector}, so no String is created per row. Rows split across
+ * two reads are kept whole, the buffer grows if a single row does not fit in it.<br>
+ * Rows end with \n or \r\n. The date field must be ASCII, as are all the {@link DateLayout}s. Instances are not thread safe
+ *
+ * @author la roue verte
+ */
+public final class DateColumnDecoder implements Closeable {
+	static final String MISSING_COLUMN = "missing column";
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final ReadableByteChannel channel;
+	private final byte delimiter;
+	private final int column;
+	private final DateFormatDetector detector;
+	private final Field field = new Field();
+	/** Unread bytes are between position and limit */
+	private ByteBuffer buffer;
+	/** Index from which the end of the current row is searched, to scan each byte once */
+	private int scanFrom;
+	private boolean endOfStream;
+	private long rowNumber;
+
+	/**
+	 *
+	 * @param channel is a blocking channel of the rows
+	 * @param delimiter separates the fields of a row, like ',' or ';'
+	 * @param column is the index of the date field in a row, from 0
+	 * @param detector parses the date fields
+	 */
+	public DateColumnDecoder(ReadableByteChannel channel, char delimiter, int column, DateFormatDetector detector) {
+		this(channel, delimiter, column, detector, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 *
+	 * @param channel is a blocking channel of the rows
+	 * @param delimiter separates the fields of a row, like ',' or ';'
+	 * @param column is the index of the date field in a row, from 0
+	 * @param detector parses the date fields
+	 * @param bufferSize is the initial size of the buffer, in bytes
+	 */
+	public DateColumnDecoder(ReadableByteChannel channel, char delimiter, int column, DateFormatDetector detector, int bufferSize) {
+		if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+			throw new IllegalArgumentException("Invalid delimiter: " + (int) delimiter);
+		}
+		if (column < 0 || bufferSize < 1) {
+			throw new IllegalArgumentException("Invalid column " + column + " or buffer size " + bufferSize);
+		}
+		this.channel = channel;
+		this.delimiter = (byte) delimiter;
+		this.column = column;
+		this.detector = detector;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.buffer.limit(0);
+	}
+
+	/**
+	 * Decoder of local dates of the default time zone
+	 *
+	 * @param in is the stream of the rows
+	 * @param delimiter separates the fields of a row, like ',' or ';'
+	 * @param column is the index of the date field in a row, from 0
+	 * @return a new decoder
+	 */
+	public static DateColumnDecoder of(InputStream in, char delimiter, int column) {
+		return new DateColumnDecoder(Channels.newChannel(in), delimiter, column, new DateFormatDetector());
+	}
+
+	/**
+	 * Reads the next row and parses its date field
+	 *
+	 * @param result receives the time in milliseconds, or the error index in the field and the reason
+	 * @return false at the end of the stream, true if a row was read, even if its date could not be parsed
+	 * @throws IOException if the channel can't be read
+	 */
+	public boolean next(DateParseResult result) throws IOException {
+		int end;
+		while ((end = indexOf((byte) '\n', scanFrom, buffer.limit())) < 0) {
+			scanFrom = buffer.limit();
+			if (endOfStream) {
+				if (!buffer.hasRemaining()) {
+					return false;
+				}
+				// Last row without a line feed
+				end = buffer.limit();
+				break;
+			}
+			fill();
+		}
+		int start = buffer.position();
+		int next = end < buffer.limit() ? end + 1 : end;
+		if (end > start && buffer.get(end - 1) == '\r') {
+			end--;
+		}
+		rowNumber++;
+		decode(start, end, result);
+		buffer.position(next);
+		scanFrom = next;
+		return true;
+	}
+
+	/**
+	 *
+	 * @return the number of rows read so far, which is the 1 based number of the last row
+	 */
+	public long getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * Closes the channel
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void decode(int start, int end, DateParseResult result) {
+		int from = start;
+		for (int i = 0; i < column; i++) {
+			int found = indexOf(delimiter, from, end);
+			if (found < 0) {
+				result.failure(0, MISSING_COLUMN);
+				return;
+			}
+			from = found + 1;
+		}
+		int to = indexOf(delimiter, from, end);
+		field.set(from, to < 0 ? end : to);
+		detector.parse(field, result);
+	}
+
+	private int indexOf(byte b, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (buffer.get(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void fill() throws IOException {
+		int consumed = buffer.position();
+		if (consumed == 0 && buffer.limit() == buffer.capacity()) {
+			// A single row fills the buffer
+			ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+			larger.put(buffer);
+			buffer = larger;
+		} else {
+			buffer.compact();
+		}
+		scanFrom -= consumed;
+		if (channel.read(buffer) < 0) {
+			endOfStream = true;
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Date field of the current row, read in place in the buffer
+	 */
+	private final class Field implements CharSequence {
+		private int offset;
+		private int length;
+
+		void set(int from, int to) {
+			this.offset = from;
+			this.length = to - from;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (buffer.get(offset + index) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return toString().subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			char[] chars = new char[length];
+			for (int i = 0; i < length; i++) {
+				chars[i] = charAt(i);
+			}
+			return new String(chars);
+		}
+	}
+}
@@ -1,26 +1,29 @@
 package com.laroueverte.utils;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.sql.Time;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 
 /**
  * A constant date that can be only used to be read, tested or transformed. It can't be modified. To obtain a modifiable copy, one should use {@link #builder()}
  *
  * @author la roue verte
  */
-public class DateConstant {
+public class DateConstant implements ReadableDate {
 	public static final String ISO_FORMAT = "yyyy-MM-dd";
 	public static final String ISO_FORMAT_TIME = "yyyy-MM-dd HH:mm:ss";
 	public static final String FRENCH_FORMAT = "dd/MM/yyyy";
@@ -47,14 +50,37 @@ public class DateConstant {
 	}
 
 	protected DateConstant() {
-		this(new Date());
+		this(new Date(DateBuilder.getClock().millis()));
 	}
 
 	/**
 	 * @return a new builder based on same date as this one
 	 */
 	public DateBuilder builder() {
-		return DateBuilder.date(getDate());
+		DateBuilder builder = DateBuilder.date(getDate());
+		builder.calendar.setTimeZone(calendar.getTimeZone());
+		return builder;
+	}
+
+	/**
+	 * Opt-in cache of renderings, for constants logged or serialized many times : {@link #toString()}, {@link #toISOTimestamp()}, {@link #toISOFormat()},
+	 * {@link #toISO8601WithTimeZone()}, {@link #toISO8601OffsetDateTime()}, {@link #toISO8601LocalDateTime()}, {@link #toISO8601ZuluTimeNoMillis()} and
+	 * {@link #toFrenchFormat()} are computed once, then cost a field read
+	 *
+	 * @return an immutable copy of this date remembering its renderings, this instance if it already does
+	 */
+	public DateConstant memoized() {
+		return new MemoizedDateConstant(this);
+	}
+
+	/**
+	 * Writes this date in a self contained compact binary form. Use a shared {@link DateCodec} to write many dates in the same stream
+	 *
+	 * @param out is the destination stream
+	 * @throws IOException if the stream can't be written
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		new DateCodec().writeTo(this, out);
 	}
 
 	protected DateConstant(Date date) {
@@ -91,6 +117,14 @@ public class DateConstant {
 		return calendar.get(Calendar.MILLISECOND);
 	}
 
+	/**
+	 *
+	 * @return the local time of this date as a {@link TimeOfDay}, in milliseconds since midnight
+	 */
+	public int getTimeOfDay() {
+		return TimeOfDay.of(this);
+	}
+
 	public long getMillisecondsToReach(Date futureDate) {
 		return futureDate.getTime() - this.calendar.getTimeInMillis();
 	}
@@ -103,6 +137,22 @@ public class DateConstant {
 		return this.calendar.getTimeInMillis();
 	}
 
+	/**
+	 *
+	 * @return the time zone of this date, the default one unless changed by {@link DateBuilder#inZone(ZoneId)}
+	 */
+	public ZoneId getZone() {
+		return calendar.getTimeZone().toZoneId();
+	}
+
+	/**
+	 *
+	 * @return the local date time fields of this date as a sortable {@link PackedDateTime}
+	 */
+	public long toPackedDateTime() {
+		return PackedDateTime.of(this);
+	}
+
 	/**
 	 *
 	 * @param d1 is the first date to compare
@@ -110,7 +160,7 @@ public class DateConstant {
 	 * @return the minimum of the two d1 and d2
 	 */
 	public static DateConstant min(DateConstant d1, DateConstant d2) {
-		if (d1.isSameOrBefore(d2.getDate())) {
+		if (d1.getTimeInMillis() <= d2.getTimeInMillis()) {
 			return d1;
 		} else {
 			return d2;
@@ -124,7 +174,7 @@ public class DateConstant {
 	 * @return the maximum of the two d1 and d2
 	 */
 	public static DateConstant max(DateConstant d1, DateConstant d2) {
-		if (d1.isSameOrAfter(d2.getDate())) {
+		if (d1.getTimeInMillis() >= d2.getTimeInMillis()) {
 			return d1;
 		} else {
 			return d2;
@@ -142,19 +192,19 @@ public class DateConstant {
 
 	/**
 	 * @param futureDate is a future date that will be used to get the minutes difference
-	 * @return the number of days between those two dates (not including one of them). For instance between 2010-01-25 and 2010-01-26, there is 1 day.
+	 * @return the number of complete minutes between the current date (of this builder) and the supplied date
 	 */
 	public int getMinutesToReach(Date futureDate) {
-		return getSecondsToReach(futureDate) / 60;
+		return (int) (getMillisecondsToReach(futureDate) / 60_000);
 	}
 
 	/**
 	 *
 	 * @param futureDate is a future date that will be used to get the hours difference
-	 * @return the number of seconds between the current date (of this builder) and the supplied date
+	 * @return the number of complete hours between the current date (of this builder) and the supplied date
 	 */
 	public int getHoursToReach(Date futureDate) {
-		return getMinutesToReach(futureDate) / 60;
+		return (int) (getMillisecondsToReach(futureDate) / 3_600_000);
 	}
 
 	/**
@@ -162,7 +212,91 @@ public class DateConstant {
 	 * @return the number of days between those two dates (not including one of them). For instance between 2010-01-25 and 2010-01-26, there is 1 day.
 	 */
 	public int getDaysToReach(Date futureDate) {
-		return getHoursToReach(futureDate) / 24;
+		return getDaysToReach(futureDate.getTime());
+	}
+
+	/**
+	 * Days are counted in local time : from 10:00 to 10:00 the next day is one day, even if a daylight saving change made it last 23 or 25 hours
+	 *
+	 * @param futureDate is a future date that will be used to get the days difference
+	 * @return the number of complete days between the current date (of this builder) and the supplied date
+	 */
+	public int getDaysToReach(DateConstant futureDate) {
+		return getDaysToReach(futureDate.getTimeInMillis());
+	}
+
+	/**
+	 * Days are counted in local time : from 10:00 to 10:00 the next day is one day, even if a daylight saving change made it last 23 or 25 hours
+	 *
+	 * @param futureMillis is a future time, in milliseconds since EPOCH
+	 * @return the number of complete days between the current date (of this builder) and the supplied time
+	 */
+	public int getDaysToReach(long futureMillis) {
+		return (int) differenceTo(ChronoUnit.DAYS, futureMillis);
+	}
+
+	/**
+	 *
+	 * @param futureDate is a future date that will be used to get the weeks difference
+	 * @return the number of complete weeks between the current date (of this builder) and the supplied date
+	 */
+	public int getWeeksToReach(DateConstant futureDate) {
+		return getWeeksToReach(futureDate.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param futureMillis is a future time, in milliseconds since EPOCH
+	 * @return the number of complete weeks between the current date (of this builder) and the supplied time
+	 */
+	public int getWeeksToReach(long futureMillis) {
+		return (int) differenceTo(ChronoUnit.WEEKS, futureMillis);
+	}
+
+	/**
+	 * A month is complete when the same day of month and time is reached, for instance from 01-31 to 02-29 there is no complete month
+	 *
+	 * @param futureDate is a future date that will be used to get the months difference
+	 * @return the number of complete months between the current date (of this builder) and the supplied date
+	 */
+	public int getMonthsToReach(DateConstant futureDate) {
+		return getMonthsToReach(futureDate.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param futureMillis is a future time, in milliseconds since EPOCH
+	 * @return the number of complete months between the current date (of this builder) and the supplied time
+	 */
+	public int getMonthsToReach(long futureMillis) {
+		return (int) differenceTo(ChronoUnit.MONTHS, futureMillis);
+	}
+
+	/**
+	 *
+	 * @param futureDate is a future date that will be used to get the years difference
+	 * @return the number of complete years between the current date (of this builder) and the supplied date
+	 */
+	public int getYearsToReach(DateConstant futureDate) {
+		return getYearsToReach(futureDate.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param futureMillis is a future time, in milliseconds since EPOCH
+	 * @return the number of complete years between the current date (of this builder) and the supplied time
+	 */
+	public int getYearsToReach(long futureMillis) {
+		return (int) differenceTo(ChronoUnit.YEARS, futureMillis);
+	}
+
+	private long differenceTo(ChronoUnit unit, long futureMillis) {
+		TimeZone timeZone = calendar.getTimeZone();
+		ZoneOffsetTable table = ZoneOffsetTable.forTimeZone(timeZone);
+		if (table == null) {
+			return DateDifferences.between(unit, getTimeInMillis(), futureMillis, timeZone);
+		}
+		return DateDifferences.between(unit, getTimeInMillis(), futureMillis, table);
 	}
 
 	/**
@@ -170,7 +304,7 @@ public class DateConstant {
 	 * @return if the date is in the future (using the current time as reference)
 	 */
 	public boolean isFuture() {
-		return calendar.after(Calendar.getInstance());
+		return calendar.getTimeInMillis() > DateBuilder.getClock().millis();
 	}
 
 	/**
@@ -218,6 +352,7 @@ public class DateConstant {
 	 */
 	public String toString(String format, Locale locale) {
 		DateFormat dateFormat = new SimpleDateFormat(format, locale);
+		dateFormat.setTimeZone(calendar.getTimeZone());
 		return dateFormat.format(getDate());
 	}
 
@@ -229,6 +364,7 @@ public class DateConstant {
 	 */
 	public String toString(String format) {
 		DateFormat dateFormat = new SimpleDateFormat(format);
+		dateFormat.setTimeZone(calendar.getTimeZone());
 		return dateFormat.format(getDate());
 	}
 
@@ -248,6 +384,7 @@ public class DateConstant {
 	 */
 	public int getWeekOfYear(Locale locale) {
 		Calendar localCalendar = Calendar.getInstance(locale);
+		localCalendar.setTimeZone(calendar.getTimeZone());
 		localCalendar.setTime(getDate());
 		return localCalendar.get(Calendar.WEEK_OF_YEAR);
 	}
@@ -257,6 +394,12 @@ public class DateConstant {
 	 * @return the time zone offset in minutes (-12*60 / +14*60) of the current date
 	 */
 	public int getTimeZoneOffset() {
+		long millis = calendar.getTimeInMillis();
+		ZoneOffsetTable table = ZoneOffsetTable.forTimeZone(calendar.getTimeZone());
+		if (table != null && table.covers(millis)) {
+			return table.getOffsetMillis(millis) / 1000 / 60;
+		}
+		// Custom time zone, or before 1900 Calendar and java.time don't agree on local mean times : keep the Calendar view, consistent with getHour()
 		return (calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET)) / 1000 / 60;
 	}
 
@@ -266,6 +409,11 @@ public class DateConstant {
 	 *         2am and 2h59am the day of winter DST
 	 */
 	public boolean isALocalNonUniqueTime() {
+		long millis = calendar.getTimeInMillis();
+		ZoneOffsetTable table = ZoneOffsetTable.forTimeZone(calendar.getTimeZone());
+		if (table != null && table.covers(millis)) {
+			return LocalTimeValidator.classify(table, table.toLocalMillis(millis)) == LocalTimeStatus.AMBIGUOUS;
+		}
 		return builder().addHours(1).getTimeZoneOffset() < getTimeZoneOffset() || builder().addHours(-1).getTimeZoneOffset() > getTimeZoneOffset();
 	}
 
@@ -339,6 +487,7 @@ public class DateConstant {
 	 */
 	public String toTimestampUsingFormatInFrench(String timeStampFormat) {
 		DateFormat dateFormat = new SimpleDateFormat(timeStampFormat, Locale.FRENCH);
+		dateFormat.setTimeZone(calendar.getTimeZone());
 		return dateFormat.format(getDate());
 	}
 
@@ -357,7 +506,9 @@ public class DateConstant {
 	 * @return the offset date time object
 	 */
 	public OffsetDateTime toOffsetDateTime() {
-		return OffsetDateTime.ofInstant(Instant.ofEpochMilli(getDate().getTime()), ZoneId.systemDefault());
+		long millis = getTimeInMillis();
+		ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetMillis(millis) / 1000);
+		return OffsetDateTime.of(toLocalDateTime(millis, offset), offset);
 	}
 
 	/**
@@ -366,7 +517,23 @@ public class DateConstant {
 	 * @return local date time object
 	 */
 	public LocalDateTime toLocalDateTime() {
-		return LocalDateTime.ofInstant(Instant.ofEpochMilli(getDate().getTime()), ZoneId.systemDefault());
+		long millis = getTimeInMillis();
+		ZoneOffset offset = ZoneOffset.ofTotalSeconds(offsetMillis(millis) / 1000);
+		return toLocalDateTime(millis, offset);
+	}
+
+	/**
+	 *
+	 * @return the offset (in milliseconds) of the time zone at millis, from its ZoneOffsetTable unless it is a custom time zone
+	 */
+	private int offsetMillis(long millis) {
+		TimeZone timeZone = calendar.getTimeZone();
+		ZoneOffsetTable table = ZoneOffsetTable.forTimeZone(timeZone);
+		return table == null ? timeZone.getOffset(millis) : table.getOffsetMillis(millis);
+	}
+
+	private static LocalDateTime toLocalDateTime(long millis, ZoneOffset offset) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000, offset);
 	}
 
 	/**
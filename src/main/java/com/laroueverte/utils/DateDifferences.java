@@ -0,0 +1,117 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.TimeZone;
+
+/**
+ * Differences between two instants, with the same results as {@link ChronoUnit#between(java.time.temporal.Temporal, java.time.temporal.Temporal)} on
+ * ZonedDateTimes : time units (milliseconds to hours) count elapsed time, date units (days to years) count complete local days, months or years, so that a
+ * day shortened or lengthened by a daylight saving change still counts for one day.<br>
+ * Only arithmetic and a {@link ZoneOffsetTable} are used, so bulk differences of whole columns allocate nothing
+ *
+ * @author la roue verte
+ */
+public final class DateDifferences {
+	private DateDifferences() {
+	}
+
+	/**
+	 *
+	 * @param unit is the unit of the difference, from {@link ChronoUnit#MILLIS} to {@link ChronoUnit#YEARS}
+	 * @param start is the start time, in milliseconds since EPOCH
+	 * @param end is the end time, in milliseconds since EPOCH
+	 * @param zone is the time zone of local days
+	 * @return the number of complete units from start to end, negative if end is before start
+	 */
+	public static long between(ChronoUnit unit, long start, long end, ZoneId zone) {
+		return between(unit, start, end, ZoneOffsetTable.forZone(zone));
+	}
+
+	/**
+	 * Pairwise differences of two columns
+	 *
+	 * @param unit is the unit of the differences, from {@link ChronoUnit#MILLIS} to {@link ChronoUnit#YEARS}
+	 * @param starts are the start times, in milliseconds since EPOCH
+	 * @param ends are the end times, in milliseconds since EPOCH
+	 * @param results receives the differences, can be one of the input arrays
+	 * @param zone is the time zone of local days
+	 */
+	public static void between(ChronoUnit unit, long[] starts, long[] ends, long[] results, ZoneId zone) {
+		if (starts.length != ends.length || results.length < starts.length) {
+			throw new IllegalArgumentException("Columns of different lengths: " + starts.length + ", " + ends.length + ", " + results.length);
+		}
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		for (int i = 0; i < starts.length; i++) {
+			results[i] = between(unit, starts[i], ends[i], table);
+		}
+	}
+
+	static long between(ChronoUnit unit, long start, long end, ZoneOffsetTable table) {
+		if (isDateUnit(unit)) {
+			return dateUnitsBetween(unit, table.toLocalMillis(start), table.toLocalMillis(end));
+		}
+		return timeUnitsBetween(unit, end - start);
+	}
+
+	/**
+	 * {@link #between(ChronoUnit, long, long, ZoneOffsetTable)} for the custom time zones, which have no table
+	 */
+	static long between(ChronoUnit unit, long start, long end, TimeZone timeZone) {
+		if (isDateUnit(unit)) {
+			return dateUnitsBetween(unit, start + timeZone.getOffset(start), end + timeZone.getOffset(end));
+		}
+		return timeUnitsBetween(unit, end - start);
+	}
+
+	private static boolean isDateUnit(ChronoUnit unit) {
+		return unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS || unit == ChronoUnit.MONTHS || unit == ChronoUnit.YEARS;
+	}
+
+	private static long timeUnitsBetween(ChronoUnit unit, long elapsed) {
+		switch (unit) {
+		case MILLIS:
+			return elapsed;
+		case SECONDS:
+			return elapsed / 1000;
+		case MINUTES:
+			return elapsed / 60_000;
+		case HOURS:
+			return elapsed / 3_600_000;
+		default:
+			throw new IllegalArgumentException("Unsupported unit: " + unit);
+		}
+	}
+
+	/**
+	 * Same algorithm as LocalDateTime.until : the end day only counts if its time of day is reached
+	 */
+	private static long dateUnitsBetween(ChronoUnit unit, long localStart, long localEnd) {
+		long startDay = Math.floorDiv(localStart, EpochDays.MILLIS_PER_DAY);
+		long endDay = Math.floorDiv(localEnd, EpochDays.MILLIS_PER_DAY);
+		long startTime = localStart - startDay * EpochDays.MILLIS_PER_DAY;
+		long endTime = localEnd - endDay * EpochDays.MILLIS_PER_DAY;
+		if (endDay > startDay && endTime < startTime) {
+			endDay--;
+		} else if (endDay < startDay && endTime > startTime) {
+			endDay++;
+		}
+		if (unit == ChronoUnit.DAYS) {
+			return endDay - startDay;
+		}
+		if (unit == ChronoUnit.WEEKS) {
+			return (endDay - startDay) / 7;
+		}
+		long months = (packedMonthDay(endDay) - packedMonthDay(startDay)) / 32;
+		return unit == ChronoUnit.MONTHS ? months : months / 12;
+	}
+
+	/**
+	 *
+	 * @return the number of months since year 0 times 32, plus the day of month
+	 */
+	private static long packedMonthDay(long epochDay) {
+		int civil = EpochDays.toCivil(epochDay);
+		return (EpochDays.year(civil) * 12L + EpochDays.month(civil) - 1) * 32 + EpochDays.dayOfMonth(civil);
+	}
+}
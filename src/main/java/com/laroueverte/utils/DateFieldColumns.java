@@ -0,0 +1,80 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * Bulk decomposition of a column of instants into int columns of year, month, day of month, hour and day of week, with the same values as the
+ * {@link DateConstant} getters of each instant in the zone, for dates after the adoption of the gregorian calendar in 1582. Outside of the
+ * {@link ZoneOffsetTable} years, offsets are the Calendar ones, like the getters.<br>
+ * Instants are converted to local times by chunks, then decomposed with pure integer arithmetic. The jar is multi-release : on Java 17 and later, started
+ * with {@code --add-modules jdk.incubator.vector}, the decomposition runs on SIMD lanes of the Vector API, otherwise on a scalar loop.
+ * {@link #isVectorized()} tells which one is used
+ *
+ * @author la roue verte
+ */
+public final class DateFieldColumns {
+	/** Local times converted at once, small enough to stay in the L1 cache */
+	private static final int CHUNK = 1024;
+	private static final FieldDecomposer DECOMPOSER = select();
+
+	private DateFieldColumns() {
+	}
+
+	/**
+	 *
+	 * @param utcMillis are times in milliseconds since EPOCH
+	 * @param zone is the time zone of the fields
+	 * @param years receives the years
+	 * @param months receives the months, from 1 (january) to 12 (december)
+	 * @param days receives the days of month, from 1 to 31
+	 * @param hours receives the hours of day, from 0 to 23
+	 * @param daysOfWeek receives the days of week, 1 for Sunday, 2 for Monday, ... 7 for Saturday
+	 */
+	public static void decompose(long[] utcMillis, ZoneId zone, int[] years, int[] months, int[] days, int[] hours, int[] daysOfWeek) {
+		decompose(DECOMPOSER, utcMillis, zone, years, months, days, hours, daysOfWeek);
+	}
+
+	/**
+	 *
+	 * @return true if the decomposition runs on the Vector API
+	 */
+	public static boolean isVectorized() {
+		return !(DECOMPOSER instanceof ScalarFieldDecomposer);
+	}
+
+	static void decompose(FieldDecomposer decomposer, long[] utcMillis, ZoneId zone, int[] years, int[] months, int[] days, int[] hours, int[] daysOfWeek) {
+		int length = utcMillis.length;
+		if (years.length < length || months.length < length || days.length < length || hours.length < length || daysOfWeek.length < length) {
+			throw new IllegalArgumentException("Field columns shorter than the " + length + " instants");
+		}
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		TimeZone timeZone = null;
+		long[] localMillis = new long[Math.min(length, CHUNK)];
+		for (int start = 0; start < length; start += CHUNK) {
+			int count = Math.min(CHUNK, length - start);
+			for (int i = 0; i < count; i++) {
+				long utc = utcMillis[start + i];
+				if (table.covers(utc)) {
+					localMillis[i] = utc + table.getOffsetMillis(utc);
+				} else {
+					// Before 1900, Calendar and java.time don't agree on local mean times : keep the Calendar view, consistent with the getters
+					if (timeZone == null) {
+						timeZone = TimeZone.getTimeZone(zone);
+					}
+					localMillis[i] = utc + timeZone.getOffset(utc);
+				}
+			}
+			decomposer.decompose(localMillis, 0, count, start, years, months, days, hours, daysOfWeek);
+		}
+	}
+
+	private static FieldDecomposer select() {
+		try {
+			return (FieldDecomposer) Class.forName("com.laroueverte.utils.VectorFieldDecomposer").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Java 8 to 16, or the jdk.incubator.vector module was not added
+			return new ScalarFieldDecomposer();
+		}
+	}
+}
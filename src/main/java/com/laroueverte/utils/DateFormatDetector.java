@@ -0,0 +1,191 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+
+/**
+ * Parser of mixed format date feeds : the {@link DateLayout} of a text is recognized from its separators, then the text is checked and decoded in a single
+ * pass over its chars, without exceptions nor SimpleDateFormat. A detector is meant to be used for one column : the last layout is kept and tried first on
+ * the next row, only a row in another layout goes through detection again.<br>
+ * Decoding is strict, out of range fields are errors instead of being rolled over. Local date times in a daylight saving gap or overlap are resolved as
+ * the matching DateBuilder method does : {@link DstPolicy#LATER} for the SimpleDateFormat layouts, {@link DstPolicy#EARLIER} for ISO8601.<br>
+ * Instances are not thread safe
+ *
+ * @author la roue verte
+ */
+public final class DateFormatDetector {
+	static final String UNKNOWN_LAYOUT = "unknown date layout";
+
+	private final ZoneOffsetTable table;
+	private final LocalTimeValidator validator;
+	private final int[] values = new int[6];
+	private DateLayout layout;
+
+	/**
+	 * Detector for local dates of the default time zone
+	 */
+	public DateFormatDetector() {
+		this(ZoneId.systemDefault());
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of local dates
+	 */
+	public DateFormatDetector(ZoneId zone) {
+		this.table = ZoneOffsetTable.forZone(zone);
+		this.validator = new LocalTimeValidator(zone, DstPolicy.LATER);
+	}
+
+	/**
+	 *
+	 * @param text is a date in any of the {@link DateLayout}s
+	 * @return the layout of the text, according to its separators only, null if none matches
+	 */
+	public static DateLayout detect(CharSequence text) {
+		int length = text.length();
+		if (length < 10) {
+			return null;
+		}
+		if (text.charAt(2) == '/') {
+			return DateLayout.FRENCH_FORMAT;
+		}
+		if (text.charAt(4) != '-') {
+			return null;
+		}
+		if (length == 10) {
+			return DateLayout.ISO_FORMAT;
+		}
+		switch (text.charAt(10)) {
+		case ' ':
+			return DateLayout.ISO_FORMAT_TIME;
+		case 'T':
+		case 't':
+			return DateLayout.ISO8601;
+		case '-':
+			return DateLayout.DATE_TIME_FOR_FILE_FORMAT;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Parses a date, trying the layout of the previous row first
+	 *
+	 * @param text is a date in any of the {@link DateLayout}s
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the text could be parsed
+	 */
+	public boolean parse(CharSequence text, DateParseResult result) {
+		if (text == null) {
+			return result.failure(0, DateBuilder.NULL_INPUT);
+		}
+		if (layout != null && (layout.shape == null ? detect(text) == DateLayout.ISO8601 : matchesShape(text, layout))) {
+			return decode(text, layout, result);
+		}
+		DateLayout detected = detect(text);
+		if (detected == null) {
+			return result.failure(0, UNKNOWN_LAYOUT);
+		}
+		layout = detected;
+		return decode(text, detected, result);
+	}
+
+	/**
+	 *
+	 * @return the layout of the last detected row, null before the first one
+	 */
+	public DateLayout getLayout() {
+		return layout;
+	}
+
+	private static boolean matchesShape(CharSequence text, DateLayout layout) {
+		String shape = layout.shape;
+		if (text.length() != shape.length()) {
+			return false;
+		}
+		// Separators are enough to tell the layouts apart, digits are checked by decode
+		for (int i = 0; i < shape.length(); i++) {
+			char expected = shape.charAt(i);
+			if (expected != 'd' && text.charAt(i) != expected) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean decode(CharSequence text, DateLayout layout, DateParseResult result) {
+		if (layout == DateLayout.ISO8601) {
+			return Iso8601Parser.parse(text, 0, text.length(), table, result);
+		}
+		String shape = layout.shape;
+		int length = Math.min(text.length(), shape.length());
+		int field = 0;
+		int value = 0;
+		values[3] = 0;
+		values[4] = 0;
+		values[5] = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			char expected = shape.charAt(i);
+			if (expected == 'd') {
+				if (!Iso8601Parser.isDigit(c)) {
+					return result.failure(i, Iso8601Parser.DIGIT_EXPECTED);
+				}
+				value = value * 10 + c - '0';
+			} else if (c != expected) {
+				return result.failure(i, Iso8601Parser.SEPARATOR_EXPECTED);
+			} else {
+				store(layout.fields.charAt(field++), value);
+				value = 0;
+			}
+		}
+		if (text.length() < shape.length()) {
+			return result.failure(text.length(), Iso8601Parser.TOO_SHORT);
+		}
+		if (text.length() > shape.length()) {
+			return result.failure(shape.length(), Iso8601Parser.UNEXPECTED_TRAILING_TEXT);
+		}
+		store(layout.fields.charAt(field), value);
+		int year = values[0];
+		int month = values[1];
+		int day = values[2];
+		if (month < 1 || month > 12) {
+			return result.failure(fieldIndex(layout, 'M'), Iso8601Parser.INVALID_MONTH);
+		}
+		if (day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+			return result.failure(fieldIndex(layout, 'D'), Iso8601Parser.INVALID_DAY);
+		}
+		if (values[3] > 23) {
+			return result.failure(fieldIndex(layout, 'h'), Iso8601Parser.INVALID_HOUR);
+		}
+		if (values[4] > 59) {
+			return result.failure(fieldIndex(layout, 'm'), Iso8601Parser.INVALID_MINUTE);
+		}
+		if (values[5] > 59) {
+			return result.failure(fieldIndex(layout, 's'), Iso8601Parser.INVALID_SECOND);
+		}
+		long localMillis = EpochDays.of(year, month, day) * EpochDays.MILLIS_PER_DAY + (values[3] * 3600 + values[4] * 60 + values[5]) * 1000L;
+		return result.success(validator.resolve(localMillis));
+	}
+
+	private void store(char field, int value) {
+		values["YMDhms".indexOf(field)] = value;
+	}
+
+	/**
+	 *
+	 * @return the index in the text of the first digit of the field
+	 */
+	private static int fieldIndex(DateLayout layout, char field) {
+		int group = layout.fields.indexOf(field);
+		String shape = layout.shape;
+		int index = 0;
+		for (int i = 0; i < group; i++) {
+			while (shape.charAt(index) == 'd') {
+				index++;
+			}
+			index++;
+		}
+		return index;
+	}
+}
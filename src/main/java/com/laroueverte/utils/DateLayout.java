@@ -0,0 +1,39 @@
+package com.laroueverte.utils;
+
+/**
+ * Date layouts recognized by {@link DateFormatDetector}
+ *
+ * @author la roue verte
+ */
+public enum DateLayout {
+	/** {@value DateConstant#ISO_FORMAT} */
+	ISO_FORMAT(DateConstant.ISO_FORMAT, "dddd-dd-dd", "YMD"),
+	/** {@value DateConstant#ISO_FORMAT_TIME} */
+	ISO_FORMAT_TIME(DateConstant.ISO_FORMAT_TIME, "dddd-dd-dd dd:dd:dd", "YMDhms"),
+	/** {@value DateConstant#FRENCH_FORMAT} */
+	FRENCH_FORMAT(DateConstant.FRENCH_FORMAT, "dd/dd/dddd", "DMY"),
+	/** {@value DateConstant#DATE_TIME_FOR_FILE_FORMAT} */
+	DATE_TIME_FOR_FILE_FORMAT(DateConstant.DATE_TIME_FOR_FILE_FORMAT, "dddd-dd-dd-dd-dd", "YMDhm"),
+	/** ISO8601 local or offset date time, as {@link DateBuilder#iso8601(String)} */
+	ISO8601(null, null, null);
+
+	private final String pattern;
+	/** 'd' for a digit, any other char for itself */
+	final String shape;
+	/** Field of each group of digits : Y M D h m s */
+	final String fields;
+
+	DateLayout(String pattern, String shape, String fields) {
+		this.pattern = pattern;
+		this.shape = shape;
+		this.fields = fields;
+	}
+
+	/**
+	 *
+	 * @return the SimpleDateFormat pattern of this layout, null for {@link #ISO8601}
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+}
@@ -0,0 +1,245 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of parse results, for inputs like logs where the same timestamp text comes back thousands of times. A lookup hashes and compares the chars
+ * of the text in place, so a hit allocates nothing : neither a key String nor a DateBuilder.<br>
+ * Entries are spread in sets of {@value #WAYS} slots. A full set evicts with the CLOCK algorithm : a hit marks its entry as referenced, and the hand of the
+ * set skips and clears referenced entries before replacing the first unreferenced one. Failures are cached as well as successes.<br>
+ * Instances are thread safe, and lock free
+ *
+ * @author la roue verte
+ */
+public final class DateParseCache {
+	private static final int WAYS = 8;
+
+	/**
+	 * Parse function behind a cache. It must be thread safe, and its result must only depend on the text
+	 */
+	@FunctionalInterface
+	public interface Parser {
+		/**
+		 *
+		 * @param text is the text to parse
+		 * @param result receives the time in milliseconds, or the error index and reason
+		 * @return true if the text could be parsed
+		 */
+		boolean parse(CharSequence text, DateParseResult result);
+	}
+
+	private final Parser parser;
+	private final ZoneId zone;
+	private final AtomicReferenceArray<Entry> entries;
+	private final AtomicInteger[] hands;
+	private final int setMask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 *
+	 * @param capacity is the maximum number of cached texts, rounded up to a power of 2, at least {@value #WAYS}
+	 * @param zone is the time zone of the DateConstants returned by {@link #getDate(CharSequence)}
+	 * @param parser parses the texts missing from the cache
+	 */
+	public DateParseCache(int capacity, ZoneId zone, Parser parser) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		int sets = Math.max(1, Integer.highestOneBit(capacity - 1) * 2 / WAYS);
+		this.parser = parser;
+		this.zone = zone;
+		this.entries = new AtomicReferenceArray<>(sets * WAYS);
+		this.hands = new AtomicInteger[sets];
+		for (int i = 0; i < sets; i++) {
+			hands[i] = new AtomicInteger();
+		}
+		this.setMask = sets - 1;
+	}
+
+	/**
+	 * Cache of {@link DateBuilder#tryIso8601(String, DateParseResult)}
+	 *
+	 * @param capacity is the maximum number of cached texts
+	 * @param zone is the time zone of local date times
+	 * @return a new cache
+	 */
+	public static DateParseCache iso8601(int capacity, ZoneId zone) {
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		return new DateParseCache(capacity, zone, (text, result) -> Iso8601Parser.parse(text, 0, text.length(), table, result));
+	}
+
+	/**
+	 * Cache of a {@link DateFormatDetector}, for any of the {@link DateLayout}s. Decoding is strict, see the detector
+	 *
+	 * @param capacity is the maximum number of cached texts
+	 * @param zone is the time zone of local date times
+	 * @return a new cache
+	 */
+	public static DateParseCache detecting(int capacity, ZoneId zone) {
+		// Detectors are not thread safe, misses use their own
+		return new DateParseCache(capacity, zone, (text, result) -> new DateFormatDetector(zone).parse(text, result));
+	}
+
+	/**
+	 * Parses a text, from the cache if it was already seen
+	 *
+	 * @param text is the text to parse
+	 * @param result receives the time in milliseconds, or the error index and reason
+	 * @return true if the text could be parsed
+	 */
+	public boolean parse(CharSequence text, DateParseResult result) {
+		if (text == null) {
+			return result.failure(0, DateBuilder.NULL_INPUT);
+		}
+		Entry entry = lookup(text);
+		if (entry.reason == null) {
+			return result.success(entry.timeInMillis);
+		}
+		return result.failure(entry.errorIndex, entry.reason);
+	}
+
+	/**
+	 *
+	 * @param text is the text to parse
+	 * @return the parsed date, the same instance for every hit, or null if the text could not be parsed
+	 */
+	public DateConstant getDate(CharSequence text) {
+		if (text == null) {
+			return null;
+		}
+		Entry entry = lookup(text);
+		if (entry.reason != null) {
+			return null;
+		}
+		DateConstant date = entry.date;
+		if (date == null) {
+			date = DateBuilder.milliseconds(entry.timeInMillis, zone).constant();
+			entry.date = date;
+		}
+		return date;
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 *
+	 * @return the ratio of lookups found in the cache, 0 before the first lookup
+	 */
+	public double getHitRate() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Empties the cache, statistics are kept
+	 */
+	public void clear() {
+		for (int i = 0; i < entries.length(); i++) {
+			entries.set(i, null);
+		}
+	}
+
+	private Entry lookup(CharSequence text) {
+		int hash = hash(text);
+		int first = (hash & setMask) * WAYS;
+		for (int i = first; i < first + WAYS; i++) {
+			Entry entry = entries.get(i);
+			if (entry != null && entry.matches(hash, text)) {
+				if (!entry.referenced) {
+					entry.referenced = true;
+				}
+				hits.increment();
+				return entry;
+			}
+		}
+		misses.increment();
+		DateParseResult result = new DateParseResult();
+		parser.parse(text, result);
+		Entry entry = new Entry(text.toString(), hash, result);
+		insert(first, hash & setMask, entry);
+		return entry;
+	}
+
+	private void insert(int first, int set, Entry entry) {
+		for (int i = first; i < first + WAYS; i++) {
+			if (entries.get(i) == null && entries.compareAndSet(i, null, entry)) {
+				return;
+			}
+		}
+		// CLOCK : second chance to referenced entries, at most two turns of the set
+		AtomicInteger hand = hands[set];
+		for (int turn = 0; turn < 2 * WAYS; turn++) {
+			int i = first + (hand.getAndIncrement() & (WAYS - 1));
+			Entry victim = entries.get(i);
+			if (victim != null && victim.referenced) {
+				victim.referenced = false;
+			} else if (entries.compareAndSet(i, victim, entry)) {
+				if (victim != null) {
+					evictions.increment();
+				}
+				return;
+			}
+		}
+	}
+
+	private static int hash(CharSequence text) {
+		int hash = 0;
+		for (int i = 0; i < text.length(); i++) {
+			hash = 31 * hash + text.charAt(i);
+		}
+		// Spreads the high bits to the set index, as HashMap does
+		return hash ^ hash >>> 16;
+	}
+
+	@Override
+	public String toString() {
+		return "DateParseCache[" + entries.length() + " slots, " + getHitCount() + " hits, " + getMissCount() + " misses, " + getEvictionCount() + " evictions]";
+	}
+
+	private static final class Entry {
+		final String text;
+		final int hash;
+		final long timeInMillis;
+		final int errorIndex;
+		final String reason;
+		/** Plain field : a lost update only changes which entry is evicted */
+		boolean referenced;
+		volatile DateConstant date;
+
+		Entry(String text, int hash, DateParseResult result) {
+			this.text = text;
+			this.hash = hash;
+			this.timeInMillis = result.getTimeInMillis();
+			this.errorIndex = result.getErrorIndex();
+			this.reason = result.getReason();
+		}
+
+		boolean matches(int hash, CharSequence other) {
+			if (this.hash != hash || text.length() != other.length()) {
+				return false;
+			}
+			for (int i = 0; i < text.length(); i++) {
+				if (text.charAt(i) != other.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
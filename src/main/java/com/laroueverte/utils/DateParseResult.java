@@ -0,0 +1,75 @@
+package com.laroueverte.utils;
+
+/**
+ * Outcome of a non throwing parse (see {@link DateBuilder#tryIso8601(String, DateParseResult)} and friends). An instance is meant to be reused from one
+ * parse to the other, so that parsing dirty bulk input allocates neither exceptions nor results
+ *
+ * @author la roue verte
+ */
+public final class DateParseResult {
+	static final String NOT_PARSED = "nothing parsed yet";
+
+	private long timeInMillis;
+	// A new result is a failure, not a success at EPOCH
+	private int errorIndex = 0;
+	private String reason = NOT_PARSED;
+
+	/**
+	 *
+	 * @return true if the last parse succeeded, false before the first parse
+	 */
+	public boolean isSuccess() {
+		return errorIndex < 0;
+	}
+
+	/**
+	 *
+	 * @return the parsed time in milliseconds since EPOCH. Only meaningful if {@link #isSuccess()}
+	 */
+	public long getTimeInMillis() {
+		return timeInMillis;
+	}
+
+	/**
+	 *
+	 * @return the index in the source string where parsing failed, -1 on success, 0 before the first parse
+	 */
+	public int getErrorIndex() {
+		return errorIndex;
+	}
+
+	/**
+	 *
+	 * @return a short description of why parsing failed, null on success
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 *
+	 * @return a new DateBuilder set to the parsed date, or null if the parse failed
+	 */
+	public DateBuilder toDateBuilder() {
+		return isSuccess() ? DateBuilder.milliseconds(timeInMillis) : null;
+	}
+
+	boolean success(long millis) {
+		this.timeInMillis = millis;
+		this.errorIndex = -1;
+		this.reason = null;
+		return true;
+	}
+
+	boolean failure(int index, String why) {
+		this.timeInMillis = 0;
+		this.errorIndex = index;
+		this.reason = why;
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return isSuccess() ? "DateParseResult[" + timeInMillis + "]" : "DateParseResult[error at " + errorIndex + ": " + reason + "]";
+	}
+}
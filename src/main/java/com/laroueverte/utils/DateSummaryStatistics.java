@@ -0,0 +1,182 @@
+package com.laroueverte.utils;
+
+import java.math.BigInteger;
+import java.time.ZoneId;
+import java.util.function.LongConsumer;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+/**
+ * Count, minimum, maximum, span and mean of dates, as {@link java.util.LongSummaryStatistics} does for numbers. Dates are reduced to their time in
+ * milliseconds, so accumulating allocates nothing, and partial statistics combine for parallel streams. The sum is kept on 128 bits : the mean stays exact
+ * for any number of dates, where the sum of ten million present day times already overflows a long.<br>
+ * Instances are not thread safe, collectors give each thread its own
+ *
+ * @author la roue verte
+ */
+public final class DateSummaryStatistics implements LongConsumer {
+	private final ZoneId zone;
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+	private long sumLow;
+	private long sumHigh;
+
+	/**
+	 * Statistics whose dates are in the default time zone
+	 */
+	public DateSummaryStatistics() {
+		this(ZoneId.systemDefault());
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the dates returned by {@link #getMin()}, {@link #getMax()} and {@link #getMean()}
+	 */
+	public DateSummaryStatistics(ZoneId zone) {
+		this.zone = zone;
+	}
+
+	/**
+	 *
+	 * @return a collector of statistics in the default time zone
+	 */
+	public static Collector<ReadableDate, ?, DateSummaryStatistics> summarizing() {
+		return summarizing(ZoneId.systemDefault());
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the minimum, maximum and mean dates
+	 * @return a collector of statistics, for sequential or parallel streams
+	 */
+	public static Collector<ReadableDate, ?, DateSummaryStatistics> summarizing(ZoneId zone) {
+		return Collector.of(() -> new DateSummaryStatistics(zone), DateSummaryStatistics::accept, (left, right) -> {
+			left.combine(right);
+			return left;
+		}, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+
+	/**
+	 *
+	 * @param millis are times in milliseconds since EPOCH, sequential or parallel
+	 * @param zone is the time zone of the minimum, maximum and mean dates
+	 * @return the statistics of the times
+	 */
+	public static DateSummaryStatistics of(LongStream millis, ZoneId zone) {
+		return millis.collect(() -> new DateSummaryStatistics(zone), DateSummaryStatistics::accept, DateSummaryStatistics::combine);
+	}
+
+	/**
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 */
+	@Override
+	public void accept(long millis) {
+		count++;
+		min = Math.min(min, millis);
+		max = Math.max(max, millis);
+		add(millis >> 63, millis);
+	}
+
+	public void accept(ReadableDate date) {
+		accept(date.getTimeInMillis());
+	}
+
+	/**
+	 * Adds the dates of other statistics to these ones
+	 *
+	 * @param other are statistics of other dates
+	 */
+	public void combine(DateSummaryStatistics other) {
+		count += other.count;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		add(other.sumHigh, other.sumLow);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 *
+	 * @return the time of the earliest date, {@link Long#MAX_VALUE} if there is none
+	 */
+	public long getMinMillis() {
+		return min;
+	}
+
+	/**
+	 *
+	 * @return the time of the latest date, {@link Long#MIN_VALUE} if there is none
+	 */
+	public long getMaxMillis() {
+		return max;
+	}
+
+	/**
+	 *
+	 * @return the milliseconds from the earliest to the latest date, 0 if there is none
+	 */
+	public long getSpanMillis() {
+		return count == 0 ? 0 : max - min;
+	}
+
+	/**
+	 *
+	 * @return the mean time rounded down to the millisecond, 0 if there is no date
+	 */
+	public long getMeanMillis() {
+		if (count == 0) {
+			return 0;
+		}
+		if (sumHigh == sumLow >> 63) {
+			// The sum fits in a long
+			return Math.floorDiv(sumLow, count);
+		}
+		BigInteger sum = BigInteger.valueOf(sumHigh).shiftLeft(64).add(BigInteger.valueOf(sumLow >>> 1).shiftLeft(1)).add(BigInteger.valueOf(sumLow & 1));
+		BigInteger[] quotientAndRemainder = sum.divideAndRemainder(BigInteger.valueOf(count));
+		long mean = quotientAndRemainder[0].longValue();
+		return quotientAndRemainder[1].signum() < 0 ? mean - 1 : mean;
+	}
+
+	/**
+	 *
+	 * @return the earliest date, null if there is none
+	 */
+	public DateConstant getMin() {
+		return count == 0 ? null : DateBuilder.milliseconds(min, zone).constant();
+	}
+
+	/**
+	 *
+	 * @return the latest date, null if there is none
+	 */
+	public DateConstant getMax() {
+		return count == 0 ? null : DateBuilder.milliseconds(max, zone).constant();
+	}
+
+	/**
+	 *
+	 * @return the mean date, null if there is none
+	 */
+	public DateConstant getMean() {
+		return count == 0 ? null : DateBuilder.milliseconds(getMeanMillis(), zone).constant();
+	}
+
+	private void add(long high, long low) {
+		long previous = sumLow;
+		sumLow += low;
+		sumHigh += high + (Long.compareUnsigned(sumLow, previous) < 0 ? 1 : 0);
+	}
+
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "DateSummaryStatistics[count=0]";
+		}
+		return "DateSummaryStatistics[count=" + count + ", min=" + getMin().toISO8601OffsetDateTime() + ", max=" + getMax().toISO8601OffsetDateTime() + ", mean="
+				+ getMean().toISO8601OffsetDateTime() + "]";
+	}
+}
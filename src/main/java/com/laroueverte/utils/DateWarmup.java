@@ -0,0 +1,228 @@
+package com.laroueverte.utils;
+
+import java.text.DateFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Warm-up to run at startup, so that the first requests after a deployment don't pay for loading locale data and zone rules, and for interpreting the hot
+ * paths before the JIT compiles them. Configure what to warm up, then {@link #run()} it, which takes a few seconds by default :
+ *
+ * <pre>
+ * DateWarmup.defaults().locale(Locale.GERMAN).zone(ZoneId.of("America/New_York")).run();
+ * </pre>
+ *
+ * @author la roue verte
+ */
+public final class DateWarmup {
+	private static final String[] DEFAULT_PATTERNS = { DateConstant.ISO_FORMAT, DateConstant.ISO_FORMAT_TIME, DateConstant.FRENCH_FORMAT,
+			DateConstant.DATE_TIME_FOR_FILE_FORMAT, DateConstant.MONTH_NAME_FORMAT, DateConstant.DATETIME_FORMAT_FRENCH_LONG };
+	/** Result of the hot paths, so that the JIT can't drop them */
+	private static volatile long sink;
+
+	private final Set<Locale> locales = new LinkedHashSet<>();
+	private final Set<String> patterns = new LinkedHashSet<>();
+	private final Set<ZoneId> zones = new LinkedHashSet<>();
+	/** Above the HotSpot C2 compile thresholds (Tier4InvocationThreshold 5000, Tier4CompileThreshold 15000) so that hot paths reach optimized code */
+	private int iterations = 20_000;
+
+	/**
+	 *
+	 * @return a warm-up of nothing yet
+	 */
+	public static DateWarmup empty() {
+		return new DateWarmup();
+	}
+
+	/**
+	 *
+	 * @return a warm-up of the default and french locales, the patterns of {@link DateConstant} and the default time zone
+	 */
+	public static DateWarmup defaults() {
+		return new DateWarmup().locale(Locale.getDefault(Locale.Category.FORMAT), Locale.FRENCH).pattern(DEFAULT_PATTERNS).zone(ZoneId.systemDefault());
+	}
+
+	/**
+	 *
+	 * @param values are locales whose data is loaded, and whose week and name formatting is exercised
+	 * @return the same instance, modified
+	 */
+	public DateWarmup locale(Locale... values) {
+		locales.addAll(Arrays.asList(values));
+		return this;
+	}
+
+	/**
+	 *
+	 * @param values are SimpleDateFormat patterns formatted and compiled once for each locale, to load the locale names and classes they use. The formats are
+	 *        not kept : callers still compile their own
+	 * @return the same instance, modified
+	 */
+	public DateWarmup pattern(String... values) {
+		patterns.addAll(Arrays.asList(values));
+		return this;
+	}
+
+	/**
+	 *
+	 * @param values are time zones whose rules and offset tables are loaded
+	 * @return the same instance, modified
+	 */
+	public DateWarmup zone(ZoneId... values) {
+		zones.addAll(Arrays.asList(values));
+		return this;
+	}
+
+	/**
+	 *
+	 * @param count is the number of calls of each hot path, 0 to only load data. Below the default 20000 the hot paths may only be compiled by C1, and the
+	 *        first requests still pay the C2 compilation
+	 * @return the same instance, modified
+	 */
+	public DateWarmup iterations(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Negative iterations: " + count);
+		}
+		this.iterations = count;
+		return this;
+	}
+
+	/**
+	 * Runs the warm-up in the current thread
+	 *
+	 * @return what was initialized and how long it took
+	 * @throws IllegalArgumentException if a pattern is invalid
+	 */
+	public Report run() {
+		Report report = new Report();
+		long now = DateBuilder.getClock().millis();
+		for (ZoneId zone : zones) {
+			report.time("zone " + zone, () -> {
+				TimeZone.getTimeZone(zone);
+				ZoneOffsetTable.forZone(zone);
+				new LocalTimeValidator(zone, DstPolicy.LATER).resolve(now);
+			});
+		}
+		for (Locale locale : locales) {
+			report.time("locale " + locale, () -> {
+				DateFormatSymbols.getInstance(locale);
+				Calendar.getInstance(locale).setTimeInMillis(now);
+			});
+			for (String pattern : patterns) {
+				report.time("locale data " + pattern + " " + locale, () -> {
+					new SimpleDateFormat(pattern, locale).format(new Date(now));
+					try {
+						CompiledDateFormat.compile(pattern, locale);
+					} catch (IllegalArgumentException e) {
+						// Only SimpleDateFormat supports this pattern
+					}
+				});
+			}
+		}
+		if (iterations > 0) {
+			report.time("hot paths x" + iterations, this::exerciseHotPaths);
+		}
+		return report;
+	}
+
+	private void exerciseHotPaths() {
+		DateParseResult result = new DateParseResult();
+		DateFormatDetector detector = new DateFormatDetector();
+		long hash = 0;
+		for (int i = 0; i < iterations; i++) {
+			DateBuilder date = DateBuilder.milliseconds(1_700_000_000_000L + i * 3_600_000L);
+			String timestamp = date.toISO8601OffsetDateTime();
+			hash += DateBuilder.iso8601(timestamp).getTimeInMillis();
+			DateBuilder.tryIsoTimestamp(date.toString(DateConstant.ISO_FORMAT_TIME), result);
+			hash += result.getTimeInMillis();
+			detector.parse(timestamp, result);
+			hash += result.getTimeInMillis();
+			hash += date.toFrenchLongFormat().length() + date.toISOFormat().length();
+			for (Locale locale : locales) {
+				hash += date.getWeekOfYear(locale);
+			}
+			for (ZoneId zone : zones) {
+				hash += date.inZone(zone).getHour();
+			}
+		}
+		sink = hash;
+	}
+
+	/**
+	 * Durations of the steps of a warm-up
+	 */
+	public static final class Report {
+		private final List<Step> steps = new ArrayList<>();
+
+		private void time(String name, Runnable step) {
+			long start = System.nanoTime();
+			step.run();
+			steps.add(new Step(name, System.nanoTime() - start));
+		}
+
+		public List<Step> getSteps() {
+			return Collections.unmodifiableList(steps);
+		}
+
+		/**
+		 *
+		 * @return the duration of the whole warm-up, in nanoseconds
+		 */
+		public long getTotalNanos() {
+			long total = 0;
+			for (Step step : steps) {
+				total += step.nanos;
+			}
+			return total;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder("Date warm-up in ").append(getTotalNanos() / 1_000_000).append(" ms");
+			for (Step step : steps) {
+				builder.append("\n  ").append(step);
+			}
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * One initialized item and its duration
+	 */
+	public static final class Step {
+		private final String name;
+		private final long nanos;
+
+		Step(String name, long nanos) {
+			this.name = name;
+			this.nanos = nanos;
+		}
+
+		/**
+		 *
+		 * @return what was initialized, like "zone Europe/Paris"
+		 */
+		public String getName() {
+			return name;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		@Override
+		public String toString() {
+			return name + " : " + nanos / 1000 + " us";
+		}
+	}
+}
@@ -0,0 +1,894 @@
+package com.laroueverte.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of local days, such as the days a person is available, stored as epoch days (days since 1970-01-01) in the Roaring bitmap layout : days
+ * are grouped by chunks of 65536 days (about 179 years), and each chunk is a sorted array of days when sparse, a bitmap when dense, or a list of runs after
+ * {@link #runOptimize()} when made of long periods. Unions, intersections and differences of dense chunks are word-parallel operations on their bitmaps.<br>
+ * Instances are not thread safe
+ *
+ * @author la roue verte
+ */
+public final class DaySet {
+	private static final int ARRAY_MAX = 4096;
+	private static final int WORDS = 1024;
+	private static final byte ARRAY = 0;
+	private static final byte BITMAP = 1;
+	private static final byte RUN = 2;
+
+	private int[] keys = new int[4];
+	private Container[] containers = new Container[4];
+	private int size;
+
+	/**
+	 *
+	 * @param dates are dates, of which the local day in their time zone is added
+	 * @return a new set of the days of the dates
+	 */
+	public static DaySet of(Collection<? extends ReadableDate> dates) {
+		DaySet set = new DaySet();
+		for (ReadableDate date : dates) {
+			set.add(date);
+		}
+		return set;
+	}
+
+	/**
+	 *
+	 * @param epochDay is a number of days since 1970-01-01
+	 * @return true if the day was not already in the set
+	 */
+	public boolean add(long epochDay) {
+		int key = key(epochDay);
+		int index = indexOf(key);
+		if (index < 0) {
+			index = insertKey(-index - 1, key, new ArrayContainer());
+		}
+		Container container = containers[index];
+		int cardinality = container.cardinality();
+		containers[index] = container.add(low(epochDay));
+		return containers[index].cardinality() > cardinality;
+	}
+
+	/**
+	 *
+	 * @param date is a date, of which the local day in its time zone is added
+	 * @return true if the day was not already in the set
+	 */
+	public boolean add(ReadableDate date) {
+		return add(epochDay(date));
+	}
+
+	/**
+	 * Adds a period of days, stored as a run when it is long
+	 *
+	 * @param fromDay is the first epoch day to add
+	 * @param toDay is the last epoch day to add, included
+	 */
+	public void addRange(long fromDay, long toDay) {
+		for (long start = fromDay; start <= toDay;) {
+			int key = key(start);
+			long end = Math.min(toDay, ((long) key << 16) + 0xFFFF);
+			int index = indexOf(key);
+			long[] words = index < 0 ? new long[WORDS] : containers[index].toWords();
+			setRange(words, low(start), low(end));
+			Container container = optimize(fromWords(words));
+			if (index < 0) {
+				insertKey(-index - 1, key, container);
+			} else {
+				containers[index] = container;
+			}
+			start = end + 1;
+		}
+	}
+
+	/**
+	 *
+	 * @param epochDay is a number of days since 1970-01-01
+	 * @return true if the day was in the set
+	 */
+	public boolean remove(long epochDay) {
+		int index = indexOf(key(epochDay));
+		if (index < 0 || !containers[index].contains(low(epochDay))) {
+			return false;
+		}
+		Container container = containers[index].remove(low(epochDay));
+		if (container == null) {
+			removeKey(index);
+		} else {
+			containers[index] = container;
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 * @param epochDay is a number of days since 1970-01-01
+	 * @return true if the day is in the set
+	 */
+	public boolean contains(long epochDay) {
+		if (epochDay < (long) Integer.MIN_VALUE << 16 || epochDay > ((long) Integer.MAX_VALUE << 16) + 0xFFFF) {
+			return false;
+		}
+		int index = indexOf(key(epochDay));
+		return index >= 0 && containers[index].contains(low(epochDay));
+	}
+
+	/**
+	 *
+	 * @param date is any date
+	 * @return true if the local day of the date, in its time zone, is in the set
+	 */
+	public boolean contains(ReadableDate date) {
+		return contains(epochDay(date));
+	}
+
+	/**
+	 *
+	 * @return the number of days in the set
+	 */
+	public long cardinality() {
+		long cardinality = 0;
+		for (int i = 0; i < size; i++) {
+			cardinality += containers[i].cardinality();
+		}
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 *
+	 * @param other is another set
+	 * @return a new set of the days in both sets
+	 */
+	public DaySet and(DaySet other) {
+		DaySet result = new DaySet();
+		int i = 0;
+		int j = 0;
+		while (i < size && j < other.size) {
+			if (keys[i] < other.keys[j]) {
+				i++;
+			} else if (keys[i] > other.keys[j]) {
+				j++;
+			} else {
+				result.append(keys[i], and(containers[i++], other.containers[j++]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param other is another set
+	 * @return a new set of the days in any of the sets
+	 */
+	public DaySet or(DaySet other) {
+		DaySet result = new DaySet();
+		int i = 0;
+		int j = 0;
+		while (i < size || j < other.size) {
+			if (j == other.size || i < size && keys[i] < other.keys[j]) {
+				result.append(keys[i], containers[i++].copy());
+			} else if (i == size || keys[i] > other.keys[j]) {
+				result.append(other.keys[j], other.containers[j++].copy());
+			} else {
+				result.append(keys[i], or(containers[i++], other.containers[j++]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param other is another set
+	 * @return a new set of the days of this set which are not in the other one
+	 */
+	public DaySet andNot(DaySet other) {
+		DaySet result = new DaySet();
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			while (j < other.size && other.keys[j] < keys[i]) {
+				j++;
+			}
+			if (j < other.size && other.keys[j] == keys[i]) {
+				result.append(keys[i], andNot(containers[i], other.containers[j]));
+			} else {
+				result.append(keys[i], containers[i].copy());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Intersection of many sets, starting from the smallest and stopping as soon as it is empty
+	 *
+	 * @param sets are sets of days
+	 * @return a new set of the days in all the sets, empty if there is no set
+	 */
+	public static DaySet intersection(Collection<DaySet> sets) {
+		DaySet[] sorted = sets.toArray(new DaySet[0]);
+		if (sorted.length == 0) {
+			return new DaySet();
+		}
+		long[] cardinalities = new long[sorted.length];
+		Integer[] order = new Integer[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			cardinalities[i] = sorted[i].cardinality();
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(cardinalities[a], cardinalities[b]));
+		// The union with an empty set is a copy
+		DaySet result = sorted[order[0]].or(new DaySet());
+		for (int i = 1; i < order.length && !result.isEmpty(); i++) {
+			result = result.and(sorted[order[i]]);
+		}
+		return result;
+	}
+
+	/**
+	 * Converts the chunks made of few long periods into lists of runs, to be called once the set is built. Adding or removing a day of such a chunk converts
+	 * it back
+	 */
+	public void runOptimize() {
+		for (int i = 0; i < size; i++) {
+			containers[i] = optimize(containers[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @return an iterator on the epoch days of the set, in increasing order
+	 */
+	public PrimitiveIterator.OfLong days() {
+		return new PrimitiveIterator.OfLong() {
+			private int index;
+			private int low = size == 0 ? -1 : containers[0].nextSetBit(0);
+
+			@Override
+			public boolean hasNext() {
+				return low >= 0;
+			}
+
+			@Override
+			public long nextLong() {
+				if (low < 0) {
+					throw new NoSuchElementException();
+				}
+				long day = ((long) keys[index] << 16) + low;
+				low = low == 0xFFFF ? -1 : containers[index].nextSetBit(low + 1);
+				while (low < 0 && ++index < size) {
+					low = containers[index].nextSetBit(0);
+				}
+				return day;
+			}
+		};
+	}
+
+	/**
+	 *
+	 * @param action receives the epoch days of the set, in increasing order
+	 */
+	public void forEachDay(LongConsumer action) {
+		days().forEachRemaining(action);
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the dates
+	 * @return the start of the days of the set, in increasing order
+	 */
+	public List<DateConstant> toDates(ZoneId zone) {
+		LocalTimeValidator validator = new LocalTimeValidator(zone, DstPolicy.LATER);
+		List<DateConstant> dates = new ArrayList<>();
+		forEachDay(day -> dates.add(DateBuilder.milliseconds(validator.resolve(day * EpochDays.MILLIS_PER_DAY), zone).constant()));
+		return dates;
+	}
+
+	/**
+	 * Writes the set in a compact form : sparse chunks as varint deltas, runs as varint lengths
+	 *
+	 * @param out is the destination stream
+	 * @throws IOException if the stream can't be written
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		DateCodec.writeVarLong(out, size);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(keys[i]);
+			containers[i].writeTo(out);
+		}
+	}
+
+	/**
+	 *
+	 * @param in is a stream written by {@link #writeTo(DataOutput)}
+	 * @return a new set
+	 * @throws IOException if the stream can't be read or is corrupted
+	 */
+	public static DaySet readFrom(DataInput in) throws IOException {
+		DaySet set = new DaySet();
+		long count = DateCodec.readVarLong(in);
+		for (long i = 0; i < count; i++) {
+			int key = in.readInt();
+			if (set.size > 0 && key <= set.keys[set.size - 1]) {
+				throw new IOException("Unsorted day set chunks");
+			}
+			set.append(key, readContainer(in));
+		}
+		return set;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DaySet)) {
+			return false;
+		}
+		DaySet other = (DaySet) obj;
+		if (size != other.size || !Arrays.equals(Arrays.copyOf(keys, size), Arrays.copyOf(other.keys, other.size))) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!Arrays.equals(containers[i].toWords(), other.containers[i].toWords())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (PrimitiveIterator.OfLong days = days(); days.hasNext();) {
+			hash = 31 * hash + Long.hashCode(days.nextLong());
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return "DaySet[" + cardinality() + " days]";
+	}
+
+	private static long epochDay(ReadableDate date) {
+		return Math.floorDiv(ZoneOffsetTable.forZone(date.getZone()).toLocalMillis(date.getTimeInMillis()), EpochDays.MILLIS_PER_DAY);
+	}
+
+	private static int key(long epochDay) {
+		long key = epochDay >> 16;
+		if (key != (int) key) {
+			throw new IllegalArgumentException("Epoch day out of range: " + epochDay);
+		}
+		return (int) key;
+	}
+
+	private static int low(long epochDay) {
+		return (int) epochDay & 0xFFFF;
+	}
+
+	private int indexOf(int key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	private int insertKey(int index, int key, Container container) {
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			containers = Arrays.copyOf(containers, size * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+		return index;
+	}
+
+	private void removeKey(int index) {
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+		containers[--size] = null;
+	}
+
+	/**
+	 * Adds a chunk after the last one, if not empty
+	 */
+	private void append(int key, Container container) {
+		if (container != null) {
+			insertKey(size, key, container);
+		}
+	}
+
+	private static Container and(Container a, Container b) {
+		if (a instanceof ArrayContainer) {
+			return ((ArrayContainer) a).filter(b, true);
+		}
+		if (b instanceof ArrayContainer) {
+			return ((ArrayContainer) b).filter(a, true);
+		}
+		long[] words = a.toWords();
+		long[] other = b.toWords();
+		for (int i = 0; i < WORDS; i++) {
+			words[i] &= other[i];
+		}
+		return fromWords(words);
+	}
+
+	private static Container or(Container a, Container b) {
+		long[] words = a.toWords();
+		b.orInto(words);
+		return fromWords(words);
+	}
+
+	private static Container andNot(Container a, Container b) {
+		if (a instanceof ArrayContainer) {
+			return ((ArrayContainer) a).filter(b, false);
+		}
+		long[] words = a.toWords();
+		long[] other = b.toWords();
+		for (int i = 0; i < WORDS; i++) {
+			words[i] &= ~other[i];
+		}
+		return fromWords(words);
+	}
+
+	/**
+	 *
+	 * @return the smallest of an array or a bitmap container for these bits, null if there is none
+	 */
+	private static Container fromWords(long[] words) {
+		int cardinality = 0;
+		for (long word : words) {
+			cardinality += Long.bitCount(word);
+		}
+		if (cardinality == 0) {
+			return null;
+		}
+		if (cardinality > ARRAY_MAX) {
+			return new BitmapContainer(words, cardinality);
+		}
+		char[] values = new char[cardinality];
+		int n = 0;
+		for (int i = 0; i < WORDS; i++) {
+			for (long word = words[i]; word != 0; word &= word - 1) {
+				values[n++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+			}
+		}
+		return new ArrayContainer(values, cardinality);
+	}
+
+	/**
+	 *
+	 * @return the container of the smallest serialized size for the same days
+	 */
+	private static Container optimize(Container container) {
+		if (container == null || container instanceof RunContainer) {
+			return container;
+		}
+		long[] words = container.toWords();
+		int runs = 0;
+		long previous = 0;
+		for (long word : words) {
+			// A run starts at each set bit whose previous bit is clear
+			runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+			previous = word;
+		}
+		int runBytes = 4 * runs;
+		int ownBytes = container instanceof ArrayContainer ? 2 * container.cardinality() : 8 * WORDS;
+		if (runBytes >= ownBytes) {
+			return container;
+		}
+		char[] starts = new char[runs];
+		char[] ends = new char[runs];
+		int n = 0;
+		for (int low = container.nextSetBit(0); low >= 0;) {
+			int end = nextClearBit(words, low) - 1;
+			starts[n] = (char) low;
+			ends[n++] = (char) end;
+			low = end == 0xFFFF ? -1 : container.nextSetBit(end + 1);
+		}
+		return new RunContainer(starts, ends);
+	}
+
+	private static int nextClearBit(long[] words, int from) {
+		int i = from >>> 6;
+		long word = ~words[i] & -1L << from;
+		while (word == 0) {
+			if (++i == WORDS) {
+				return WORDS << 6;
+			}
+			word = ~words[i];
+		}
+		return i << 6 | Long.numberOfTrailingZeros(word);
+	}
+
+	private static int nextSetBit(long[] words, int from) {
+		int i = from >>> 6;
+		long word = words[i] & -1L << from;
+		while (word == 0) {
+			if (++i == WORDS) {
+				return -1;
+			}
+			word = words[i];
+		}
+		return i << 6 | Long.numberOfTrailingZeros(word);
+	}
+
+	private static void setRange(long[] words, int from, int to) {
+		int first = from >>> 6;
+		int last = to >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> 63 - (to & 63);
+		if (first == last) {
+			words[first] |= firstMask & lastMask;
+			return;
+		}
+		words[first] |= firstMask;
+		for (int i = first + 1; i < last; i++) {
+			words[i] = -1L;
+		}
+		words[last] |= lastMask;
+	}
+
+	private static Container readContainer(DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case ARRAY: {
+			int cardinality = readCount(in, 1, ARRAY_MAX);
+			char[] values = new char[cardinality];
+			int value = -1;
+			for (int i = 0; i < cardinality; i++) {
+				value += readCount(in, 0, 0xFFFF) + 1;
+				if (value > 0xFFFF) {
+					throw new IOException("Corrupted day set");
+				}
+				values[i] = (char) value;
+			}
+			return new ArrayContainer(values, cardinality);
+		}
+		case BITMAP: {
+			long[] words = new long[WORDS];
+			for (int i = 0; i < WORDS; i++) {
+				words[i] = in.readLong();
+			}
+			Container container = fromWords(words);
+			if (container == null) {
+				throw new IOException("Corrupted day set");
+			}
+			return container;
+		}
+		case RUN: {
+			int runs = readCount(in, 1, 0x8000);
+			char[] starts = new char[runs];
+			char[] ends = new char[runs];
+			int end = -2;
+			for (int i = 0; i < runs; i++) {
+				int start = end + 2 + readCount(in, 0, 0xFFFF);
+				end = start + readCount(in, 0, 0xFFFF);
+				if (end > 0xFFFF) {
+					throw new IOException("Corrupted day set");
+				}
+				starts[i] = (char) start;
+				ends[i] = (char) end;
+			}
+			return new RunContainer(starts, ends);
+		}
+		default:
+			throw new IOException("Unknown day set container type " + type);
+		}
+	}
+
+	private static int readCount(DataInput in, int min, int max) throws IOException {
+		long count = DateCodec.readVarLong(in);
+		if (count < min || count > max) {
+			throw new IOException("Corrupted day set");
+		}
+		return (int) count;
+	}
+
+	/**
+	 * Days of a chunk, as their 16 low bits
+	 */
+	private abstract static class Container {
+		abstract boolean contains(int low);
+
+		/**
+		 *
+		 * @return the container holding the day, this one or a new one
+		 */
+		abstract Container add(int low);
+
+		/**
+		 *
+		 * @return the container without the day, this one or a new one, null if empty
+		 */
+		abstract Container remove(int low);
+
+		abstract int cardinality();
+
+		/**
+		 *
+		 * @return the smallest day greater than or equal to low, -1 if there is none
+		 */
+		abstract int nextSetBit(int low);
+
+		abstract void orInto(long[] words);
+
+		abstract Container copy();
+
+		abstract void writeTo(DataOutput out) throws IOException;
+
+		long[] toWords() {
+			long[] words = new long[WORDS];
+			orInto(words);
+			return words;
+		}
+	}
+
+	private static final class ArrayContainer extends Container {
+		private char[] values;
+		private int cardinality;
+
+		ArrayContainer() {
+			this(new char[4], 0);
+		}
+
+		ArrayContainer(char[] values, int cardinality) {
+			this.values = values;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		boolean contains(int low) {
+			return Arrays.binarySearch(values, 0, cardinality, (char) low) >= 0;
+		}
+
+		@Override
+		Container add(int low) {
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+			if (index >= 0) {
+				return this;
+			}
+			if (cardinality == ARRAY_MAX) {
+				long[] words = toWords();
+				words[low >>> 6] |= 1L << low;
+				return new BitmapContainer(words, cardinality + 1);
+			}
+			if (cardinality == values.length) {
+				values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+			}
+			index = -index - 1;
+			System.arraycopy(values, index, values, index + 1, cardinality - index);
+			values[index] = (char) low;
+			cardinality++;
+			return this;
+		}
+
+		@Override
+		Container remove(int low) {
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+			if (index >= 0) {
+				System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+				cardinality--;
+			}
+			return cardinality == 0 ? null : this;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		int nextSetBit(int low) {
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+			if (index >= 0) {
+				return low;
+			}
+			index = -index - 1;
+			return index < cardinality ? values[index] : -1;
+		}
+
+		@Override
+		void orInto(long[] words) {
+			for (int i = 0; i < cardinality; i++) {
+				words[values[i] >>> 6] |= 1L << values[i];
+			}
+		}
+
+		/**
+		 *
+		 * @return the days of this container which are (or are not) in the other one, null if there is none
+		 */
+		Container filter(Container other, boolean keep) {
+			char[] result = new char[cardinality];
+			int n = 0;
+			for (int i = 0; i < cardinality; i++) {
+				if (other.contains(values[i]) == keep) {
+					result[n++] = values[i];
+				}
+			}
+			return n == 0 ? null : new ArrayContainer(result, n);
+		}
+
+		@Override
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+		}
+
+		@Override
+		void writeTo(DataOutput out) throws IOException {
+			out.writeByte(ARRAY);
+			DateCodec.writeVarLong(out, cardinality);
+			int previous = -1;
+			for (int i = 0; i < cardinality; i++) {
+				DateCodec.writeVarLong(out, values[i] - previous - 1);
+				previous = values[i];
+			}
+		}
+	}
+
+	private static final class BitmapContainer extends Container {
+		private final long[] words;
+		private int cardinality;
+
+		BitmapContainer(long[] words, int cardinality) {
+			this.words = words;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		boolean contains(int low) {
+			return (words[low >>> 6] & 1L << low) != 0;
+		}
+
+		@Override
+		Container add(int low) {
+			if (!contains(low)) {
+				words[low >>> 6] |= 1L << low;
+				cardinality++;
+			}
+			return this;
+		}
+
+		@Override
+		Container remove(int low) {
+			if (contains(low)) {
+				words[low >>> 6] &= ~(1L << low);
+				cardinality--;
+			}
+			return cardinality > ARRAY_MAX ? this : fromWords(words);
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		int nextSetBit(int low) {
+			return DaySet.nextSetBit(words, low);
+		}
+
+		@Override
+		void orInto(long[] target) {
+			for (int i = 0; i < WORDS; i++) {
+				target[i] |= words[i];
+			}
+		}
+
+		@Override
+		long[] toWords() {
+			return words.clone();
+		}
+
+		@Override
+		Container copy() {
+			return new BitmapContainer(words.clone(), cardinality);
+		}
+
+		@Override
+		void writeTo(DataOutput out) throws IOException {
+			out.writeByte(BITMAP);
+			for (long word : words) {
+				out.writeLong(word);
+			}
+		}
+	}
+
+	/**
+	 * Sorted and disjoint periods of days, immutable : changes convert it to another container
+	 */
+	private static final class RunContainer extends Container {
+		private final char[] starts;
+		private final char[] ends;
+		private final int cardinality;
+
+		RunContainer(char[] starts, char[] ends) {
+			this.starts = starts;
+			this.ends = ends;
+			int sum = 0;
+			for (int i = 0; i < starts.length; i++) {
+				sum += ends[i] - starts[i] + 1;
+			}
+			this.cardinality = sum;
+		}
+
+		/**
+		 *
+		 * @return the index of the last run starting at or before low, -1 if there is none
+		 */
+		private int runIndex(int low) {
+			int index = Arrays.binarySearch(starts, (char) low);
+			return index >= 0 ? index : -index - 2;
+		}
+
+		@Override
+		boolean contains(int low) {
+			int index = runIndex(low);
+			return index >= 0 && low <= ends[index];
+		}
+
+		@Override
+		Container add(int low) {
+			return contains(low) ? this : fromWords(toWords()).add(low);
+		}
+
+		@Override
+		Container remove(int low) {
+			return contains(low) ? fromWords(toWords()).remove(low) : this;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		int nextSetBit(int low) {
+			int index = runIndex(low);
+			if (index >= 0 && low <= ends[index]) {
+				return low;
+			}
+			return index + 1 < starts.length ? starts[index + 1] : -1;
+		}
+
+		@Override
+		void orInto(long[] words) {
+			for (int i = 0; i < starts.length; i++) {
+				setRange(words, starts[i], ends[i]);
+			}
+		}
+
+		@Override
+		Container copy() {
+			return this;
+		}
+
+		@Override
+		void writeTo(DataOutput out) throws IOException {
+			out.writeByte(RUN);
+			DateCodec.writeVarLong(out, starts.length);
+			int end = -2;
+			for (int i = 0; i < starts.length; i++) {
+				DateCodec.writeVarLong(out, starts[i] - end - 2);
+				DateCodec.writeVarLong(out, ends[i] - starts[i]);
+				end = ends[i];
+			}
+		}
+	}
+}
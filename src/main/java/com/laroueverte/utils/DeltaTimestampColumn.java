@@ -0,0 +1,241 @@
+package com.laroueverte.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable compressed column of timestamps (epoch milliseconds). Values are cut in blocks; each block keeps its first value and then stores the
+ * delta-of-delta of the following values as zigzag varints. For sorted, regularly spaced event times most values fit in a single byte. A block index allows
+ * random access to any value by decoding at most one block
+ *
+ * @author la roue verte
+ */
+public final class DeltaTimestampColumn {
+	public static final int DEFAULT_BLOCK_SIZE = 128;
+
+	private final int size;
+	private final int blockSize;
+	private final long[] blockFirstValues;
+	private final int[] blockOffsets;
+	private final byte[] data;
+
+	private DeltaTimestampColumn(int size, int blockSize, long[] blockFirstValues, int[] blockOffsets, byte[] data) {
+		this.size = size;
+		this.blockSize = blockSize;
+		this.blockFirstValues = blockFirstValues;
+		this.blockOffsets = blockOffsets;
+		this.data = data;
+	}
+
+	/**
+	 * Encodes the values using {@link #DEFAULT_BLOCK_SIZE}
+	 *
+	 * @param values are the timestamps to encode, preferably sorted
+	 * @return the encoded column
+	 */
+	public static DeltaTimestampColumn encode(long[] values) {
+		return encode(values, 0, values.length, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 *
+	 * @param values are the timestamps to encode, preferably sorted
+	 * @param from is the first index to encode (inclusive)
+	 * @param to is the last index to encode (exclusive)
+	 * @param blockSize is the number of values per block. Smaller blocks are faster to access randomly, larger ones are more compact
+	 * @return the encoded column
+	 */
+	public static DeltaTimestampColumn encode(long[] values, int from, int to, int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+		}
+		if (from < 0 || from > to || to > values.length) {
+			throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") of " + values.length + " values");
+		}
+		int size = to - from;
+		int blockCount = blockCount(size, blockSize);
+		long[] blockFirstValues = new long[blockCount];
+		int[] blockOffsets = new int[blockCount + 1];
+		byte[] data = new byte[Math.max(16, size)];
+		int position = 0;
+		for (int block = 0; block < blockCount; block++) {
+			int start = from + block * blockSize;
+			int end = start + Math.min(blockSize, to - start);
+			blockFirstValues[block] = values[start];
+			blockOffsets[block] = position;
+			long previous = values[start];
+			long previousDelta = 0;
+			for (int i = start + 1; i < end; i++) {
+				long delta = values[i] - previous;
+				if (data.length - position < 10) {
+					data = Arrays.copyOf(data, data.length * 2);
+				}
+				position = writeVarLong(data, position, DateCodec.zigZag(delta - previousDelta));
+				previous = values[i];
+				previousDelta = delta;
+			}
+		}
+		blockOffsets[blockCount] = position;
+		return new DeltaTimestampColumn(size, blockSize, blockFirstValues, blockOffsets, Arrays.copyOf(data, position));
+	}
+
+	/**
+	 *
+	 * @return the number of values in the column
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 *
+	 * @return the number of blocks
+	 */
+	public int blockCount() {
+		return blockFirstValues.length;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes used by the encoded values, block index excluded
+	 */
+	public int dataSize() {
+		return data.length;
+	}
+
+	/**
+	 *
+	 * @param index is the index of the value in the column
+	 * @return the timestamp at that index
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		int block = index / blockSize;
+		long value = blockFirstValues[block];
+		long delta = 0;
+		int position = blockOffsets[block];
+		for (int i = block * blockSize; i < index; i++) {
+			long encoded = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = data[position++];
+				encoded |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			delta += DateCodec.unZigZag(encoded);
+			value += delta;
+		}
+		return value;
+	}
+
+	/**
+	 * Decodes a whole block
+	 *
+	 * @param block is the index of the block
+	 * @param destination receives the values, from index destinationIndex
+	 * @param destinationIndex is the index of the first value written
+	 * @return the number of values decoded
+	 */
+	public int decodeBlock(int block, long[] destination, int destinationIndex) {
+		int count = Math.min(blockSize, size - block * blockSize);
+		long value = blockFirstValues[block];
+		long delta = 0;
+		int position = blockOffsets[block];
+		destination[destinationIndex] = value;
+		for (int i = 1; i < count; i++) {
+			long encoded = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = data[position++];
+				encoded |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			delta += DateCodec.unZigZag(encoded);
+			value += delta;
+			destination[destinationIndex + i] = value;
+		}
+		return count;
+	}
+
+	/**
+	 *
+	 * @return all the values of the column
+	 */
+	public long[] decode() {
+		long[] result = new long[size];
+		for (int block = 0; block < blockFirstValues.length; block++) {
+			decodeBlock(block, result, block * blockSize);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the column, including its block index
+	 *
+	 * @param out is the destination stream
+	 * @throws IOException if the stream can't be written
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		out.writeInt(size);
+		out.writeInt(blockSize);
+		for (long firstValue : blockFirstValues) {
+			out.writeLong(firstValue);
+		}
+		for (int offset : blockOffsets) {
+			out.writeInt(offset);
+		}
+		out.write(data);
+	}
+
+	/**
+	 * Reads a column written by {@link #writeTo(DataOutput)}
+	 *
+	 * @param in is the source stream
+	 * @return the column
+	 * @throws IOException if the stream can't be read or is corrupted
+	 */
+	public static DeltaTimestampColumn readFrom(DataInput in) throws IOException {
+		int size = in.readInt();
+		int blockSize = in.readInt();
+		if (size < 0 || blockSize < 1) {
+			throw new IOException("Corrupted column header");
+		}
+		int blockCount = blockCount(size, blockSize);
+		long[] blockFirstValues = new long[blockCount];
+		for (int i = 0; i < blockCount; i++) {
+			blockFirstValues[i] = in.readLong();
+		}
+		int[] blockOffsets = new int[blockCount + 1];
+		for (int i = 0; i <= blockCount; i++) {
+			blockOffsets[i] = in.readInt();
+			if (i == 0 ? blockOffsets[i] != 0 : blockOffsets[i] < blockOffsets[i - 1]) {
+				throw new IOException("Corrupted block offset " + i + ": " + blockOffsets[i]);
+			}
+		}
+		byte[] data = new byte[blockOffsets[blockCount]];
+		in.readFully(data);
+		return new DeltaTimestampColumn(size, blockSize, blockFirstValues, blockOffsets, data);
+	}
+
+	/**
+	 * Rounds up without the overflow of (size + blockSize - 1) / blockSize for large blocks
+	 */
+	private static int blockCount(int size, int blockSize) {
+		return size / blockSize + (size % blockSize == 0 ? 0 : 1);
+	}
+
+	private static int writeVarLong(byte[] data, int position, long value) {
+		while ((value & ~0x7FL) != 0) {
+			data[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		data[position++] = (byte) value;
+		return position;
+	}
+}
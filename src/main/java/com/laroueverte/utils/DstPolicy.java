@@ -0,0 +1,17 @@
+package com.laroueverte.utils;
+
+/**
+ * How a local time that is not {@link LocalTimeStatus#UNIQUE} is converted to an instant
+ *
+ * @author la roue verte
+ */
+public enum DstPolicy {
+	/** Overlap : the earlier instant. Gap : shifted forward by the length of the gap. This is what java.time does */
+	EARLIER,
+	/** Overlap : the later instant. Gap : shifted forward by the length of the gap. This is what a lenient Calendar does */
+	LATER,
+	/** Overlap : the earlier instant. Gap : the instant at which the gap ends */
+	SHIFT,
+	/** Neither ambiguous nor nonexistent local times are converted */
+	REJECT
+}
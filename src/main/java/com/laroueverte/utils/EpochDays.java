@@ -0,0 +1,95 @@
+package com.laroueverte.utils;
+
+/**
+ * Pure arithmetic conversions between proleptic gregorian dates and epoch days (number of days since 1970-01-01). No Calendar nor object is involved so these
+ * methods can be used in hot loops
+ *
+ * @author la roue verte
+ */
+final class EpochDays {
+	static final long MILLIS_PER_DAY = 86_400_000L;
+
+	private EpochDays() {
+	}
+
+	/**
+	 *
+	 * @param year with 4 digits
+	 * @param month from 1 to 12
+	 * @param dayOfMonth from 1 to 31
+	 * @return the number of days since 1970-01-01
+	 */
+	static long of(int year, int month, int dayOfMonth) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * Decomposes an epoch day into a single int holding year, month and day of month. Use {@link #year(int)}, {@link #month(int)} and
+	 * {@link #dayOfMonth(int)} to read the fields
+	 *
+	 * @param epochDay is the number of days since 1970-01-01
+	 * @return the packed civil date
+	 */
+	static int toCivil(long epochDay) {
+		long z = epochDay + 719468;
+		long era = Math.floorDiv(z, 146097);
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long mp = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+		int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+		return year << 9 | month << 5 | day;
+	}
+
+	static int year(int civil) {
+		return civil >> 9;
+	}
+
+	static int month(int civil) {
+		return (civil >>> 5) & 0xF;
+	}
+
+	static int dayOfMonth(int civil) {
+		return civil & 0x1F;
+	}
+
+	/**
+	 *
+	 * @param epochDay is the number of days since 1970-01-01
+	 * @return 1 for Sunday, 2 for Monday, ... 7 for Saturday (same as {@link java.util.Calendar#DAY_OF_WEEK})
+	 */
+	static int dayOfWeek(long epochDay) {
+		return (int) Math.floorMod(epochDay + 4, 7L) + 1;
+	}
+
+	static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 *
+	 * @param year with 4 digits
+	 * @param month from 1 to 12
+	 * @return the number of days in the month
+	 */
+	static int lengthOfMonth(int year, int month) {
+		switch (month) {
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+}
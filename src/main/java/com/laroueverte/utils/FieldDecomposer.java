@@ -0,0 +1,16 @@
+package com.laroueverte.utils;
+
+/**
+ * Bulk decomposition of local times into field columns, behind {@link DateFieldColumns}. The scalar implementation runs everywhere, a SIMD one is loaded
+ * from the Java 17 layer of the multi-release jar when the Vector API is available
+ *
+ * @author la roue verte
+ */
+interface FieldDecomposer {
+	/**
+	 * Decomposes localMillis[from, to) into the field columns, localMillis[i] at index offset + i
+	 *
+	 * @param localMillis are local times, in milliseconds since 1970-01-01T00:00 local
+	 */
+	void decompose(long[] localMillis, int from, int to, int offset, int[] years, int[] months, int[] days, int[] hours, int[] daysOfWeek);
+}
@@ -0,0 +1,204 @@
+package com.laroueverte.utils;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/**
+ * Hand written ISO8601 parser accepting the same inputs as {@link DateBuilder#iso8601(String)} (2014-02-07T16:25, 2014-02-07T16:25:12.345,
+ * 2014-02-07T16:25+01:00, 2014-02-07T16:25Z ...) but reporting errors in a {@link DateParseResult} instead of throwing. Only 4 digits years are supported
+ *
+ * @author la roue verte
+ */
+final class Iso8601Parser {
+	static final String DIGIT_EXPECTED = "digit expected";
+	static final String SEPARATOR_EXPECTED = "separator expected";
+	static final String TOO_SHORT = "text too short";
+	static final String UNEXPECTED_TRAILING_TEXT = "unexpected trailing text";
+	static final String INVALID_MONTH = "invalid month";
+	static final String INVALID_DAY = "invalid day of month";
+	static final String INVALID_HOUR = "invalid hour";
+	static final String INVALID_MINUTE = "invalid minute";
+	static final String INVALID_SECOND = "invalid second";
+	static final String INVALID_OFFSET = "invalid offset";
+
+	private Iso8601Parser() {
+	}
+
+	/**
+	 * Parses text[start, end) as an ISO8601 local or offset date time
+	 *
+	 * @param text is the source text
+	 * @param start is the index of the first char to parse
+	 * @param end is the index after the last char to parse
+	 * @param result receives the time in milliseconds or the error
+	 * @return true on success
+	 */
+	static boolean parse(CharSequence text, int start, int end, DateParseResult result) {
+		return parse(text, start, end, null, result);
+	}
+
+	/**
+	 * Parses text[start, end) as an ISO8601 local or offset date time
+	 *
+	 * @param text is the source text
+	 * @param start is the index of the first char to parse
+	 * @param end is the index after the last char to parse
+	 * @param zone converts local date times, offset ones don't use it. Null for the default zone, looked up only for local date times
+	 * @param result receives the time in milliseconds or the error
+	 * @return true on success
+	 */
+	static boolean parse(CharSequence text, int start, int end, ZoneOffsetTable zone, DateParseResult result) {
+		if (end - start < 16) {
+			return result.failure(end, TOO_SHORT);
+		}
+		int pos = start;
+		int year = number(text, pos, 4);
+		if (year < 0) {
+			return digitExpected(text, pos, 4, result);
+		}
+		pos += 4;
+		if (text.charAt(pos) != '-') {
+			return result.failure(pos, SEPARATOR_EXPECTED);
+		}
+		pos++;
+		int month = number(text, pos, 2);
+		if (month < 0) {
+			return digitExpected(text, pos, 2, result);
+		}
+		if (month < 1 || month > 12) {
+			return result.failure(pos, INVALID_MONTH);
+		}
+		pos += 2;
+		if (text.charAt(pos) != '-') {
+			return result.failure(pos, SEPARATOR_EXPECTED);
+		}
+		pos++;
+		int day = number(text, pos, 2);
+		if (day < 0) {
+			return digitExpected(text, pos, 2, result);
+		}
+		if (day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+			return result.failure(pos, INVALID_DAY);
+		}
+		pos += 2;
+		char t = text.charAt(pos);
+		if (t != 'T' && t != 't') {
+			return result.failure(pos, SEPARATOR_EXPECTED);
+		}
+		pos++;
+		int hour = number(text, pos, 2);
+		if (hour < 0) {
+			return digitExpected(text, pos, 2, result);
+		}
+		if (hour > 23) {
+			return result.failure(pos, INVALID_HOUR);
+		}
+		pos += 2;
+		if (text.charAt(pos) != ':') {
+			return result.failure(pos, SEPARATOR_EXPECTED);
+		}
+		pos++;
+		int minute = number(text, pos, 2);
+		if (minute < 0) {
+			return digitExpected(text, pos, 2, result);
+		}
+		if (minute > 59) {
+			return result.failure(pos, INVALID_MINUTE);
+		}
+		pos += 2;
+		int second = 0;
+		int millisecond = 0;
+		if (pos < end && text.charAt(pos) == ':') {
+			pos++;
+			if (end - pos < 2) {
+				return result.failure(end, TOO_SHORT);
+			}
+			second = number(text, pos, 2);
+			if (second < 0) {
+				return digitExpected(text, pos, 2, result);
+			}
+			if (second > 59) {
+				return result.failure(pos, INVALID_SECOND);
+			}
+			pos += 2;
+			if (pos < end && text.charAt(pos) == '.') {
+				pos++;
+				int digits = 0;
+				while (pos < end && digits < 9 && isDigit(text.charAt(pos))) {
+					if (digits < 3) {
+						millisecond = millisecond * 10 + text.charAt(pos) - '0';
+					}
+					digits++;
+					pos++;
+				}
+				for (int i = digits; i < 3; i++) {
+					millisecond *= 10;
+				}
+			}
+		}
+		long secondOfDay = hour * 3600 + minute * 60 + second;
+		if (pos == end) {
+			long localMillis = (EpochDays.of(year, month, day) * 86400 + secondOfDay) * 1000 + millisecond;
+			ZoneOffsetTable table = zone == null ? ZoneOffsetTable.systemDefault() : zone;
+			if (table == null) {
+				// Custom default time zone, unknown to java.time : only the Calendar knows its offsets
+				Calendar calendar = new GregorianCalendar();
+				calendar.clear();
+				calendar.set(year, month - 1, day, hour, minute, second);
+				calendar.set(Calendar.MILLISECOND, millisecond);
+				return result.success(calendar.getTimeInMillis());
+			}
+			return result.success(table.toUtcMillis(localMillis));
+		}
+		int offsetSeconds;
+		char sign = text.charAt(pos);
+		if (sign == 'Z' && pos + 1 == end) {
+			offsetSeconds = 0;
+		} else if ((sign == '+' || sign == '-') && pos + 6 == end) {
+			int offsetHours = number(text, pos + 1, 2);
+			int offsetMinutes = number(text, pos + 4, 2);
+			if (offsetHours < 0 || offsetMinutes < 0 || text.charAt(pos + 3) != ':') {
+				return result.failure(pos, INVALID_OFFSET);
+			}
+			offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+			if (offsetMinutes > 59 || offsetSeconds > 18 * 3600) {
+				return result.failure(pos, INVALID_OFFSET);
+			}
+			if (sign == '-') {
+				offsetSeconds = -offsetSeconds;
+			}
+		} else {
+			return result.failure(pos, UNEXPECTED_TRAILING_TEXT);
+		}
+		long epochSecond = EpochDays.of(year, month, day) * 86400 + secondOfDay - offsetSeconds;
+		return result.success(epochSecond * 1000 + millisecond);
+	}
+
+	/**
+	 *
+	 * @return the value of the count digits starting at from, -1 if one of them is not a digit
+	 */
+	static int number(CharSequence text, int from, int count) {
+		int value = 0;
+		for (int i = from; i < from + count; i++) {
+			char c = text.charAt(i);
+			if (!isDigit(c)) {
+				return -1;
+			}
+			value = value * 10 + c - '0';
+		}
+		return value;
+	}
+
+	static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean digitExpected(CharSequence text, int from, int count, DateParseResult result) {
+		int index = from;
+		while (index < from + count && isDigit(text.charAt(index))) {
+			index++;
+		}
+		return result.failure(index, DIGIT_EXPECTED);
+	}
+}
@@ -0,0 +1,15 @@
+package com.laroueverte.utils;
+
+/**
+ * Classification of a local wall-clock time in a time zone with respect to daylight saving time changes
+ *
+ * @author la roue verte
+ */
+public enum LocalTimeStatus {
+	/** The local time happens exactly once */
+	UNIQUE,
+	/** The local time happens twice, during an overlap (like 2:30 on the winter DST day in Europe) */
+	AMBIGUOUS,
+	/** The local time never happens, it falls in a gap (like 2:30 on the summer DST day in Europe) */
+	NONEXISTENT
+}
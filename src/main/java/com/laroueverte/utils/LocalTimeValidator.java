@@ -0,0 +1,164 @@
+package com.laroueverte.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+
+/**
+ * Single pass validator of local wall-clock times (as milliseconds since 1970-01-01T00:00 local) : each value is classified as unique, ambiguous or
+ * nonexistent in the zone, and converted to an instant under a {@link DstPolicy}. It relies on the {@link ZoneOffsetTable} of the zone, so no object is
+ * allocated per value
+ *
+ * @author la roue verte
+ */
+public final class LocalTimeValidator {
+	/** Instant returned for the values rejected by {@link DstPolicy#REJECT} */
+	public static final long REJECTED = Long.MIN_VALUE;
+
+	private static final LocalTimeStatus[] STATUSES = LocalTimeStatus.values();
+
+	private final ZoneOffsetTable table;
+	private final DstPolicy policy;
+
+	/**
+	 *
+	 * @param zone is the zone of the local times
+	 * @param policy is how ambiguous and nonexistent local times are converted
+	 */
+	public LocalTimeValidator(ZoneId zone, DstPolicy policy) {
+		this.table = ZoneOffsetTable.forZone(zone);
+		this.policy = policy;
+	}
+
+	/**
+	 *
+	 * @param localMillis is a local time, in milliseconds since 1970-01-01T00:00 local
+	 * @return the status of this local time in the zone
+	 */
+	public LocalTimeStatus classify(long localMillis) {
+		return classify(table, localMillis);
+	}
+
+	/**
+	 *
+	 * @param localMillis is a local time, in milliseconds since 1970-01-01T00:00 local
+	 * @return the instant in milliseconds since EPOCH, according to the policy. {@link #REJECTED} if the policy rejects it
+	 */
+	public long resolve(long localMillis) {
+		if (!table.coversLocal(localMillis)) {
+			return resolveUsingRules(localMillis);
+		}
+		int transition = table.localTransitionIndex(localMillis);
+		if (transition < 0) {
+			return localMillis - table.offsetBefore(0);
+		}
+		int before = table.offsetBefore(transition);
+		int after = table.offsetAfter(transition);
+		if (localMillis >= table.transitionMillis(transition) + Math.max(before, after)) {
+			return localMillis - after;
+		}
+		return resolve(localMillis, before, after, table.transitionMillis(transition));
+	}
+
+	/**
+	 * Validates a whole column of local times, with one transition lookup per value. Sorted values benefit from the check of the previous transition
+	 *
+	 * @param localMillis are local times, in milliseconds since 1970-01-01T00:00 local
+	 * @param utcMillis receives the instants according to the policy ({@link #REJECTED} for rejected values). Can be null if only the classification is
+	 *        needed
+	 * @param statuses receives the {@link LocalTimeStatus} ordinal of each value. Can be null if only the conversion is needed
+	 * @return the number of values that are not {@link LocalTimeStatus#UNIQUE}
+	 */
+	public int validate(long[] localMillis, long[] utcMillis, byte[] statuses) {
+		int nonUnique = 0;
+		int transition = -1;
+		for (int i = 0; i < localMillis.length; i++) {
+			long local = localMillis[i];
+			LocalTimeStatus status;
+			long utc;
+			if (!table.coversLocal(local)) {
+				status = classify(table, local);
+				utc = utcMillis == null ? 0 : resolveUsingRules(local);
+			} else {
+				transition = table.localTransitionIndex(local, transition);
+				if (transition < 0) {
+					status = LocalTimeStatus.UNIQUE;
+					utc = local - table.offsetBefore(0);
+				} else {
+					int before = table.offsetBefore(transition);
+					int after = table.offsetAfter(transition);
+					long transitionMillis = table.transitionMillis(transition);
+					if (local >= transitionMillis + Math.max(before, after)) {
+						status = LocalTimeStatus.UNIQUE;
+						utc = local - after;
+					} else {
+						status = after > before ? LocalTimeStatus.NONEXISTENT : LocalTimeStatus.AMBIGUOUS;
+						utc = resolve(local, before, after, transitionMillis);
+					}
+				}
+			}
+			if (status != LocalTimeStatus.UNIQUE) {
+				nonUnique++;
+			}
+			if (statuses != null) {
+				statuses[i] = (byte) status.ordinal();
+			}
+			if (utcMillis != null) {
+				utcMillis[i] = utc;
+			}
+		}
+		return nonUnique;
+	}
+
+	/**
+	 *
+	 * @param ordinal is a value written by {@link #validate(long[], long[], byte[])} in the statuses
+	 * @return the matching status
+	 */
+	public static LocalTimeStatus status(byte ordinal) {
+		return STATUSES[ordinal];
+	}
+
+	static LocalTimeStatus classify(ZoneOffsetTable table, long localMillis) {
+		if (!table.coversLocal(localMillis)) {
+			ZoneOffsetTransition transition = table.getZone().getRules().getTransition(toLocalDateTime(localMillis));
+			return transition == null ? LocalTimeStatus.UNIQUE : transition.isGap() ? LocalTimeStatus.NONEXISTENT : LocalTimeStatus.AMBIGUOUS;
+		}
+		int transition = table.localTransitionIndex(localMillis);
+		if (transition < 0) {
+			return LocalTimeStatus.UNIQUE;
+		}
+		int before = table.offsetBefore(transition);
+		int after = table.offsetAfter(transition);
+		if (localMillis >= table.transitionMillis(transition) + Math.max(before, after)) {
+			return LocalTimeStatus.UNIQUE;
+		}
+		return after > before ? LocalTimeStatus.NONEXISTENT : LocalTimeStatus.AMBIGUOUS;
+	}
+
+	private long resolve(long localMillis, int before, int after, long transitionMillis) {
+		if (policy == DstPolicy.REJECT) {
+			return REJECTED;
+		}
+		if (after > before) {
+			// Gap
+			return policy == DstPolicy.SHIFT ? transitionMillis : localMillis - before;
+		}
+		// Overlap
+		return policy == DstPolicy.LATER ? localMillis - after : localMillis - before;
+	}
+
+	private long resolveUsingRules(long localMillis) {
+		ZoneOffsetTransition transition = table.getZone().getRules().getTransition(toLocalDateTime(localMillis));
+		if (transition == null) {
+			return table.toUtcMillisUsingRules(localMillis);
+		}
+		return resolve(localMillis, transition.getOffsetBefore().getTotalSeconds() * 1000, transition.getOffsetAfter().getTotalSeconds() * 1000,
+				transition.toEpochSecond() * 1000);
+	}
+
+	private static LocalDateTime toLocalDateTime(long localMillis) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L), (int) Math.floorMod(localMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,86 @@
+package com.laroueverte.utils;
+
+import java.util.Calendar;
+
+/**
+ * Immutable date constant remembering its common renderings, see {@link DateConstant#memoized()}.<br>
+ * Each rendering is computed on first use and kept in a plain field, without locking : threads racing on the first use may each compute the same String,
+ * which is harmless as Strings are immutable and safely published
+ *
+ * @author la roue verte
+ */
+final class MemoizedDateConstant extends DateConstant {
+	private final long timeInMillis;
+	private String isoFormat;
+	private String offsetDateTime;
+	private String localDateTime;
+	private String zuluTimeNoMillis;
+	private String frenchFormat;
+
+	MemoizedDateConstant(DateConstant date) {
+		super((Calendar) date.calendar.clone());
+		this.timeInMillis = calendar.getTimeInMillis();
+		// Computes the fields now, the source may have left them to compute on the first read, which would race between threads
+		calendar.setTimeInMillis(timeInMillis);
+	}
+
+	@Override
+	public DateConstant memoized() {
+		return this;
+	}
+
+	@Override
+	public long getTimeInMillis() {
+		return timeInMillis;
+	}
+
+	@Override
+	public String toISOFormat() {
+		String result = isoFormat;
+		if (result == null) {
+			result = super.toISOFormat();
+			isoFormat = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String toISO8601OffsetDateTime() {
+		String result = offsetDateTime;
+		if (result == null) {
+			result = super.toISO8601OffsetDateTime();
+			offsetDateTime = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String toISO8601LocalDateTime() {
+		String result = localDateTime;
+		if (result == null) {
+			result = super.toISO8601LocalDateTime();
+			localDateTime = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String toISO8601ZuluTimeNoMillis() {
+		String result = zuluTimeNoMillis;
+		if (result == null) {
+			result = super.toISO8601ZuluTimeNoMillis();
+			zuluTimeNoMillis = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String toFrenchFormat() {
+		String result = frenchFormat;
+		if (result == null) {
+			result = super.toFrenchFormat();
+			frenchFormat = result;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,99 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Renders the same instant in several time zones, for example for users spread around the world. The pattern is compiled once, and each zone keeps its
+ * cached {@link ZoneOffsetTable}, searched without allocation. Rendering in N zones is then N offset lookups plus the formatting.<br>
+ * Instances are immutable and can be shared between threads
+ *
+ * @author la roue verte
+ */
+public final class MultiZoneFormat {
+	private final CompiledDateFormat[] formats;
+
+	private MultiZoneFormat(CompiledDateFormat[] formats) {
+		this.formats = formats;
+	}
+
+	/**
+	 *
+	 * @param pattern is a SimpleDateFormat pattern supported by {@link CompiledDateFormat}
+	 * @param locale is the locale of day and month names
+	 * @param zones are the time zones in which dates are rendered, in the order of the results
+	 * @return the compiled format
+	 * @throws IllegalArgumentException if the pattern is invalid or uses an unsupported letter
+	 */
+	public static MultiZoneFormat compile(String pattern, Locale locale, ZoneId... zones) {
+		if (zones.length == 0) {
+			throw new IllegalArgumentException("At least one zone is needed");
+		}
+		CompiledDateFormat compiled = CompiledDateFormat.compile(pattern, locale, zones[0]);
+		CompiledDateFormat[] formats = new CompiledDateFormat[zones.length];
+		for (int i = 0; i < zones.length; i++) {
+			formats[i] = compiled.withZone(zones[i]);
+		}
+		return new MultiZoneFormat(formats);
+	}
+
+	/**
+	 *
+	 * @return the number of zones
+	 */
+	public int size() {
+		return formats.length;
+	}
+
+	/**
+	 *
+	 * @param index is the index of the zone, in the order given at compilation
+	 * @return the zone
+	 */
+	public ZoneId getZone(int index) {
+		return formats[index].getZone();
+	}
+
+	/**
+	 * Formats a time in one of the zones
+	 *
+	 * @param millis is the time to format, in milliseconds since EPOCH
+	 * @param index is the index of the zone
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder format(long millis, int index, StringBuilder destination) {
+		return formats[index].format(millis, destination);
+	}
+
+	/**
+	 * Formats a time in every zone, each destination receiving the rendering of the zone of same index
+	 *
+	 * @param millis is the time to format, in milliseconds since EPOCH
+	 * @param destinations receive the formatted dates, one per zone
+	 */
+	public void format(long millis, StringBuilder[] destinations) {
+		if (destinations.length != formats.length) {
+			throw new IllegalArgumentException("Expected " + formats.length + " destinations, got " + destinations.length);
+		}
+		for (int i = 0; i < formats.length; i++) {
+			formats[i].format(millis, destinations[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @param date is the date to format
+	 * @return the renderings of the date, one per zone
+	 */
+	public String[] format(DateConstant date) {
+		long millis = date.getTimeInMillis();
+		String[] result = new String[formats.length];
+		StringBuilder buffer = new StringBuilder(32);
+		for (int i = 0; i < formats.length; i++) {
+			buffer.setLength(0);
+			result[i] = formats[i].format(millis, buffer).toString();
+		}
+		return result;
+	}
+}
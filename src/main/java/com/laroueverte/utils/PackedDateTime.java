@@ -0,0 +1,200 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Local date time fields packed in a single long, sorting in the same order as the local date times :
+ * year (28 bits, signed) | month (4) | day (5) | hour (5) | minute (6) | second (6) | millisecond (10).<br>
+ * Fields are extracted with a shift and a mask, so packed values are cheap grouping and sorting keys for hot loops. Conversions from instants use the
+ * {@link ZoneOffsetTable} of the zone
+ *
+ * @author la roue verte
+ */
+public final class PackedDateTime {
+	private static final int MILLISECOND_SHIFT = 0;
+	private static final int SECOND_SHIFT = 10;
+	private static final int MINUTE_SHIFT = 16;
+	private static final int HOUR_SHIFT = 22;
+	private static final int DAY_SHIFT = 27;
+	private static final int MONTH_SHIFT = 32;
+	private static final int YEAR_SHIFT = 36;
+	private static final int MIN_YEAR = -(1 << 27);
+	private static final int MAX_YEAR = (1 << 27) - 1;
+
+	private PackedDateTime() {
+	}
+
+	/**
+	 *
+	 * @param year is the year, like 2024
+	 * @param month from 1 to 12
+	 * @param dayOfMonth from 1 to 31
+	 * @param hour from 0 to 23
+	 * @param minute from 0 to 59
+	 * @param second from 0 to 59
+	 * @param millisecond from 0 to 999
+	 * @return the packed date time
+	 * @throws IllegalArgumentException if a field is out of its range
+	 */
+	public static long of(int year, int month, int dayOfMonth, int hour, int minute, int second, int millisecond) {
+		if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > EpochDays.lengthOfMonth(year, month) || hour < 0
+				|| hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millisecond < 0 || millisecond > 999) {
+			throw new IllegalArgumentException(
+					"Invalid date time: " + year + "-" + month + "-" + dayOfMonth + " " + hour + ":" + minute + ":" + second + "." + millisecond);
+		}
+		return pack(year, month, dayOfMonth, hour, minute, second, millisecond);
+	}
+
+	/**
+	 *
+	 * @param date is any date
+	 * @return the packed local date time of the date, in its time zone
+	 */
+	public static long of(ReadableDate date) {
+		return fromMillis(date.getTimeInMillis(), date.getZone());
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @param zone is the time zone of the local fields
+	 * @return the packed local date time
+	 */
+	public static long fromMillis(long utcMillis, ZoneId zone) {
+		return fromLocalMillis(ZoneOffsetTable.forZone(zone).toLocalMillis(utcMillis));
+	}
+
+	/**
+	 * Bulk conversion of a column of instants
+	 *
+	 * @param utcMillis are times in milliseconds since EPOCH
+	 * @param packed receives the packed local date times, can be the same array as utcMillis
+	 * @param zone is the time zone of the local fields
+	 */
+	public static void fromMillis(long[] utcMillis, long[] packed, ZoneId zone) {
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		table.toLocalMillis(utcMillis, packed);
+		for (int i = 0; i < utcMillis.length; i++) {
+			packed[i] = fromLocalMillis(packed[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @param localMillis is a local time, in milliseconds since 1970-01-01T00:00 local
+	 * @return the packed local date time
+	 */
+	public static long fromLocalMillis(long localMillis) {
+		long epochDay = Math.floorDiv(localMillis, EpochDays.MILLIS_PER_DAY);
+		int millisOfDay = (int) (localMillis - epochDay * EpochDays.MILLIS_PER_DAY);
+		int civil = EpochDays.toCivil(epochDay);
+		return pack(EpochDays.year(civil), EpochDays.month(civil), EpochDays.dayOfMonth(civil), millisOfDay / 3_600_000, millisOfDay / 60_000 % 60,
+				millisOfDay / 1000 % 60, millisOfDay % 1000);
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return the local time, in milliseconds since 1970-01-01T00:00 local
+	 */
+	public static long toLocalMillis(long packed) {
+		long epochDay = EpochDays.of(year(packed), month(packed), dayOfMonth(packed));
+		return epochDay * EpochDays.MILLIS_PER_DAY + hour(packed) * 3_600_000L + minute(packed) * 60_000 + second(packed) * 1000 + millisecond(packed);
+	}
+
+	/**
+	 * Local times in a daylight saving gap or overlap are resolved as {@link DateBuilder#dateTime(int, int, int, int, int, int, int)} does : moved after the
+	 * gap, or at their later occurrence
+	 *
+	 * @param packed is a packed date time
+	 * @param zone is the time zone of the local fields
+	 * @return a new DateBuilder in this zone
+	 */
+	public static DateBuilder toDateBuilder(long packed, ZoneId zone) {
+		return DateBuilder.milliseconds(new LocalTimeValidator(zone, DstPolicy.LATER).resolve(toLocalMillis(packed)), zone);
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return a new DateBuilder in the default time zone
+	 */
+	public static DateBuilder toDateBuilder(long packed) {
+		return toDateBuilder(packed, ZoneId.systemDefault());
+	}
+
+	public static int year(long packed) {
+		return (int) (packed >> YEAR_SHIFT);
+	}
+
+	/**
+	 *
+	 * @return a value between 1 (january) and 12 (december)
+	 */
+	public static int month(long packed) {
+		return (int) (packed >>> MONTH_SHIFT) & 0xF;
+	}
+
+	public static int dayOfMonth(long packed) {
+		return (int) (packed >>> DAY_SHIFT) & 0x1F;
+	}
+
+	public static int hour(long packed) {
+		return (int) (packed >>> HOUR_SHIFT) & 0x1F;
+	}
+
+	public static int minute(long packed) {
+		return (int) (packed >>> MINUTE_SHIFT) & 0x3F;
+	}
+
+	public static int second(long packed) {
+		return (int) (packed >>> SECOND_SHIFT) & 0x3F;
+	}
+
+	public static int millisecond(long packed) {
+		return (int) (packed >>> MILLISECOND_SHIFT) & 0x3FF;
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return the packed date time at midnight of the same day, a grouping key per day
+	 */
+	public static long trimToDay(long packed) {
+		return packed & -(1L << DAY_SHIFT);
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return the packed date time at the start of the same hour, a grouping key per hour
+	 */
+	public static long trimToHour(long packed) {
+		return packed & -(1L << HOUR_SHIFT);
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return the packed date time at the first day of the same month, a grouping key per month
+	 */
+	public static long trimToMonth(long packed) {
+		return (packed & -(1L << MONTH_SHIFT)) | 1L << DAY_SHIFT;
+	}
+
+	/**
+	 *
+	 * @param packed is a packed date time
+	 * @return the local date time as yyyy-MM-ddTHH:mm:ss.SSS
+	 */
+	public static String toString(long packed) {
+		return String.format(Locale.ROOT, "%04d-%02d-%02dT%02d:%02d:%02d.%03d", year(packed), month(packed), dayOfMonth(packed), hour(packed), minute(packed),
+				second(packed), millisecond(packed));
+	}
+
+	private static long pack(int year, int month, int dayOfMonth, int hour, int minute, int second, int millisecond) {
+		return (long) year << YEAR_SHIFT | (long) month << MONTH_SHIFT | (long) dayOfMonth << DAY_SHIFT | hour << HOUR_SHIFT | minute << MINUTE_SHIFT
+				| second << SECOND_SHIFT | millisecond;
+	}
+}
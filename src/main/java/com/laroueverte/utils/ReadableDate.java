@@ -0,0 +1,92 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * The read side of a date : its instant, its local fields in its time zone, simple tests and ISO renderings. Implemented by {@link DateConstant} and by
+ * flyweight views like {@link TimestampCursor}, that expose the same reads without any Calendar
+ *
+ * @author la roue verte
+ */
+public interface ReadableDate {
+	/**
+	 *
+	 * @return the time in milliseconds (since epoch)
+	 */
+	long getTimeInMillis();
+
+	/**
+	 *
+	 * @return the time zone of the local fields
+	 */
+	ZoneId getZone();
+
+	int getYear();
+
+	/**
+	 *
+	 * @return a value between 1 (january) and 12 (december)
+	 */
+	int getHumanMonth();
+
+	/**
+	 *
+	 * @return a value between 1 and 31
+	 */
+	int getDayOfMonth();
+
+	/**
+	 *
+	 * @return 1 for Sunday, 2 for Monday, ... 7 for Saturday
+	 */
+	int getDayOfWeek();
+
+	int getHour();
+
+	int getMinute();
+
+	int getSecond();
+
+	int getMillisecond();
+
+	/**
+	 *
+	 * @return true if the date is weekday, false if the date is Saturday or Sunday
+	 */
+	boolean isWeekDay();
+
+	/**
+	 *
+	 * @return true if the date is before 12:00:00
+	 */
+	boolean isMorning();
+
+	/**
+	 *
+	 * @param start inclusive
+	 * @param end inclusive
+	 * @return true if the date is between start and end
+	 */
+	boolean isBetween(Date start, Date end);
+
+	/**
+	 *
+	 * @return date formated as YYYY-MM-DD
+	 */
+	String toISOFormat();
+
+	/**
+	 * Produces a String in ISO8601 format as a local datetime, no time zone like 2014-02-07T16:25
+	 *
+	 * @return the formatted date
+	 */
+	String toISO8601LocalDateTime();
+
+	/**
+	 * Produces a String in ISO8601 format as an offset datetime, with time zone like 2014-02-07T16:25+01:00
+	 *
+	 * @return the formatted date
+	 */
+	String toISO8601OffsetDateTime();
+}
@@ -0,0 +1,22 @@
+package com.laroueverte.utils;
+
+/**
+ * Portable {@link FieldDecomposer}, with the {@link EpochDays} arithmetic
+ *
+ * @author la roue verte
+ */
+final class ScalarFieldDecomposer implements FieldDecomposer {
+	@Override
+	public void decompose(long[] localMillis, int from, int to, int offset, int[] years, int[] months, int[] days, int[] hours, int[] daysOfWeek) {
+		for (int i = from; i < to; i++) {
+			long epochDay = Math.floorDiv(localMillis[i], EpochDays.MILLIS_PER_DAY);
+			int civil = EpochDays.toCivil(epochDay);
+			int column = offset + i;
+			years[column] = EpochDays.year(civil);
+			months[column] = EpochDays.month(civil);
+			days[column] = EpochDays.dayOfMonth(civil);
+			hours[column] = (int) ((localMillis[i] - epochDay * EpochDays.MILLIS_PER_DAY) / 3_600_000);
+			daysOfWeek[column] = EpochDays.dayOfWeek(epochDay);
+		}
+	}
+}
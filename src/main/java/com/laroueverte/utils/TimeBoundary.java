@@ -0,0 +1,105 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * Local time boundaries matching the trimTo* methods of {@link DateBuilder} : the start of each second, minute, hour, day, month or year in a time zone.
+ * Boundaries are computed from the local time, so days shortened or lengthened by daylight saving changes are honored. When a boundary falls in a gap the
+ * first instant after the gap is used. In an overlap, seconds, minutes and hours start at each aligned local time, so the repeated ones are boundaries
+ * twice, while only the first occurrence of the start of a day, month or year is a boundary
+ *
+ * @author la roue verte
+ */
+public enum TimeBoundary {
+	SECOND(1000), MINUTE(60_000), HOUR(3_600_000), DAY(0), MONTH(0), YEAR(0);
+
+	/** Length of the unit in local time, 0 for the calendar units */
+	private final long localMillis;
+
+	TimeBoundary(long localMillis) {
+		this.localMillis = localMillis;
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @param zone is the zone of the boundaries
+	 * @return the first boundary strictly after utcMillis, in milliseconds since EPOCH
+	 */
+	public long next(long utcMillis, ZoneId zone) {
+		return next(utcMillis, ZoneOffsetTable.forZone(zone));
+	}
+
+	/**
+	 *
+	 * @param date is any date
+	 * @return the first boundary strictly after the date, in the time zone of the date
+	 */
+	public DateBuilder next(DateConstant date) {
+		TimeZone timeZone = date.calendar.getTimeZone();
+		ZoneOffsetTable table = ZoneOffsetTable.forTimeZone(timeZone);
+		if (table == null) {
+			return nextUsingCalendar(date);
+		}
+		DateBuilder result = DateBuilder.milliseconds(next(date.getTimeInMillis(), table));
+		result.calendar.setTimeZone(timeZone);
+		return result;
+	}
+
+	/**
+	 * For the custom time zones, unknown to java.time : trims the date with its Calendar, then adds one unit
+	 */
+	private DateBuilder nextUsingCalendar(DateConstant date) {
+		DateBuilder result = date.builder();
+		switch (this) {
+		case SECOND:
+			return result.trimToSecond().addSeconds(1);
+		case MINUTE:
+			return result.trimToMinute().addMinutes(1);
+		case HOUR:
+			return result.trimToHour().addHours(1);
+		case DAY:
+			return result.trimToDay().addDays(1);
+		case MONTH:
+			return result.trimToMonth().addMonth(1);
+		default:
+			return result.trimToYear().addYear(1);
+		}
+	}
+
+	long next(long utcMillis, ZoneOffsetTable table) {
+		if (localMillis > 0) {
+			// Move to the next aligned local time, again if a transition in between broke the alignment
+			long candidate = utcMillis;
+			do {
+				candidate += localMillis - Math.floorMod(table.toLocalMillis(candidate), localMillis);
+			} while (Math.floorMod(table.toLocalMillis(candidate), localMillis) != 0);
+			return candidate;
+		}
+		LocalTimeValidator validator = new LocalTimeValidator(table.getZone(), DstPolicy.SHIFT);
+		int civil = EpochDays.toCivil(Math.floorDiv(table.toLocalMillis(utcMillis), EpochDays.MILLIS_PER_DAY));
+		int year = EpochDays.year(civil);
+		int month = EpochDays.month(civil);
+		int day = EpochDays.dayOfMonth(civil);
+		long candidate;
+		do {
+			if (this == DAY) {
+				day++;
+				if (day > EpochDays.lengthOfMonth(year, month)) {
+					day = 1;
+					month++;
+				}
+			} else {
+				day = 1;
+				month = this == MONTH ? month + 1 : 13;
+			}
+			if (month > 12) {
+				month = 1;
+				year++;
+			}
+			candidate = validator.resolve(EpochDays.of(year, month, day) * EpochDays.MILLIS_PER_DAY);
+		} while (candidate <= utcMillis);
+		return candidate;
+	}
+}
@@ -0,0 +1,277 @@
+package com.laroueverte.utils;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time of day as an int number of milliseconds since midnight, from 0 to 86399999, instead of a date on 1970-01-01 as {@link DateBuilder#time(int, int, int)}
+ * returns : time of day values sort and compare as ints, and a timetable of millions of them is a plain int array.<br>
+ * Arithmetic wraps around midnight. {@link #combine(long, int, ZoneId)} turns a local day and a time of day into an instant, resolving daylight saving
+ * gaps and overlaps as {@link DateBuilder#dateTime(int, int, int, int, int)} does
+ *
+ * @author la roue verte
+ */
+public final class TimeOfDay {
+	public static final int MILLIS_PER_DAY = (int) EpochDays.MILLIS_PER_DAY;
+	public static final int MIDNIGHT = 0;
+	public static final int NOON = 12 * 3_600_000;
+	static final String INVALID_TIME = "invalid time of day";
+
+	/** {@link DstPolicy#LATER} validators by zone ID, immutable so shared by every thread */
+	private static final Map<String, LocalTimeValidator> VALIDATORS = new ConcurrentHashMap<>();
+
+	private TimeOfDay() {
+	}
+
+	/**
+	 *
+	 * @param hour from 0 to 23
+	 * @param minute from 0 to 59
+	 * @param second from 0 to 59
+	 * @return the time of day
+	 * @throws IllegalArgumentException if a field is out of its range
+	 */
+	public static int of(int hour, int minute, int second) {
+		return of(hour, minute, second, 0);
+	}
+
+	/**
+	 *
+	 * @param hour from 0 to 23
+	 * @param minute from 0 to 59
+	 * @param second from 0 to 59
+	 * @param millisecond from 0 to 999
+	 * @return the time of day
+	 * @throws IllegalArgumentException if a field is out of its range
+	 */
+	public static int of(int hour, int minute, int second, int millisecond) {
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millisecond < 0 || millisecond > 999) {
+			throw new IllegalArgumentException("Invalid time of day: " + hour + ":" + minute + ":" + second + "." + millisecond);
+		}
+		return ((hour * 60 + minute) * 60 + second) * 1000 + millisecond;
+	}
+
+	/**
+	 *
+	 * @param date is any date
+	 * @return the local time of day of the date, in its time zone
+	 */
+	public static int of(ReadableDate date) {
+		return fromMillis(date.getTimeInMillis(), date.getZone());
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @param zone is the time zone of the local time
+	 * @return the local time of day
+	 */
+	public static int fromMillis(long utcMillis, ZoneId zone) {
+		return fromLocalMillis(ZoneOffsetTable.forZone(zone).toLocalMillis(utcMillis));
+	}
+
+	/**
+	 *
+	 * @param localMillis is a local time, in milliseconds since 1970-01-01T00:00 local
+	 * @return the time of day
+	 */
+	public static int fromLocalMillis(long localMillis) {
+		return (int) Math.floorMod(localMillis, EpochDays.MILLIS_PER_DAY);
+	}
+
+	/**
+	 *
+	 * @param epochDay is a local day, as a number of days since 1970-01-01
+	 * @param time is a time of day
+	 * @param zone is the time zone of the local date time
+	 * @return the instant in milliseconds since EPOCH, after the gap for a time skipped by a daylight saving change, the later one for a repeated time
+	 */
+	public static long combine(long epochDay, int time, ZoneId zone) {
+		return validator(zone).resolve(epochDay * EpochDays.MILLIS_PER_DAY + time);
+	}
+
+	static LocalTimeValidator validator(ZoneId zone) {
+		LocalTimeValidator validator = VALIDATORS.get(zone.getId());
+		if (validator == null) {
+			validator = VALIDATORS.computeIfAbsent(zone.getId(), id -> new LocalTimeValidator(zone, DstPolicy.LATER));
+		}
+		return validator;
+	}
+
+	/**
+	 *
+	 * @param day is any date
+	 * @param time is a time of day
+	 * @return a new DateBuilder at this time, on the local day of the date, in its time zone
+	 */
+	public static DateBuilder combine(ReadableDate day, int time) {
+		ZoneId zone = day.getZone();
+		long epochDay = Math.floorDiv(ZoneOffsetTable.forZone(zone).toLocalMillis(day.getTimeInMillis()), EpochDays.MILLIS_PER_DAY);
+		return DateBuilder.milliseconds(combine(epochDay, time, zone), zone);
+	}
+
+	public static int hour(int time) {
+		return time / 3_600_000;
+	}
+
+	public static int minute(int time) {
+		return time / 60_000 % 60;
+	}
+
+	public static int second(int time) {
+		return time / 1000 % 60;
+	}
+
+	public static int millisecond(int time) {
+		return time % 1000;
+	}
+
+	/**
+	 *
+	 * @param time is a time of day
+	 * @param millis is a number of milliseconds, can be negative
+	 * @return the time of day after these milliseconds, wrapping around midnight
+	 */
+	public static int plusMillis(int time, long millis) {
+		return (int) Math.floorMod(time + millis, EpochDays.MILLIS_PER_DAY);
+	}
+
+	/**
+	 *
+	 * @param time is a time of day
+	 * @param minutes is a number of minutes, can be negative
+	 * @return the time of day after these minutes, wrapping around midnight
+	 */
+	public static int plusMinutes(int time, long minutes) {
+		return plusMillis(time, Math.floorMod(minutes, 1440L) * 60_000);
+	}
+
+	/**
+	 *
+	 * @param from is a time of day
+	 * @param to is another time of day
+	 * @return the milliseconds from the first to the next occurrence of the second, wrapping around midnight, from 0 to 86399999
+	 */
+	public static int until(int from, int to) {
+		return Math.floorMod(to - from, MILLIS_PER_DAY);
+	}
+
+	/**
+	 *
+	 * @param a is a time of day
+	 * @param b is another time of day
+	 * @return the shortest distance in milliseconds between the times, forward or backward across midnight, from 0 to 43200000
+	 */
+	public static int distance(int a, int b) {
+		int forward = until(a, b);
+		return Math.min(forward, MILLIS_PER_DAY - forward);
+	}
+
+	/**
+	 *
+	 * @param text is a time as HH:mm or HH:mm:ss
+	 * @return the time of day
+	 * @throws ParseException if the text is not a valid time
+	 */
+	public static int parse(CharSequence text) throws ParseException {
+		DateParseResult result = new DateParseResult();
+		if (!tryParse(text, result)) {
+			throw new ParseException("Unparseable time: \"" + text + "\" (" + result.getReason() + ")", result.getErrorIndex());
+		}
+		return (int) result.getTimeInMillis();
+	}
+
+	/**
+	 * Non throwing {@link #parse(CharSequence)}
+	 *
+	 * @param text is a time as HH:mm or HH:mm:ss
+	 * @param result receives the time of day, as its time in milliseconds, or the error index and reason
+	 * @return true if the text could be parsed
+	 */
+	public static boolean tryParse(CharSequence text, DateParseResult result) {
+		if (text == null) {
+			return result.failure(0, DateBuilder.NULL_INPUT);
+		}
+		int length = text.length();
+		if (length != 5 && length != 8) {
+			return result.failure(Math.min(length, 5), length < 5 ? Iso8601Parser.TOO_SHORT : Iso8601Parser.UNEXPECTED_TRAILING_TEXT);
+		}
+		int hour = Iso8601Parser.number(text, 0, 2);
+		if (hour < 0) {
+			return result.failure(0, Iso8601Parser.DIGIT_EXPECTED);
+		}
+		if (text.charAt(2) != ':') {
+			return result.failure(2, Iso8601Parser.SEPARATOR_EXPECTED);
+		}
+		int minute = Iso8601Parser.number(text, 3, 2);
+		if (minute < 0) {
+			return result.failure(3, Iso8601Parser.DIGIT_EXPECTED);
+		}
+		int second = 0;
+		if (length == 8) {
+			if (text.charAt(5) != ':') {
+				return result.failure(5, Iso8601Parser.SEPARATOR_EXPECTED);
+			}
+			second = Iso8601Parser.number(text, 6, 2);
+			if (second < 0) {
+				return result.failure(6, Iso8601Parser.DIGIT_EXPECTED);
+			}
+		}
+		if (hour > 23) {
+			return result.failure(0, Iso8601Parser.INVALID_HOUR);
+		}
+		if (minute > 59) {
+			return result.failure(3, Iso8601Parser.INVALID_MINUTE);
+		}
+		if (second > 59) {
+			return result.failure(6, Iso8601Parser.INVALID_SECOND);
+		}
+		return result.success(((hour * 60 + minute) * 60 + second) * 1000);
+	}
+
+	/**
+	 * Appends HH:mm:ss, followed by .SSS if there are milliseconds
+	 *
+	 * @param time is a time of day
+	 * @param builder receives the formatted time
+	 * @return the builder
+	 */
+	public static StringBuilder appendTo(int time, StringBuilder builder) {
+		appendHourMinuteTo(time, builder).append(':');
+		appendTwoDigits(second(time), builder);
+		int millisecond = millisecond(time);
+		if (millisecond != 0) {
+			builder.append('.').append((char) ('0' + millisecond / 100)).append((char) ('0' + millisecond / 10 % 10)).append((char) ('0' + millisecond % 10));
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends HH:mm
+	 *
+	 * @param time is a time of day
+	 * @param builder receives the formatted time
+	 * @return the builder
+	 */
+	public static StringBuilder appendHourMinuteTo(int time, StringBuilder builder) {
+		appendTwoDigits(hour(time), builder);
+		builder.append(':');
+		appendTwoDigits(minute(time), builder);
+		return builder;
+	}
+
+	/**
+	 *
+	 * @param time is a time of day
+	 * @return the time as HH:mm:ss, followed by .SSS if there are milliseconds
+	 */
+	public static String toString(int time) {
+		return appendTo(time, new StringBuilder(12)).toString();
+	}
+
+	private static void appendTwoDigits(int value, StringBuilder builder) {
+		builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+}
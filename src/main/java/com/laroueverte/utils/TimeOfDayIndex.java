@@ -0,0 +1,230 @@
+package com.laroueverte.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable index of {@link TimeOfDay} values with their days of week, answering "around 08:00 ± 15 minutes on a Monday" with the indexes of the matching
+ * values. Windows cross midnight into the neighbouring days : 23:50 ± 15 minutes on a Monday matches 00:02 on Tuesday, and 00:05 ± 15 minutes on a Tuesday
+ * matches 23:55 on Monday. Without a day of week, windows wrap around midnight : 23:50 ± 15 minutes matches 00:02 of any day.<br>
+ * Values are sorted by time in one list per day of week, and in one list for any day, with the offset of each minute in the list : a query jumps to the
+ * minutes of the window bounds, so it costs the number of matches rather than the number of values.<br>
+ * Days of week follow {@link DateConstant#getDayOfWeek()} : 1 for Sunday to 7 for Saturday. A value runs on a mask of days, bit (dayOfWeek - 1)
+ *
+ * @author la roue verte
+ */
+public final class TimeOfDayIndex {
+	/** Mask of all the days of week */
+	public static final int ALL_DAYS = 0x7F;
+	private static final int BUCKET_MILLIS = 60_000;
+	private static final int BUCKETS = TimeOfDay.MILLIS_PER_DAY / BUCKET_MILLIS;
+	private static final int ANY_DAY = 7;
+
+	/** Per day of week then any day : offset in times and ids of the first value of each minute */
+	private final int[][] offsets = new int[8][];
+	private final int[][] times = new int[8][];
+	private final int[][] ids = new int[8][];
+	private final int size;
+
+	private TimeOfDayIndex(int[] timesOfDay, int[] weekdayMasks) {
+		this.size = timesOfDay.length;
+		for (int list = 0; list <= ANY_DAY; list++) {
+			int bit = list == ANY_DAY ? ALL_DAYS : 1 << list;
+			long[] entries = new long[size];
+			int n = 0;
+			for (int id = 0; id < size; id++) {
+				if ((weekdayMasks[id] & bit) != 0) {
+					entries[n++] = (long) timesOfDay[id] << 32 | id;
+				}
+			}
+			Arrays.sort(entries, 0, n);
+			int[] listTimes = new int[n];
+			int[] listIds = new int[n];
+			int[] listOffsets = new int[BUCKETS + 1];
+			for (int i = 0; i < n; i++) {
+				listTimes[i] = (int) (entries[i] >>> 32);
+				listIds[i] = (int) entries[i];
+				listOffsets[listTimes[i] / BUCKET_MILLIS + 1]++;
+			}
+			for (int bucket = 0; bucket < BUCKETS; bucket++) {
+				listOffsets[bucket + 1] += listOffsets[bucket];
+			}
+			offsets[list] = listOffsets;
+			times[list] = listTimes;
+			ids[list] = listIds;
+		}
+	}
+
+	/**
+	 *
+	 * @param timesOfDay are {@link TimeOfDay} values, identified by their index in the array
+	 * @param weekdayMasks are the days of week of each value, see {@link #weekdays(int...)}
+	 * @return a new index
+	 */
+	public static TimeOfDayIndex of(int[] timesOfDay, int[] weekdayMasks) {
+		if (timesOfDay.length != weekdayMasks.length) {
+			throw new IllegalArgumentException("Columns of different lengths: " + timesOfDay.length + ", " + weekdayMasks.length);
+		}
+		for (int time : timesOfDay) {
+			if (time < 0 || time >= TimeOfDay.MILLIS_PER_DAY) {
+				throw new IllegalArgumentException("Invalid time of day: " + time);
+			}
+		}
+		return new TimeOfDayIndex(timesOfDay, weekdayMasks);
+	}
+
+	/**
+	 *
+	 * @param dates are dates, identified by their index in iteration order
+	 * @return a new index of the local time of day of each date, on its own day of week
+	 */
+	public static TimeOfDayIndex of(Collection<? extends ReadableDate> dates) {
+		int[] timesOfDay = new int[dates.size()];
+		int[] weekdayMasks = new int[dates.size()];
+		int i = 0;
+		for (ReadableDate date : dates) {
+			timesOfDay[i] = TimeOfDay.of(date);
+			weekdayMasks[i++] = weekdays(date.getDayOfWeek());
+		}
+		return new TimeOfDayIndex(timesOfDay, weekdayMasks);
+	}
+
+	/**
+	 *
+	 * @param daysOfWeek are days of week, from 1 for Sunday to 7 for Saturday
+	 * @return the mask of these days
+	 */
+	public static int weekdays(int... daysOfWeek) {
+		int mask = 0;
+		for (int dayOfWeek : daysOfWeek) {
+			mask |= 1 << checkDayOfWeek(dayOfWeek);
+		}
+		return mask;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 *
+	 * @param time is the requested {@link TimeOfDay}
+	 * @param toleranceMillis is the maximum distance to the requested time, included
+	 * @param dayOfWeek is the requested day of week, from 1 for Sunday to 7 for Saturday
+	 * @param action receives the index of each value of this day, or of the previous or next day past midnight, within the window, in increasing time order
+	 *        from the start of the window, once per day it runs on within the window
+	 */
+	public void forEach(int time, int toleranceMillis, int dayOfWeek, IntConsumer action) {
+		scan(checkDayOfWeek(dayOfWeek), time, toleranceMillis, action);
+	}
+
+	/**
+	 *
+	 * @param time is the requested {@link TimeOfDay}
+	 * @param toleranceMillis is the maximum distance to the requested time, included
+	 * @param action receives the index of each value within the window, whatever its days, in increasing time order from the start of the window
+	 */
+	public void forEach(int time, int toleranceMillis, IntConsumer action) {
+		scan(ANY_DAY, time, toleranceMillis, action);
+	}
+
+	/**
+	 *
+	 * @param time is the requested {@link TimeOfDay}
+	 * @param toleranceMillis is the maximum distance to the requested time, included
+	 * @param dayOfWeek is the requested day of week, from 1 for Sunday to 7 for Saturday
+	 * @return the number of values of this day, or of the previous or next day past midnight, within the window, as {@link #forEach(int, int, int, IntConsumer)}
+	 *         counts them
+	 */
+	public int count(int time, int toleranceMillis, int dayOfWeek) {
+		return scan(checkDayOfWeek(dayOfWeek), time, toleranceMillis, null);
+	}
+
+	/**
+	 * Day of week lists take the parts of the window before and after midnight from the lists of the previous and next days, the any day list wraps them
+	 * around its own midnight
+	 *
+	 * @param action receives the matches, can be null to count them only
+	 * @return the number of matches
+	 */
+	private int scan(int list, int time, int toleranceMillis, IntConsumer action) {
+		if (time < 0 || time >= TimeOfDay.MILLIS_PER_DAY || toleranceMillis < 0) {
+			throw new IllegalArgumentException("Invalid time of day " + time + " or tolerance " + toleranceMillis);
+		}
+		long day = TimeOfDay.MILLIS_PER_DAY;
+		long from = (long) time - toleranceMillis;
+		long to = (long) time + toleranceMillis;
+		if (list == ANY_DAY) {
+			if (to - from >= day - 1) {
+				return range(list, 0, day - 1, action);
+			}
+			if (from < 0) {
+				return range(list, from + day, day - 1, action) + range(list, 0, to, action);
+			}
+			if (to >= day) {
+				return range(list, from, day - 1, action) + range(list, 0, to - day, action);
+			}
+			return range(list, from, to, action);
+		}
+		int count = 0;
+		for (long shift = Math.floorDiv(from, day); shift <= Math.floorDiv(to, day); shift++) {
+			long start = shift * day;
+			count += range((int) Math.floorMod(list + shift, 7L), Math.max(from, start) - start, Math.min(to, start + day - 1) - start, action);
+		}
+		return count;
+	}
+
+	/**
+	 *
+	 * @param from is the first time of day of the range, included
+	 * @param to is the last time of day of the range, included
+	 * @return the number of values of the list in the range
+	 */
+	private int range(int list, long from, long to, IntConsumer action) {
+		int start = lowerBound(list, (int) from);
+		int end = lowerBound(list, (int) to + 1);
+		if (action != null) {
+			int[] listIds = ids[list];
+			for (int i = start; i < end; i++) {
+				action.accept(listIds[i]);
+			}
+		}
+		return end - start;
+	}
+
+	/**
+	 *
+	 * @return the index in the list of the first value at or after the time
+	 */
+	private int lowerBound(int list, int time) {
+		if (time >= TimeOfDay.MILLIS_PER_DAY) {
+			return times[list].length;
+		}
+		int[] listTimes = times[list];
+		int bucket = time / BUCKET_MILLIS;
+		int low = offsets[list][bucket];
+		int high = offsets[list][bucket + 1];
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (listTimes[middle] < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int checkDayOfWeek(int dayOfWeek) {
+		if (dayOfWeek < 1 || dayOfWeek > 7) {
+			throw new IllegalArgumentException("Invalid day of week: " + dayOfWeek);
+		}
+		return dayOfWeek - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "TimeOfDayIndex[" + size + " values]";
+	}
+}
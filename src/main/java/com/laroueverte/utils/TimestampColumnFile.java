@@ -0,0 +1,349 @@
+package com.laroueverte.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Append-only column of timestamps (epoch milliseconds) stored in a memory mapped file, so that billions of values can be queried without being on the
+ * heap. Values are little endian longs after a 16 bytes header (magic, flags, count), mapped by segments of 2^27 values (1 GiB).<br>
+ * Values are read through a {@link TimestampCursor}, a flyweight {@link ReadableDate} over the current slot. A column appended in ascending order is known as
+ * sorted and supports binary searched ranges.<br>
+ * Appends must come from a single thread; cursors created after an append see it, and can be used concurrently by other threads
+ *
+ * @author la roue verte
+ */
+public final class TimestampColumnFile implements Closeable {
+	private static final int MAGIC = 0x44425443;
+	private static final int HEADER_BYTES = 16;
+	private static final int FLAG_UNSORTED = 1;
+	private static final int SEGMENT_SHIFT = 27;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+	private static final long MIN_SEGMENT_CAPACITY = 1024;
+
+	private final FileChannel channel;
+	private final boolean readOnly;
+	private final MappedByteBuffer header;
+	private MappedByteBuffer[] segments;
+	private volatile long size;
+	private volatile boolean sorted;
+	private long last;
+
+	private TimestampColumnFile(FileChannel channel, boolean readOnly) throws IOException {
+		this.channel = channel;
+		this.readOnly = readOnly;
+		if (channel.size() == 0) {
+			if (readOnly) {
+				throw new IOException("Empty timestamp column file");
+			}
+			header = map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+			header.putInt(0, MAGIC);
+			header.putInt(4, 0);
+			header.putLong(8, 0);
+		} else {
+			if (channel.size() < HEADER_BYTES) {
+				throw new IOException("Not a timestamp column file");
+			}
+			header = map(readOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, 0, HEADER_BYTES);
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a timestamp column file");
+			}
+		}
+		long count = header.getLong(8);
+		if (count < 0 || HEADER_BYTES + count * 8 > channel.size()) {
+			throw new IOException("Corrupted timestamp column file, count " + count);
+		}
+		segments = new MappedByteBuffer[0];
+		if (count > 0) {
+			ensureCapacity(count);
+			last = get(count - 1);
+		}
+		size = count;
+		sorted = (header.getInt(4) & FLAG_UNSORTED) == 0;
+	}
+
+	/**
+	 * Opens a column for reading and appending, creating the file if needed
+	 *
+	 * @param path is the column file
+	 * @return the opened column
+	 * @throws IOException if the file can't be opened or is not a column file
+	 */
+	public static TimestampColumnFile open(Path path) throws IOException {
+		return new TimestampColumnFile(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE), false);
+	}
+
+	/**
+	 * Opens an existing column for reading only
+	 *
+	 * @param path is the column file
+	 * @return the opened column
+	 * @throws IOException if the file can't be opened or is not a column file
+	 */
+	public static TimestampColumnFile openReadOnly(Path path) throws IOException {
+		return new TimestampColumnFile(FileChannel.open(path, StandardOpenOption.READ), true);
+	}
+
+	/**
+	 *
+	 * @return the number of timestamps
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 *
+	 * @return true if the values were appended in ascending order
+	 */
+	public boolean isSorted() {
+		return sorted;
+	}
+
+	/**
+	 *
+	 * @param index is the index of the value
+	 * @return the timestamp, in milliseconds since EPOCH
+	 */
+	public long get(long index) {
+		return segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) << 3);
+	}
+
+	/**
+	 * Appends a timestamp
+	 *
+	 * @param date is the date to append
+	 */
+	public void append(ReadableDate date) {
+		append(date.getTimeInMillis());
+	}
+
+	/**
+	 * Appends a timestamp
+	 *
+	 * @param millis is the time to append, in milliseconds since EPOCH
+	 */
+	public void append(long millis) {
+		checkWritable();
+		long index = size;
+		ensureCapacity(index + 1);
+		put(index, millis);
+		publish(index + 1);
+	}
+
+	/**
+	 * Appends many timestamps at once
+	 *
+	 * @param values are the times to append, in milliseconds since EPOCH
+	 * @param from is the first index to append (inclusive)
+	 * @param to is the last index to append (exclusive)
+	 */
+	public void append(long[] values, int from, int to) {
+		checkWritable();
+		long index = size;
+		ensureCapacity(index + to - from);
+		for (int i = from; i < to; i++) {
+			put(index++, values[i]);
+		}
+		publish(index);
+	}
+
+	/**
+	 * Flushes the appended values to the storage device
+	 */
+	public void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+		header.force();
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the local fields
+	 * @return a cursor over all the values, before the first one
+	 */
+	public TimestampCursor cursor(ZoneId zone) {
+		return new TimestampCursor(this, zone, 0, size);
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone of the local fields
+	 * @param from is the index of the first value (inclusive)
+	 * @param to is the index of the last value (exclusive)
+	 * @return a cursor over the values, before the first one
+	 */
+	public TimestampCursor cursor(ZoneId zone, long from, long to) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of [0, " + size + ")");
+		}
+		return new TimestampCursor(this, zone, from, to);
+	}
+
+	/**
+	 * Binary search in a sorted column
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 * @return the index of the first value at or after millis, {@link #size()} if none
+	 * @throws IllegalStateException if the column is not sorted
+	 */
+	public long lowerBound(long millis) {
+		if (!sorted) {
+			throw new IllegalStateException("Timestamp column is not sorted");
+		}
+		long low = 0;
+		long high = size;
+		while (low < high) {
+			long middle = (low + high) >>> 1;
+			if (get(middle) < millis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Selects the values between two times of a sorted column
+	 *
+	 * @param start inclusive, in milliseconds since EPOCH
+	 * @param end inclusive, in milliseconds since EPOCH
+	 * @param zone is the time zone of the local fields
+	 * @return a cursor over the values in the range, before the first one
+	 * @throws IllegalStateException if the column is not sorted
+	 */
+	public TimestampCursor range(long start, long end, ZoneId zone) {
+		long from = lowerBound(start);
+		long to = end == Long.MAX_VALUE ? size : lowerBound(end + 1);
+		return new TimestampCursor(this, zone, from, Math.max(from, to));
+	}
+
+	/**
+	 * Selects the values between two dates of a sorted column, in the time zone of start
+	 *
+	 * @param start inclusive
+	 * @param end inclusive
+	 * @return a cursor over the values in the range, before the first one
+	 * @throws IllegalStateException if the column is not sorted
+	 */
+	public TimestampCursor range(ReadableDate start, ReadableDate end) {
+		return range(start.getTimeInMillis(), end.getTimeInMillis(), start.getZone());
+	}
+
+	/**
+	 * Cuts the column in contiguous parts, to be scanned by different threads
+	 *
+	 * @param parts is the maximum number of parts
+	 * @param zone is the time zone of the local fields
+	 * @return one cursor per non empty part
+	 */
+	public List<TimestampCursor> split(int parts, ZoneId zone) {
+		long count = size;
+		List<TimestampCursor> result = new ArrayList<>(parts);
+		for (int part = 0; part < parts; part++) {
+			long from = count * part / parts;
+			long to = count * (part + 1) / parts;
+			if (from < to) {
+				result.add(new TimestampCursor(this, zone, from, to));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts the values matching a predicate, scanning parts of the column in parallel on the common fork join pool
+	 *
+	 * @param zone is the time zone of the local fields
+	 * @param predicate is called with a cursor positioned on each value, it must not keep it
+	 * @return the number of matching values
+	 */
+	public long parallelCount(ZoneId zone, Predicate<? super ReadableDate> predicate) {
+		List<TimestampCursor> parts = split(Runtime.getRuntime().availableProcessors() * 4, zone);
+		return IntStream.range(0, parts.size()).parallel().mapToLong(part -> {
+			TimestampCursor cursor = parts.get(part);
+			long count = 0;
+			while (cursor.next()) {
+				if (predicate.test(cursor)) {
+					count++;
+				}
+			}
+			return count;
+		}).sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		segments = new MappedByteBuffer[0];
+		channel.close();
+	}
+
+	private void checkWritable() {
+		if (readOnly) {
+			throw new IllegalStateException("Timestamp column opened read only");
+		}
+	}
+
+	private void put(long index, long millis) {
+		segments[(int) (index >>> SEGMENT_SHIFT)].putLong((int) (index & SEGMENT_MASK) << 3, millis);
+		if (index > 0 && millis < last) {
+			sorted = false;
+		}
+		last = millis;
+	}
+
+	/**
+	 * Makes the values up to count visible, in the header and to new cursors
+	 */
+	private void publish(long count) {
+		header.putInt(4, sorted ? 0 : FLAG_UNSORTED);
+		header.putLong(8, count);
+		size = count;
+	}
+
+	/**
+	 * Maps the segments holding the first count values, growing the last one by doubling
+	 */
+	private void ensureCapacity(long count) {
+		int lastSegment = (int) ((count - 1) >>> SEGMENT_SHIFT);
+		if (lastSegment >= segments.length) {
+			segments = Arrays.copyOf(segments, lastSegment + 1);
+		}
+		for (int segment = 0; segment <= lastSegment; segment++) {
+			long required = segment < lastSegment ? SEGMENT_MASK + 1 : ((count - 1) & SEGMENT_MASK) + 1;
+			long capacity = segments[segment] == null ? 0 : segments[segment].capacity() / 8;
+			if (capacity < required) {
+				long newCapacity = readOnly ? required : Math.min(SEGMENT_MASK + 1, Math.max(required, Math.max(MIN_SEGMENT_CAPACITY, capacity * 2)));
+				try {
+					segments[segment] = map(readOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, HEADER_BYTES + ((long) segment << SEGMENT_SHIFT) * 8,
+							newCapacity * 8);
+				} catch (IOException e) {
+					throw new IllegalStateException("Can't map timestamp column segment " + segment, e);
+				}
+			}
+		}
+	}
+
+	private MappedByteBuffer map(MapMode mode, long position, long length) throws IOException {
+		MappedByteBuffer buffer = channel.map(mode, position, length);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return buffer;
+	}
+
+	@Override
+	public String toString() {
+		return "TimestampColumnFile[" + size + " values" + (sorted ? ", sorted" : "") + "]";
+	}
+}
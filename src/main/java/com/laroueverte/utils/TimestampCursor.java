@@ -0,0 +1,304 @@
+package com.laroueverte.utils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Flyweight {@link ReadableDate} moving over the values of a {@link TimestampColumnFile}. Local fields are computed from the epoch milliseconds with the
+ * {@link ZoneOffsetTable} of the zone, only when asked for and without creating any object : one cursor can read billions of values.<br>
+ * A cursor is positioned before its first value; {@link #next()} moves it to the following one. It is not thread safe, use one cursor per thread
+ *
+ * @author la roue verte
+ */
+public final class TimestampCursor implements ReadableDate {
+	private final TimestampColumnFile column;
+	private final ZoneId zone;
+	private final ZoneOffsetTable table;
+	private final long from;
+	private final long to;
+	private long index;
+	private long millis;
+	private boolean decoded;
+	private int offsetMillis;
+	/** Interval of the table of the last decoded value, checked first as consecutive values are usually close */
+	private int interval;
+	private int civil;
+	private int dayOfWeek;
+	private int millisOfDay;
+
+	TimestampCursor(TimestampColumnFile column, ZoneId zone, long from, long to) {
+		this.column = column;
+		this.zone = zone;
+		this.table = ZoneOffsetTable.forZone(zone);
+		this.from = from;
+		this.to = to;
+		this.index = from - 1;
+	}
+
+	/**
+	 * Moves to the next value
+	 *
+	 * @return false if there is no more value
+	 */
+	public boolean next() {
+		if (index + 1 >= to) {
+			index = to;
+			return false;
+		}
+		index++;
+		millis = column.get(index);
+		decoded = false;
+		return true;
+	}
+
+	/**
+	 * Moves to a value
+	 *
+	 * @param position is the index of the value in the column, within the range of the cursor
+	 */
+	public void seek(long position) {
+		if (position < from || position >= to) {
+			throw new IndexOutOfBoundsException("Index " + position + " out of [" + from + ", " + to + ")");
+		}
+		index = position;
+		millis = column.get(index);
+		decoded = false;
+	}
+
+	/**
+	 *
+	 * @return the index of the current value in the column
+	 */
+	public long index() {
+		return index;
+	}
+
+	/**
+	 *
+	 * @return the number of values of the cursor range
+	 */
+	public long count() {
+		return to - from;
+	}
+
+	/**
+	 *
+	 * @return a new DateBuilder on the current value, in the zone of the cursor
+	 */
+	public DateBuilder toDateBuilder() {
+		return DateBuilder.milliseconds(millis, zone);
+	}
+
+	@Override
+	public long getTimeInMillis() {
+		return millis;
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	@Override
+	public int getYear() {
+		decode();
+		return EpochDays.year(civil);
+	}
+
+	@Override
+	public int getHumanMonth() {
+		decode();
+		return EpochDays.month(civil);
+	}
+
+	@Override
+	public int getDayOfMonth() {
+		decode();
+		return EpochDays.dayOfMonth(civil);
+	}
+
+	@Override
+	public int getDayOfWeek() {
+		decode();
+		return dayOfWeek;
+	}
+
+	@Override
+	public int getHour() {
+		decode();
+		return millisOfDay / 3_600_000;
+	}
+
+	@Override
+	public int getMinute() {
+		decode();
+		return millisOfDay / 60_000 % 60;
+	}
+
+	@Override
+	public int getSecond() {
+		decode();
+		return millisOfDay / 1000 % 60;
+	}
+
+	@Override
+	public int getMillisecond() {
+		decode();
+		return millisOfDay % 1000;
+	}
+
+	/**
+	 *
+	 * @return the offset from UTC of the current value, in milliseconds
+	 */
+	public int getOffsetMillis() {
+		decode();
+		return offsetMillis;
+	}
+
+	@Override
+	public boolean isWeekDay() {
+		int day = getDayOfWeek();
+		return day != 1 && day != 7;
+	}
+
+	@Override
+	public boolean isMorning() {
+		return getHour() < 12;
+	}
+
+	@Override
+	public boolean isBetween(Date start, Date end) {
+		return isBetween(start.getTime(), end.getTime());
+	}
+
+	/**
+	 *
+	 * @param start inclusive, in milliseconds since EPOCH
+	 * @param end inclusive, in milliseconds since EPOCH
+	 * @return true if the current value is between start and end
+	 */
+	public boolean isBetween(long start, long end) {
+		return millis >= start && millis <= end;
+	}
+
+	@Override
+	public String toISOFormat() {
+		return appendISOFormat(new StringBuilder(10)).toString();
+	}
+
+	@Override
+	public String toISO8601LocalDateTime() {
+		return appendISO8601LocalDateTime(new StringBuilder(23)).toString();
+	}
+
+	@Override
+	public String toISO8601OffsetDateTime() {
+		return appendISO8601OffsetDateTime(new StringBuilder(29)).toString();
+	}
+
+	/**
+	 * Appends the current value as yyyy-MM-dd
+	 *
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder appendISOFormat(StringBuilder destination) {
+		decode();
+		int year = EpochDays.year(civil);
+		if (year < 0 || year > 9999) {
+			return destination.append(LocalDate.of(year, EpochDays.month(civil), EpochDays.dayOfMonth(civil)));
+		}
+		appendDigits(destination, year / 100);
+		appendDigits(destination, year % 100);
+		destination.append('-');
+		appendDigits(destination, EpochDays.month(civil));
+		destination.append('-');
+		appendDigits(destination, EpochDays.dayOfMonth(civil));
+		return destination;
+	}
+
+	/**
+	 * Appends the current value as {@link #toISO8601LocalDateTime()} does, like 2014-02-07T16:25
+	 *
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder appendISO8601LocalDateTime(StringBuilder destination) {
+		appendISOFormat(destination).append('T');
+		appendDigits(destination, getHour());
+		destination.append(':');
+		appendDigits(destination, getMinute());
+		int second = getSecond();
+		int millisecond = getMillisecond();
+		// Same rules as LocalDateTime.toString() : seconds and milliseconds only when not zero
+		if (second != 0 || millisecond != 0) {
+			destination.append(':');
+			appendDigits(destination, second);
+			if (millisecond != 0) {
+				destination.append('.');
+				destination.append((char) ('0' + millisecond / 100));
+				appendDigits(destination, millisecond % 100);
+			}
+		}
+		return destination;
+	}
+
+	/**
+	 * Appends the current value as {@link #toISO8601OffsetDateTime()} does, like 2014-02-07T16:25+01:00
+	 *
+	 * @param destination receives the formatted date
+	 * @return destination, for chaining
+	 */
+	public StringBuilder appendISO8601OffsetDateTime(StringBuilder destination) {
+		appendISO8601LocalDateTime(destination);
+		int offsetSeconds = getOffsetMillis() / 1000;
+		if (offsetSeconds == 0) {
+			return destination.append('Z');
+		}
+		destination.append(offsetSeconds < 0 ? '-' : '+');
+		int absolute = Math.abs(offsetSeconds);
+		appendDigits(destination, absolute / 3600);
+		destination.append(':');
+		appendDigits(destination, absolute / 60 % 60);
+		if (absolute % 60 != 0) {
+			destination.append(':');
+			appendDigits(destination, absolute % 60);
+		}
+		return destination;
+	}
+
+	private void decode() {
+		if (decoded) {
+			return;
+		}
+		if (index < from || index >= to) {
+			throw new IllegalStateException("Cursor is not on a value");
+		}
+		if (table.covers(millis)) {
+			interval = table.intervalIndex(millis, interval);
+			offsetMillis = table.intervalOffset(interval);
+		} else {
+			offsetMillis = table.getOffsetMillis(millis);
+		}
+		long local = millis + offsetMillis;
+		long epochDay = Math.floorDiv(local, EpochDays.MILLIS_PER_DAY);
+		millisOfDay = (int) (local - epochDay * EpochDays.MILLIS_PER_DAY);
+		civil = EpochDays.toCivil(epochDay);
+		dayOfWeek = EpochDays.dayOfWeek(epochDay);
+		decoded = true;
+	}
+
+	private static void appendDigits(StringBuilder destination, int value) {
+		destination.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	@Override
+	public String toString() {
+		if (index < from || index >= to) {
+			return "TimestampCursor[" + from + ", " + to + ")";
+		}
+		return appendISO8601OffsetDateTime(new StringBuilder(29)).toString();
+	}
+}
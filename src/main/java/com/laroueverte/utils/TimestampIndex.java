@@ -0,0 +1,192 @@
+package com.laroueverte.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.OptionalLong;
+
+/**
+ * Immutable sorted index of timestamps (epoch milliseconds) answering range counts, ranks, floor/ceiling and k-th value queries in logarithmic time.<br>
+ * The minimum of each block of {@value #BLOCK_SIZE} values is copied in a small sparse array : a search first runs on this array, that stays in cache, and
+ * then in a single block of contiguous values. Building sorts a copy of the input with {@link Arrays#parallelSort(long[])}
+ *
+ * @author la roue verte
+ */
+public final class TimestampIndex {
+	static final int BLOCK_SIZE = 64;
+	private static final int BLOCK_SHIFT = 6;
+
+	private final long[] values;
+	private final long[] blockMinimums;
+
+	private TimestampIndex(long[] sortedValues) {
+		this.values = sortedValues;
+		this.blockMinimums = new long[(sortedValues.length + BLOCK_SIZE - 1) >>> BLOCK_SHIFT];
+		for (int block = 0; block < blockMinimums.length; block++) {
+			blockMinimums[block] = sortedValues[block << BLOCK_SHIFT];
+		}
+	}
+
+	/**
+	 *
+	 * @param timestamps are times in milliseconds since EPOCH, in any order. The array is not modified
+	 * @return the index of these times
+	 */
+	public static TimestampIndex of(long[] timestamps) {
+		long[] sorted = timestamps.clone();
+		Arrays.parallelSort(sorted);
+		return new TimestampIndex(sorted);
+	}
+
+	/**
+	 *
+	 * @param dates are dates, in any order
+	 * @return the index of these dates
+	 */
+	public static TimestampIndex of(Collection<? extends ReadableDate> dates) {
+		return of(dates.parallelStream().mapToLong(ReadableDate::getTimeInMillis).toArray());
+	}
+
+	/**
+	 *
+	 * @return the number of timestamps
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 *
+	 * @param k is the rank of the value, from 0 to {@link #size()} - 1
+	 * @return the k-th smallest timestamp
+	 */
+	public long get(int k) {
+		if (k < 0 || k >= values.length) {
+			throw new IndexOutOfBoundsException("Rank: " + k + ", size: " + values.length);
+		}
+		return values[k];
+	}
+
+	/**
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 * @return the number of timestamps strictly before millis
+	 */
+	public int rank(long millis) {
+		return lowerBound(millis);
+	}
+
+	/**
+	 *
+	 * @param date is a date
+	 * @return the number of timestamps strictly before the date
+	 */
+	public int rank(ReadableDate date) {
+		return rank(date.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param start inclusive, in milliseconds since EPOCH
+	 * @param end inclusive, in milliseconds since EPOCH
+	 * @return the number of timestamps between start and end
+	 */
+	public int count(long start, long end) {
+		if (start > end) {
+			return 0;
+		}
+		return upperBound(end) - lowerBound(start);
+	}
+
+	/**
+	 *
+	 * @param start inclusive
+	 * @param end inclusive
+	 * @return the number of timestamps between start and end, as {@link DateConstant#isBetween(java.util.Date, java.util.Date)} would select them
+	 */
+	public int count(ReadableDate start, ReadableDate end) {
+		return count(start.getTimeInMillis(), end.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 * @return the greatest timestamp at or before millis, empty if none
+	 */
+	public OptionalLong floor(long millis) {
+		int index = upperBound(millis) - 1;
+		return index < 0 ? OptionalLong.empty() : OptionalLong.of(values[index]);
+	}
+
+	/**
+	 *
+	 * @param date is a date
+	 * @return the greatest timestamp at or before the date, empty if none
+	 */
+	public OptionalLong floor(ReadableDate date) {
+		return floor(date.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 * @return the smallest timestamp at or after millis, empty if none
+	 */
+	public OptionalLong ceiling(long millis) {
+		int index = lowerBound(millis);
+		return index == values.length ? OptionalLong.empty() : OptionalLong.of(values[index]);
+	}
+
+	/**
+	 *
+	 * @param date is a date
+	 * @return the smallest timestamp at or after the date, empty if none
+	 */
+	public OptionalLong ceiling(ReadableDate date) {
+		return ceiling(date.getTimeInMillis());
+	}
+
+	/**
+	 *
+	 * @return the index of the first value at or after millis, the size if none
+	 */
+	private int lowerBound(long millis) {
+		// Last block starting strictly before millis : the answer is in it or at the start of the next one
+		int low = 0;
+		int high = blockMinimums.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (blockMinimums[middle] < millis) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		if (high < 0) {
+			return 0;
+		}
+		low = high << BLOCK_SHIFT;
+		high = Math.min(values.length, low + BLOCK_SIZE);
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (values[middle] < millis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 *
+	 * @return the index of the first value strictly after millis, the size if none
+	 */
+	private int upperBound(long millis) {
+		return millis == Long.MAX_VALUE ? values.length : lowerBound(millis + 1);
+	}
+
+	@Override
+	public String toString() {
+		return "TimestampIndex[" + values.length + " values]";
+	}
+}
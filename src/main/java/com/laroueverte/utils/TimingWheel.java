@@ -0,0 +1,348 @@
+package com.laroueverte.utils;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel : schedules tasks at a deadline with O(1) insertion and cancellation, whatever the number of pending tasks.<br>
+ * Time is cut in ticks aligned on {@link DateBuilder#trimToSecond()} or {@link DateBuilder#trimToMinute()} boundaries. A task is due at the first tick
+ * boundary at or after its deadline, so it is never run early and at most one tick late. Each level of the wheel has {@value #SLOTS} slots covering 64 times
+ * the span of the level below; tasks far away go to a high level and move down when their slot is reached. Expired tasks are collected as a batch and then
+ * handed to the executor. Advancing jumps from one occupied slot to the next, so a long pause costs nothing more than the tasks it expires.<br>
+ * The wheel only advances when {@link #advance()} is called, either by {@link #start(ScheduledExecutorService)} or by tests after changing the time of
+ * the clock of the wheel, {@link DateBuilder#getClock()} unless given
+ *
+ * @author la roue verte
+ */
+public final class TimingWheel {
+	static final int SLOTS = 64;
+	private static final int SLOT_BITS = 6;
+	private static final int SLOT_MASK = SLOTS - 1;
+	// 11 levels of 6 bits cover any tick number
+	private static final int LEVELS = 11;
+
+	/**
+	 * A task scheduled in a {@link TimingWheel}
+	 */
+	public static final class Timeout {
+		private final TimingWheel wheel;
+		private final Runnable task;
+		private final long deadline;
+		private final long tick;
+		private Timeout previous;
+		private Timeout next;
+		/** Index of the slot holding this timeout, -1 once expired or cancelled */
+		private int slot = -1;
+		private boolean cancelled;
+
+		private Timeout(TimingWheel wheel, Runnable task, long deadline, long tick) {
+			this.wheel = wheel;
+			this.task = task;
+			this.deadline = deadline;
+			this.tick = tick;
+		}
+
+		/**
+		 *
+		 * @return the deadline, in milliseconds since EPOCH
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+
+		/**
+		 * Removes the task from the wheel
+		 *
+		 * @return true if the task was pending, false if it already expired or was cancelled
+		 */
+		public boolean cancel() {
+			synchronized (wheel) {
+				if (slot < 0) {
+					return false;
+				}
+				wheel.unlink(this);
+				cancelled = true;
+				return true;
+			}
+		}
+
+		/**
+		 *
+		 * @return true if {@link #cancel()} removed the task before it expired
+		 */
+		public boolean isCancelled() {
+			synchronized (wheel) {
+				return cancelled;
+			}
+		}
+
+		/**
+		 *
+		 * @return true if the task has been handed to the executor
+		 */
+		public boolean isExpired() {
+			synchronized (wheel) {
+				return slot < 0 && !cancelled;
+			}
+		}
+	}
+
+	private final long tickMillis;
+	private final Executor executor;
+	private final Clock clock;
+	private final Timeout[] slots = new Timeout[LEVELS * SLOTS];
+	/** One bit per non empty slot, for each level */
+	private final long[] occupied = new long[LEVELS];
+	/** Last tick processed : every task due at or before it has expired */
+	private long currentTick;
+	private int size;
+	private ScheduledFuture<?> ticker;
+
+	private TimingWheel(long tickMillis, Executor executor, Clock clock) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor can't be null");
+		}
+		if (clock == null) {
+			throw new IllegalArgumentException("Clock can't be null");
+		}
+		this.tickMillis = tickMillis;
+		this.executor = executor;
+		this.clock = clock;
+		this.currentTick = Math.floorDiv(clock.millis(), tickMillis);
+	}
+
+	/**
+	 *
+	 * @param executor runs the expired tasks
+	 * @return a wheel ticking every second, on the clock of the library
+	 */
+	public static TimingWheel perSecond(Executor executor) {
+		return perSecond(executor, DateBuilder.getClock());
+	}
+
+	/**
+	 *
+	 * @param executor runs the expired tasks
+	 * @param clock gives the current time
+	 * @return a wheel ticking every second
+	 */
+	public static TimingWheel perSecond(Executor executor, Clock clock) {
+		return new TimingWheel(1000, executor, clock);
+	}
+
+	/**
+	 *
+	 * @param executor runs the expired tasks
+	 * @return a wheel ticking every minute, on the clock of the library
+	 */
+	public static TimingWheel perMinute(Executor executor) {
+		return perMinute(executor, DateBuilder.getClock());
+	}
+
+	/**
+	 *
+	 * @param executor runs the expired tasks
+	 * @param clock gives the current time
+	 * @return a wheel ticking every minute
+	 */
+	public static TimingWheel perMinute(Executor executor, Clock clock) {
+		return new TimingWheel(60_000, executor, clock);
+	}
+
+	/**
+	 *
+	 * @return the length of a tick, in milliseconds
+	 */
+	public long getTickMillis() {
+		return tickMillis;
+	}
+
+	/**
+	 * Schedules a task. A deadline already reached hands the task to the executor immediately
+	 *
+	 * @param task is the task to run
+	 * @param deadline is the date at which the task is due
+	 * @return the handle to cancel the task
+	 */
+	public Timeout schedule(Runnable task, DateConstant deadline) {
+		return schedule(task, deadline.getTimeInMillis());
+	}
+
+	/**
+	 * Schedules a task. A deadline already reached hands the task to the executor immediately
+	 *
+	 * @param task is the task to run
+	 * @param deadline is the time at which the task is due, in milliseconds since EPOCH
+	 * @return the handle to cancel the task
+	 */
+	public Timeout schedule(Runnable task, long deadline) {
+		if (task == null) {
+			throw new IllegalArgumentException("Task can't be null");
+		}
+		// Ceiling : the task is due at the first tick boundary at or after its deadline
+		Timeout timeout = new Timeout(this, task, deadline, -Math.floorDiv(-deadline, tickMillis));
+		synchronized (this) {
+			if (timeout.tick > currentTick) {
+				insert(timeout);
+				return timeout;
+			}
+		}
+		executor.execute(task);
+		return timeout;
+	}
+
+	/**
+	 *
+	 * @return the number of pending tasks
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Expires the tasks due at the current time of the clock
+	 *
+	 * @return the number of tasks handed to the executor
+	 */
+	public int advance() {
+		return advanceTo(clock.millis());
+	}
+
+	/**
+	 * Expires the tasks due at the given time. Going back in time does nothing
+	 *
+	 * @param millis is the current time, in milliseconds since EPOCH
+	 * @return the number of tasks handed to the executor
+	 */
+	public int advanceTo(long millis) {
+		long targetTick = Math.floorDiv(millis, tickMillis);
+		List<Runnable> expired = new ArrayList<>();
+		synchronized (this) {
+			while (currentTick < targetTick) {
+				long tick = nextOccupiedTick();
+				if (tick > targetTick) {
+					// The ticks in between have nothing to expire nor to move down
+					currentTick = targetTick;
+					break;
+				}
+				currentTick = tick;
+				cascade(tick);
+				int slot = (int) (tick & SLOT_MASK);
+				Timeout timeout = slots[slot];
+				while (timeout != null) {
+					Timeout next = timeout.next;
+					unlink(timeout);
+					expired.add(timeout.task);
+					timeout = next;
+				}
+			}
+		}
+		for (Runnable task : expired) {
+			executor.execute(task);
+		}
+		return expired.size();
+	}
+
+	/**
+	 * Advances the wheel at each tick boundary
+	 *
+	 * @param scheduler calls {@link #advance()}
+	 */
+	public synchronized void start(ScheduledExecutorService scheduler) {
+		if (ticker != null) {
+			throw new IllegalStateException("Timing wheel already started");
+		}
+		long now = clock.millis();
+		long delay = tickMillis - Math.floorMod(now, tickMillis);
+		ticker = scheduler.scheduleAtFixedRate(this::advance, delay, tickMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops advancing the wheel, pending tasks are kept
+	 */
+	public synchronized void stop() {
+		if (ticker != null) {
+			ticker.cancel(false);
+			ticker = null;
+		}
+	}
+
+	/**
+	 * The pending tasks of a level share the digits of the current tick above the level, and are after it at the level : the first non empty slot of the
+	 * lowest non empty level is the next tick with tasks to expire or to move down
+	 *
+	 * @return the next tick with tasks to expire or to move down, Long.MAX_VALUE if the wheel is empty
+	 */
+	private long nextOccupiedTick() {
+		for (int level = 0; level < LEVELS; level++) {
+			if (occupied[level] != 0) {
+				int high = SLOT_BITS * (level + 1);
+				long prefix = high < Long.SIZE ? currentTick >>> high << high : 0;
+				return prefix | (long) Long.numberOfTrailingZeros(occupied[level]) << (SLOT_BITS * level);
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Moves down the tasks of the higher level slots starting at this tick, highest level first
+	 */
+	private void cascade(long tick) {
+		int level = 0;
+		while (level < LEVELS - 1 && (tick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+			level++;
+		}
+		for (; level > 0; level--) {
+			int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+			Timeout timeout = slots[slot];
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				unlink(timeout);
+				insert(timeout);
+				timeout = next;
+			}
+		}
+	}
+
+	/**
+	 * The level is the one of the highest 6 bits group where the tick differs from the current tick, so that the slot is reached before the tick
+	 */
+	private void insert(Timeout timeout) {
+		long difference = timeout.tick ^ currentTick;
+		int level = (63 - Long.numberOfLeadingZeros(difference)) / SLOT_BITS;
+		int slot = level * SLOTS + (int) ((timeout.tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+		Timeout head = slots[slot];
+		timeout.previous = null;
+		timeout.next = head;
+		if (head != null) {
+			head.previous = timeout;
+		}
+		slots[slot] = timeout;
+		occupied[level] |= 1L << (slot & SLOT_MASK);
+		timeout.slot = slot;
+		size++;
+	}
+
+	private void unlink(Timeout timeout) {
+		if (timeout.previous == null) {
+			slots[timeout.slot] = timeout.next;
+			if (timeout.next == null) {
+				occupied[timeout.slot >>> SLOT_BITS] &= ~(1L << (timeout.slot & SLOT_MASK));
+			}
+		} else {
+			timeout.previous.next = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.previous = null;
+		timeout.next = null;
+		timeout.slot = -1;
+		size--;
+	}
+}
@@ -0,0 +1,84 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator of strictly increasing timestamps, to stamp events and sort them even when several happen in the same millisecond or when the clock steps
+ * back. A timestamp is the time in milliseconds of {@link DateBuilder#getClock()} shifted left by {@value #SEQUENCE_BITS} bits, plus a sequence number :
+ * timestamps sort as their times, and up to 4096 timestamps per millisecond keep the exact millisecond.<br>
+ * Beyond that, or while the clock is behind the last timestamp, timestamps keep increasing by one and run slightly ahead of the clock until it catches up.
+ * Instances are thread safe and lock free : a timestamp costs one compare and set on a single AtomicLong
+ *
+ * @author la roue verte
+ */
+public final class UniqueTimestampGenerator {
+	/** Number of low bits of a timestamp holding its sequence number */
+	public static final int SEQUENCE_BITS = 12;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	private final AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 *
+	 * @return a timestamp greater than all the ones returned before by this generator
+	 */
+	public long next() {
+		long candidate = DateBuilder.getClock().millis() << SEQUENCE_BITS;
+		return last.accumulateAndGet(candidate, (previous, now) -> now > previous ? now : previous + 1);
+	}
+
+	/**
+	 *
+	 * @return the last timestamp returned by this generator, {@link Long#MIN_VALUE} before the first one
+	 */
+	public long getLast() {
+		return last.get();
+	}
+
+	/**
+	 *
+	 * @param timestamp is a timestamp of a generator
+	 * @return its time in milliseconds since EPOCH
+	 */
+	public static long toMillis(long timestamp) {
+		return timestamp >> SEQUENCE_BITS;
+	}
+
+	/**
+	 *
+	 * @param timestamp is a timestamp of a generator
+	 * @return its sequence number in its millisecond, from 0 to 4095
+	 */
+	public static int sequence(long timestamp) {
+		return (int) (timestamp & SEQUENCE_MASK);
+	}
+
+	/**
+	 *
+	 * @param millis is a time in milliseconds since EPOCH
+	 * @return the lowest timestamp of this millisecond, to search timestamps from a date
+	 */
+	public static long fromMillis(long millis) {
+		return millis << SEQUENCE_BITS;
+	}
+
+	/**
+	 *
+	 * @param timestamp is a timestamp of a generator
+	 * @param zone is the time zone of the date
+	 * @return the date of the timestamp, without its sequence number
+	 */
+	public static DateConstant toDateConstant(long timestamp, ZoneId zone) {
+		return DateBuilder.milliseconds(toMillis(timestamp), zone).constant();
+	}
+
+	/**
+	 *
+	 * @param timestamp is a timestamp of a generator
+	 * @return the date of the timestamp in the default time zone, without its sequence number
+	 */
+	public static DateConstant toDateConstant(long timestamp) {
+		return toDateConstant(timestamp, ZoneId.systemDefault());
+	}
+}
@@ -0,0 +1,345 @@
+package com.laroueverte.utils;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed offsets of a time zone, from {@value #FIRST_YEAR} to {@value #LAST_YEAR}, as sorted arrays of transitions. Converting between UTC and local
+ * time is then a lookup in an index of the transitions by period of about 12 days, without any object allocation. Times outside the covered years fall back
+ * to the zone rules.<br>
+ * Tables are cached per zone and immutable, so they can be shared between threads. Custom java.util time zones, unknown to java.time or with other rules
+ * than the zone of their ID, have no table : only their own offsets are right
+ *
+ * @author la roue verte
+ */
+public final class ZoneOffsetTable {
+	public static final int FIRST_YEAR = 1900;
+	public static final int LAST_YEAR = 2100;
+
+	private static final long RANGE_START = EpochDays.of(FIRST_YEAR, 1, 1) * EpochDays.MILLIS_PER_DAY;
+	private static final long RANGE_END = EpochDays.of(LAST_YEAR + 1, 1, 1) * EpochDays.MILLIS_PER_DAY;
+	// Offsets never exceed 18 hours, local times closer than that to the range bounds are left to the zone rules
+	private static final long MAX_OFFSET = 18 * 3_600_000L;
+	/** 2^30 milliseconds, about 12 days, are far shorter than the time between transitions : a bucket holds one transition at most, in practice */
+	private static final int BUCKET_SHIFT = 30;
+	private static final Map<String, ZoneOffsetTable> TABLES = new ConcurrentHashMap<>();
+	/** TimeZone.getDefault() and ZoneId.systemDefault() clone the default zone on each call */
+	private static volatile ZoneOffsetTable systemDefault;
+
+	private final ZoneId zone;
+	/** java.util view of the zone, to check that a TimeZone has the same rules */
+	private final TimeZone timeZone;
+	private final ZoneRules rules;
+	/** UTC time of each transition */
+	private final long[] transitions;
+	/** offsets[i] is the offset before transitions[i], offsets[transitions.length] the one after the last transition */
+	private final int[] offsets;
+	/** Earliest local time impacted by each transition : start of the gap or of the overlap */
+	private final long[] localTransitions;
+	/** Interval of the start of each bucket of 2^{@value #BUCKET_SHIFT} milliseconds from the start of the range */
+	private final int[] bucketIntervals;
+
+	private ZoneOffsetTable(ZoneId zone) {
+		this.zone = zone;
+		this.timeZone = TimeZone.getTimeZone(zone);
+		this.rules = zone.getRules();
+		List<ZoneOffsetTransition> zoneTransitions = new ArrayList<>();
+		ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(RANGE_START - 1));
+		while (transition != null && transition.toEpochSecond() * 1000 < RANGE_END) {
+			zoneTransitions.add(transition);
+			transition = rules.nextTransition(transition.getInstant());
+		}
+		int count = zoneTransitions.size();
+		transitions = new long[count];
+		localTransitions = new long[count];
+		offsets = new int[count + 1];
+		offsets[0] = rules.getOffset(Instant.ofEpochMilli(RANGE_START)).getTotalSeconds() * 1000;
+		for (int i = 0; i < count; i++) {
+			ZoneOffsetTransition zoneTransition = zoneTransitions.get(i);
+			transitions[i] = zoneTransition.toEpochSecond() * 1000;
+			offsets[i + 1] = zoneTransition.getOffsetAfter().getTotalSeconds() * 1000;
+			localTransitions[i] = transitions[i] + Math.min(offsets[i], offsets[i + 1]);
+		}
+		bucketIntervals = new int[(int) ((RANGE_END - 1 - RANGE_START) >>> BUCKET_SHIFT) + 1];
+		int interval = 0;
+		for (int bucket = 0; bucket < bucketIntervals.length; bucket++) {
+			long start = RANGE_START + ((long) bucket << BUCKET_SHIFT);
+			while (interval < count && transitions[interval] <= start) {
+				interval++;
+			}
+			bucketIntervals[bucket] = interval;
+		}
+	}
+
+	/**
+	 *
+	 * @param zone is the time zone
+	 * @return the cached table of this zone
+	 */
+	public static ZoneOffsetTable forZone(ZoneId zone) {
+		ZoneOffsetTable table = TABLES.get(zone.getId());
+		if (table == null) {
+			table = TABLES.computeIfAbsent(zone.getId(), id -> new ZoneOffsetTable(zone));
+		}
+		return table;
+	}
+
+	/**
+	 *
+	 * @param timeZone is a java.util time zone, like the ones of Calendar
+	 * @return the cached table of this zone, null for a custom time zone : use {@link TimeZone#getOffset(long)} instead
+	 */
+	public static ZoneOffsetTable forTimeZone(TimeZone timeZone) {
+		ZoneOffsetTable table = TABLES.get(timeZone.getID());
+		if (table == null) {
+			try {
+				table = forZone(timeZone.toZoneId());
+			} catch (DateTimeException e) {
+				// Custom time zone unknown to java.time
+				return null;
+			}
+		}
+		// A SimpleTimeZone can reuse the ID of a tzdb zone with other rules
+		return table.timeZone.hasSameRules(timeZone) ? table : null;
+	}
+
+	/**
+	 * The default time zone is read on the first call only, so that parsing local times allocates nothing. Call {@link #resetSystemDefault()} after
+	 * {@link TimeZone#setDefault(TimeZone)}
+	 *
+	 * @return the cached table of the default time zone, null for a custom time zone
+	 */
+	public static ZoneOffsetTable systemDefault() {
+		ZoneOffsetTable table = systemDefault;
+		// Not cached for a custom default time zone
+		if (table == null) {
+			table = forTimeZone(TimeZone.getDefault());
+			systemDefault = table;
+		}
+		return table;
+	}
+
+	/**
+	 * Forgets the table of the default time zone, to be read again by the next call to {@link #systemDefault()}
+	 */
+	public static void resetSystemDefault() {
+		systemDefault = null;
+	}
+
+	/**
+	 *
+	 * @return the zone of this table
+	 */
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @return true if the time is in the precomputed years
+	 */
+	public boolean covers(long utcMillis) {
+		return utcMillis >= RANGE_START && utcMillis < RANGE_END;
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @return the offset from UTC, in milliseconds, at this time
+	 */
+	public int getOffsetMillis(long utcMillis) {
+		if (!covers(utcMillis)) {
+			return rules.getOffset(Instant.ofEpochMilli(utcMillis)).getTotalSeconds() * 1000;
+		}
+		return offsets[intervalIndex(utcMillis)];
+	}
+
+	/**
+	 *
+	 * @param utcMillis is a time in milliseconds since EPOCH
+	 * @return the local time, in milliseconds since 1970-01-01T00:00 local
+	 */
+	public long toLocalMillis(long utcMillis) {
+		return utcMillis + getOffsetMillis(utcMillis);
+	}
+
+	/**
+	 * Converts a local time to UTC, like {@link LocalDateTime#atZone(ZoneId)} does : in an overlap the earlier offset is used, a local time in a gap is
+	 * shifted forward by the length of the gap
+	 *
+	 * @param localMillis is the local time, in milliseconds since 1970-01-01T00:00 local
+	 * @return the time in milliseconds since EPOCH
+	 */
+	public long toUtcMillis(long localMillis) {
+		if (!coversLocal(localMillis)) {
+			return toUtcMillisUsingRules(localMillis);
+		}
+		int transition = localTransitionIndex(localMillis);
+		return localMillis - localOffset(localMillis, transition);
+	}
+
+	/**
+	 * Bulk conversion of UTC times to local times. Sorted input benefits from the last interval check
+	 *
+	 * @param utcMillis are times in milliseconds since EPOCH
+	 * @param localMillis receives the local times, can be the same array as utcMillis
+	 */
+	public void toLocalMillis(long[] utcMillis, long[] localMillis) {
+		int index = 0;
+		for (int i = 0; i < utcMillis.length; i++) {
+			long utc = utcMillis[i];
+			if (!covers(utc)) {
+				localMillis[i] = utc + getOffsetMillis(utc);
+				continue;
+			}
+			index = intervalIndex(utc, index);
+			localMillis[i] = utc + offsets[index];
+		}
+	}
+
+	/**
+	 * Bulk conversion of local times to UTC times, resolving gaps and overlaps as {@link #toUtcMillis(long)}
+	 *
+	 * @param localMillis are local times, in milliseconds since 1970-01-01T00:00 local
+	 * @param utcMillis receives the times in milliseconds since EPOCH, can be the same array as localMillis
+	 */
+	public void toUtcMillis(long[] localMillis, long[] utcMillis) {
+		for (int i = 0; i < localMillis.length; i++) {
+			utcMillis[i] = toUtcMillis(localMillis[i]);
+		}
+	}
+
+	boolean coversLocal(long localMillis) {
+		return localMillis >= RANGE_START + MAX_OFFSET && localMillis < RANGE_END - MAX_OFFSET;
+	}
+
+	/**
+	 *
+	 * @return the index of the last transition whose impacted local times start at or before localMillis, -1 if none
+	 */
+	int localTransitionIndex(long localMillis) {
+		int low = 0;
+		int high = localTransitions.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (localTransitions[middle] <= localMillis) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return high;
+	}
+
+	/**
+	 * {@link #localTransitionIndex(long)} for callers validating close local times in sequence, keeping the previous transition themselves
+	 *
+	 * @param hint is the transition of the previous local time, or any index from -1 to the last transition
+	 */
+	int localTransitionIndex(long localMillis, int hint) {
+		if ((hint < 0 || localTransitions[hint] <= localMillis) && (hint + 1 == localTransitions.length || localMillis < localTransitions[hint + 1])) {
+			return hint;
+		}
+		return localTransitionIndex(localMillis);
+	}
+
+	/**
+	 *
+	 * @return the offset to use for localMillis, the earlier one in an overlap and the one before the transition in a gap
+	 */
+	int localOffset(long localMillis, int transition) {
+		if (transition < 0) {
+			return offsets[0];
+		}
+		int before = offsets[transition];
+		int after = offsets[transition + 1];
+		if (localMillis < transitions[transition] + Math.max(before, after)) {
+			// Gap or overlap : both resolve with the offset before the transition
+			return before;
+		}
+		return after;
+	}
+
+	/**
+	 *
+	 * @return the offset before the transition (in milliseconds)
+	 */
+	int offsetBefore(int transition) {
+		return offsets[transition];
+	}
+
+	/**
+	 *
+	 * @return the offset after the transition (in milliseconds)
+	 */
+	int offsetAfter(int transition) {
+		return offsets[transition + 1];
+	}
+
+	/**
+	 *
+	 * @return the UTC time of the transition
+	 */
+	long transitionMillis(int transition) {
+		return transitions[transition];
+	}
+
+	long toUtcMillisUsingRules(long localMillis) {
+		long epochSecond = Math.floorDiv(localMillis, 1000L);
+		int millis = (int) Math.floorMod(localMillis, 1000L);
+		LocalDateTime local = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+		return ZonedDateTime.ofLocal(local, zone, null).toEpochSecond() * 1000 + millis;
+	}
+
+	/**
+	 * Interval lookup for callers converting close times in sequence, like bulk conversions and cursors, keeping the previous interval themselves
+	 *
+	 * @param utcMillis is a time {@link #covers(long) covered} by the table
+	 * @param hint is the interval of the previous time, or any valid interval
+	 * @return the number of transitions at or before utcMillis
+	 */
+	int intervalIndex(long utcMillis, int hint) {
+		return isInInterval(utcMillis, hint) ? hint : intervalIndex(utcMillis);
+	}
+
+	/**
+	 *
+	 * @return the offset (in milliseconds) of an interval returned by {@link #intervalIndex(long, int)}
+	 */
+	int intervalOffset(int index) {
+		return offsets[index];
+	}
+
+	private boolean isInInterval(long utcMillis, int index) {
+		return (index == 0 || transitions[index - 1] <= utcMillis) && (index == transitions.length || utcMillis < transitions[index]);
+	}
+
+	/**
+	 *
+	 * @return the number of transitions at or before utcMillis, a covered time
+	 */
+	private int intervalIndex(long utcMillis) {
+		int index = bucketIntervals[(int) ((utcMillis - RANGE_START) >>> BUCKET_SHIFT)];
+		while (index < transitions.length && transitions[index] <= utcMillis) {
+			index++;
+		}
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return "ZoneOffsetTable[" + zone + ", " + transitions.length + " transitions]";
+	}
+}
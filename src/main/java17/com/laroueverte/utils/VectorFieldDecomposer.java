@@ -0,0 +1,156 @@
+package com.laroueverte.utils;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link FieldDecomposer} on the SIMD lanes of the Vector API, with the same arithmetic as {@link EpochDays#toCivil(long)} done lane-wise. Only in the Java
+ * 17 layer of the multi-release jar, loaded by {@link DateFieldColumns} when the jdk.incubator.vector module is present.<br>
+ * Java 17 compiles no lane division : divisions by constants are multiplications by rounded up reciprocals and shifts, corrected by one. A first loop splits
+ * the local times into days and milliseconds of day on long lanes, the next ones the hours and days of week, the eras, the years, then the months and days
+ * on int lanes : loops small enough for the JIT to inline every vector operation. Chunks with local times outside of {@value #MIN_YEAR} to
+ * {@value #MAX_YEAR}, where the products could overflow, are decomposed again by the scalar implementation
+ *
+ * @author la roue verte
+ */
+final class VectorFieldDecomposer implements FieldDecomposer {
+	private static final int MIN_YEAR = 1693;
+	private static final int MAX_YEAR = 2247;
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+	/** Same number of lanes as LONGS, on half the bits */
+	private static final VectorSpecies<Integer> HALF_INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	/** Within 2^43 milliseconds of EPOCH, local times shifted by 10 bits are below 2^33, and their products by DAY_RECIPROCAL below 2^63 */
+	private static final long MIN_LOCAL = EpochDays.of(MIN_YEAR, 1, 1) * EpochDays.MILLIS_PER_DAY;
+	private static final long MAX_LOCAL = EpochDays.of(MAX_YEAR + 1, 1, 1) * EpochDays.MILLIS_PER_DAY;
+	/** A day is 2^10 x 84375 milliseconds */
+	private static final int DAY_SHIFT = 10;
+	private static final long DAY_REMAINDER = EpochDays.MILLIS_PER_DAY >> DAY_SHIFT;
+	private static final long DAY_RECIPROCAL = (1L << 46) / DAY_REMAINDER + 1;
+	/** Whole weeks making epoch days from MIN_YEAR positive */
+	private static final int WEEK_BIAS = 7 * 20_000;
+	private static final int DAYS_PER_ERA = 146_097;
+	/** Epoch day marking the local times left to the scalar implementation */
+	private static final int SCALAR = Integer.MIN_VALUE;
+
+	private final FieldDecomposer scalar = new ScalarFieldDecomposer();
+
+	@Override
+	public void decompose(long[] localMillis, int from, int to, int offset, int[] years, int[] months, int[] days, int[] hours, int[] daysOfWeek) {
+		int[] epochDays = new int[to - from];
+		int[] millisOfDays = new int[to - from];
+		splitDays(localMillis, from, to, epochDays, millisOfDays);
+		int bound = INTS.loopBound(epochDays.length);
+		int column = offset + from;
+		splitTimes(epochDays, millisOfDays, bound, column, hours, daysOfWeek);
+		int[] daysOfYear = millisOfDays;
+		splitEras(epochDays, bound, column, years, daysOfYear);
+		splitYears(daysOfYear, bound, column, years);
+		splitMonths(daysOfYear, bound, column, years, months, days);
+		for (int i = 0; i < bound; i += INTS.length()) {
+			if (IntVector.fromArray(INTS, epochDays, i).compare(VectorOperators.EQ, SCALAR).anyTrue()) {
+				scalar.decompose(localMillis, from + i, from + i + INTS.length(), offset, years, months, days, hours, daysOfWeek);
+			}
+		}
+		scalar.decompose(localMillis, from + bound, to, offset, years, months, days, hours, daysOfWeek);
+	}
+
+	/**
+	 * Splits localMillis[from, to) into epochDays and millisOfDays from index 0, with {@link #SCALAR} epoch days when out of the lanes
+	 */
+	private static void splitDays(long[] localMillis, int from, int to, int[] epochDays, int[] millisOfDays) {
+		int i = from;
+		for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+			LongVector local = LongVector.fromArray(LONGS, localMillis, i);
+			if (local.compare(VectorOperators.LT, MIN_LOCAL).or(local.compare(VectorOperators.GE, MAX_LOCAL)).anyTrue()) {
+				IntVector.broadcast(HALF_INTS, SCALAR).intoArray(epochDays, i - from);
+				continue;
+			}
+			// floor(floor(local / 2^10) / 84375) is floor(local / 86400000)
+			LongVector shifted = local.lanewise(VectorOperators.ASHR, DAY_SHIFT);
+			LongVector epochDay = shifted.mul(DAY_RECIPROCAL).lanewise(VectorOperators.ASHR, 46);
+			LongVector remainder = shifted.sub(epochDay.mul(DAY_REMAINDER));
+			epochDay = epochDay.sub(1, remainder.compare(VectorOperators.LT, 0)).add(1, remainder.compare(VectorOperators.GE, DAY_REMAINDER));
+			toInts(epochDay).intoArray(epochDays, i - from);
+			toInts(local.sub(epochDay.mul(EpochDays.MILLIS_PER_DAY))).intoArray(millisOfDays, i - from);
+		}
+		for (; i < to; i++) {
+			epochDays[i - from] = SCALAR;
+		}
+	}
+
+	/**
+	 * Writes the hours and days of week of epochDays[0, to) at column
+	 */
+	private static void splitTimes(int[] epochDays, int[] millisOfDays, int to, int column, int[] hours, int[] daysOfWeek) {
+		for (int i = 0; i < to; i += INTS.length()) {
+			// An hour is 2^7 x 28125 milliseconds
+			divide(IntVector.fromArray(INTS, millisOfDays, i).lanewise(VectorOperators.LSHR, 7), 28_125, 25).intoArray(hours, column + i);
+			// Positive from MIN_YEAR, and 2^9 is 1 modulo 7, so is week >> 9 + week & 511 : below 1000
+			IntVector week = IntVector.fromArray(INTS, epochDays, i).add(4 + WEEK_BIAS);
+			week = week.lanewise(VectorOperators.LSHR, 9).add(week.and(511));
+			week.sub(divide(week, 7, 16).mul(7)).add(1).intoArray(daysOfWeek, column + i);
+		}
+	}
+
+	/**
+	 * Writes the first years of the 400 years eras of epochDays[0, to) at column, and their days of era into daysOfEra
+	 */
+	private static void splitEras(int[] epochDays, int to, int column, int[] years, int[] daysOfEra) {
+		for (int i = 0; i < to; i += INTS.length()) {
+			// Positive from MIN_YEAR, below 2^20 until MAX_YEAR
+			IntVector z = IntVector.fromArray(INTS, epochDays, i).add(719_468);
+			IntVector era = divide(z, DAYS_PER_ERA, 28);
+			z.sub(era.mul(DAYS_PER_ERA)).intoArray(daysOfEra, i);
+			era.mul(400).intoArray(years, column + i);
+		}
+	}
+
+	/**
+	 * Adds the years of era of daysOfEra[0, to) to the years at column, starting in March, and replaces the days of era by the days from March 1st
+	 */
+	private static void splitYears(int[] daysOfEra, int to, int column, int[] years) {
+		for (int i = 0; i < to; i += INTS.length()) {
+			IntVector dayOfEra = IntVector.fromArray(INTS, daysOfEra, i);
+			IntVector yearOfEra = divide(dayOfEra.sub(divide(dayOfEra, 1460, 23)).add(divide(dayOfEra, 36_524, 28)).sub(divide(dayOfEra, 146_096, 30)),
+					365, 21);
+			dayOfEra.sub(yearOfEra.mul(365).add(yearOfEra.lanewise(VectorOperators.LSHR, 2)).sub(divide(yearOfEra, 100, 16))).intoArray(daysOfEra, i);
+			IntVector.fromArray(INTS, years, column + i).add(yearOfEra).intoArray(years, column + i);
+		}
+	}
+
+	/**
+	 * Writes the months and days of daysOfYear[0, to), and moves the years at column to January for January and February
+	 */
+	private static void splitMonths(int[] daysOfYear, int to, int column, int[] years, int[] months, int[] days) {
+		for (int i = 0; i < to; i += INTS.length()) {
+			IntVector dayOfYear = IntVector.fromArray(INTS, daysOfYear, i);
+			IntVector mp = divide(dayOfYear.mul(5).add(2), 153, 16);
+			dayOfYear.sub(divide(mp.mul(153).add(2), 5, 16)).add(1).intoArray(days, column + i);
+			VectorMask<Integer> janFeb = mp.compare(VectorOperators.GE, 10);
+			mp.add(3).blend(mp.sub(9), janFeb).intoArray(months, column + i);
+			IntVector.fromArray(INTS, years, column + i).add(1, janFeb).intoArray(years, column + i);
+		}
+	}
+
+	private static IntVector toInts(LongVector values) {
+		return (IntVector) values.convertShape(VectorOperators.L2I, HALF_INTS, 0);
+	}
+
+	/**
+	 * Divides by a multiplication by the rounded up reciprocal, which overestimates by one at most, then corrects the quotient
+	 *
+	 * @param dividend are positive values, small enough for their products by the reciprocal to stay below 2^31
+	 * @param shift is the precision of the reciprocal, high enough for the error dividend x (reciprocal x divisor - 2^shift) / (divisor x 2^shift) to stay
+	 *        below 1
+	 */
+	private static IntVector divide(IntVector dividend, int divisor, int shift) {
+		int reciprocal = (int) (((1L << shift) + divisor - 1) / divisor);
+		IntVector quotient = dividend.mul(reciprocal).lanewise(VectorOperators.LSHR, shift);
+		return quotient.sub(1, dividend.sub(quotient.mul(divisor)).compare(VectorOperators.LT, 0));
+	}
+}
@@ -0,0 +1,240 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BoundaryTickerTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	/**
+	 * Only records the scheduled ticks, the test runs them
+	 */
+	static class RecordingScheduler extends ScheduledThreadPoolExecutor {
+		final List<Runnable> tasks = new ArrayList<>();
+		final List<Long> delays = new ArrayList<>();
+
+		RecordingScheduler() {
+			super(0);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			tasks.add(command);
+			delays.add(unit.toMillis(delay));
+			return null;
+		}
+	}
+
+	private final RecordingScheduler scheduler = new RecordingScheduler();
+
+	private final SimulatedClock clock = new SimulatedClock(0);
+	private final List<DateConstant> ticks = new ArrayList<>();
+
+	private static long instant(String iso) {
+		return DateBuilder.iso8601(iso).getTimeInMillis();
+	}
+
+	private BoundaryTicker start(TimeBoundary boundary, String nowIso) {
+		clock.millis = instant(nowIso);
+		BoundaryTicker ticker = new BoundaryTicker(boundary, PARIS, scheduler, ticks::add, clock);
+		ticker.start();
+		return ticker;
+	}
+
+	/**
+	 * Runs the last scheduled tick at the given time
+	 *
+	 * @return the delay of the following tick
+	 */
+	private long runTickAt(String nowIso) {
+		clock.millis = instant(nowIso);
+		scheduler.tasks.get(scheduler.tasks.size() - 1).run();
+		return scheduler.delays.get(scheduler.delays.size() - 1);
+	}
+
+	@Test
+	void start_should_schedule_the_next_boundary() {
+		// Act
+		BoundaryTicker ticker = start(TimeBoundary.HOUR, "2024-07-01T10:59:30+02:00");
+
+		// Assert
+		assertThat(scheduler.delays).containsExactly(30_000L);
+		assertThat(ticker.getNextDeadline()).isEqualTo(instant("2024-07-01T11:00+02:00"));
+	}
+
+	@Test
+	void tick_should_reschedule_from_the_boundary_and_measure_lateness() {
+		// Arrange
+		BoundaryTicker ticker = start(TimeBoundary.HOUR, "2024-07-01T10:59:30+02:00");
+
+		// Act
+		long delay = runTickAt("2024-07-01T11:00:00.040+02:00");
+
+		// Assert
+		assertThat(ticks).extracting(DateConstant::getTimeInMillis).containsExactly(instant("2024-07-01T11:00+02:00"));
+		assertThat(delay).isEqualTo(3_600_000 - 40);
+		assertThat(ticker.getTickCount()).isEqualTo(1);
+		assertThat(ticker.getLastLatenessMillis()).isEqualTo(40);
+		assertThat(ticker.getMaxLatenessMillis()).isEqualTo(40);
+		assertThat(ticker.getMeanLatenessMillis()).isEqualTo(40.0);
+	}
+
+	@Test
+	void tick_should_not_fire_before_the_boundary() {
+		// Arrange
+		BoundaryTicker ticker = start(TimeBoundary.MINUTE, "2024-07-01T10:59:30+02:00");
+
+		// Act
+		long delay = runTickAt("2024-07-01T10:59:59.990+02:00");
+
+		// Assert
+		assertThat(ticks).isEmpty();
+		assertThat(delay).isEqualTo(10);
+		assertThat(ticker.getNextDeadline()).isEqualTo(instant("2024-07-01T11:00+02:00"));
+	}
+
+	@Test
+	void tick_should_skip_and_count_missed_boundaries() {
+		// Arrange
+		BoundaryTicker ticker = start(TimeBoundary.HOUR, "2024-07-01T10:59:30+02:00");
+
+		// Act
+		long delay = runTickAt("2024-07-01T13:00:00.005+02:00");
+
+		// Assert
+		assertThat(ticks).hasSize(1);
+		assertThat(ticker.getMissedCount()).isEqualTo(2);
+		assertThat(ticker.getLastLatenessMillis()).isEqualTo(2 * 3_600_000 + 5);
+		assertThat(ticker.getNextDeadline()).isEqualTo(instant("2024-07-01T14:00+02:00"));
+		assertThat(delay).isEqualTo(3_600_000 - 5);
+	}
+
+	@Test
+	void tick_should_follow_days_lengthened_by_daylight_saving() {
+		// Arrange
+		start(TimeBoundary.DAY, "2024-10-26T12:00+02:00");
+
+		// Act
+		long delay = runTickAt("2024-10-27T00:00+02:00");
+
+		// Assert
+		assertThat(ticks.get(0).getHour()).isZero();
+		assertThat(delay).isEqualTo(25 * 3_600_000L);
+	}
+
+	@Test
+	void stop_should_ignore_a_pending_tick() {
+		// Arrange
+		BoundaryTicker ticker = start(TimeBoundary.MINUTE, "2024-07-01T10:59:30+02:00");
+
+		// Act
+		ticker.stop();
+		runTickAt("2024-07-01T11:00+02:00");
+
+		// Assert
+		assertThat(ticks).isEmpty();
+		assertThat(ticker.getTickCount()).isZero();
+	}
+
+	@Test
+	void listener_should_run_outside_of_the_ticker_lock() {
+		// Arrange
+		clock.millis = instant("2024-07-01T10:59:30+02:00");
+		List<Boolean> stoppedFromAnotherThread = new ArrayList<>();
+		BoundaryTicker[] ticker = new BoundaryTicker[1];
+		ticker[0] = new BoundaryTicker(TimeBoundary.MINUTE, PARIS, scheduler, date -> {
+			Thread stopper = new Thread(ticker[0]::stop);
+			stopper.start();
+			try {
+				stopper.join(5000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			stoppedFromAnotherThread.add(!stopper.isAlive());
+		}, clock);
+		ticker[0].start();
+
+		// Act
+		runTickAt("2024-07-01T11:00+02:00");
+
+		// Assert
+		assertThat(stoppedFromAnotherThread).containsExactly(true);
+		assertThat(ticker[0].getNextDeadline()).isEqualTo(instant("2024-07-01T11:01+02:00"));
+	}
+
+	/**
+	 * Starts a minute ticker whose listener blocks on the first tick, runs that tick on a thread, then the following tick on another one
+	 *
+	 * @return the threads of both ticks, the first one blocked in the listener
+	 */
+	private Thread[] runOverlappingTicks(BoundaryTicker[] ticker, List<Long> delivered, CountDownLatch inListener, CountDownLatch release)
+			throws InterruptedException {
+		clock.millis = instant("2024-07-01T10:59:30+02:00");
+		ticker[0] = new BoundaryTicker(TimeBoundary.MINUTE, PARIS, scheduler, date -> {
+			delivered.add(date.getTimeInMillis());
+			inListener.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, clock);
+		ticker[0].start();
+		clock.millis = instant("2024-07-01T11:00:59.900+02:00");
+		Thread first = new Thread(scheduler.tasks.get(0));
+		first.start();
+		inListener.await(5, TimeUnit.SECONDS);
+		// The first listener call outlasts the minute : the second tick runs on another scheduler thread
+		clock.millis = instant("2024-07-01T11:01:00.100+02:00");
+		Thread second = new Thread(scheduler.tasks.get(1));
+		second.start();
+		second.join(200);
+		return new Thread[] { first, second };
+	}
+
+	@Test
+	void listener_should_get_overlapping_ticks_one_at_a_time_and_in_order() throws InterruptedException {
+		// Arrange
+		List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch release = new CountDownLatch(1);
+		Thread[] threads = runOverlappingTicks(new BoundaryTicker[1], delivered, new CountDownLatch(1), release);
+
+		// Act
+		List<Long> whileBlocked = new ArrayList<>(delivered);
+		release.countDown();
+		threads[0].join(5000);
+		threads[1].join(5000);
+
+		// Assert
+		assertThat(whileBlocked).containsExactly(instant("2024-07-01T11:00+02:00"));
+		assertThat(delivered).containsExactly(instant("2024-07-01T11:00+02:00"), instant("2024-07-01T11:01+02:00"));
+	}
+
+	@Test
+	void stop_should_prevent_a_waiting_tick_from_reaching_the_listener() throws InterruptedException {
+		// Arrange
+		List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch release = new CountDownLatch(1);
+		BoundaryTicker[] ticker = new BoundaryTicker[1];
+		Thread[] threads = runOverlappingTicks(ticker, delivered, new CountDownLatch(1), release);
+
+		// Act
+		ticker[0].stop();
+		release.countDown();
+		threads[0].join(5000);
+		threads[1].join(5000);
+
+		// Assert
+		assertThat(delivered).containsExactly(instant("2024-07-01T11:00+02:00"));
+	}
+}
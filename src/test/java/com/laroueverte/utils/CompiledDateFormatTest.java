@@ -0,0 +1,75 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledDateFormatTest extends UnitTest {
+	private static final long[] INSTANTS = { 0, -1, 1_700_000_000_123L, DateBuilder.dateTime(2024, 3, 31, 1, 59, 59, 999).getTimeInMillis(),
+			DateBuilder.dateTime(2024, 3, 31, 3, 0).getTimeInMillis(), DateBuilder.dateTime(2024, 10, 27, 2, 30).addHours(-1).getTimeInMillis(),
+			DateBuilder.dateTime(2024, 10, 27, 2, 30).getTimeInMillis(), DateBuilder.dateTime(2024, 12, 31, 23, 59, 59, 999).getTimeInMillis(),
+			DateBuilder.dateTime(2000, 2, 29, 12, 0).getTimeInMillis(), DateBuilder.dateTime(1950, 1, 1, 0, 0).getTimeInMillis(),
+			DateBuilder.dateTime(2100, 6, 15, 17, 5, 9, 7).getTimeInMillis() };
+
+	@ParameterizedTest
+	@ValueSource(strings = { DateConstant.ISO_FORMAT, DateConstant.ISO_FORMAT_TIME, DateConstant.FRENCH_FORMAT, DateConstant.DATE_TIME_FOR_FILE_FORMAT,
+			DateConstant.MONTH_NAME_FORMAT, DateConstant.DATETIME_FORMAT_FRENCH_LONG, "HH:mm", "yy-M-d H:m:s.S", "yyyyy.MMM.dd GGG hh:mm aaa", "EEE, d MMM yyyy HH:mm:ss Z",
+			"yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "X XX", "'le' MMMM", "u D F k K h a", "'o''clock' ''", "GGGG MMMM aaaa" })
+	void format_should_match_SimpleDateFormat(String pattern) {
+		for (Locale locale : new Locale[] { Locale.FRENCH, Locale.ENGLISH, Locale.GERMAN, Locale.getDefault(Locale.Category.FORMAT) }) {
+			// Arrange
+			CompiledDateFormat compiled = CompiledDateFormat.compile(pattern, locale);
+			SimpleDateFormat reference = new SimpleDateFormat(pattern, locale);
+			for (long instant : INSTANTS) {
+				// Act
+				String result = compiled.format(instant, new StringBuilder()).toString();
+
+				// Assert
+				assertThat(result).as(pattern + " " + locale + " " + instant).isEqualTo(reference.format(new Date(instant)));
+			}
+		}
+	}
+
+	@Test
+	void format_should_use_the_given_zone() {
+		// Arrange
+		CompiledDateFormat compiled = CompiledDateFormat.compile("yyyy-MM-dd HH:mm Z", Locale.FRENCH, ZoneId.of("America/St_Johns"));
+		SimpleDateFormat reference = new SimpleDateFormat("yyyy-MM-dd HH:mm Z", Locale.FRENCH);
+		reference.setTimeZone(TimeZone.getTimeZone("America/St_Johns"));
+
+		// Act & Assert
+		for (long instant : INSTANTS) {
+			assertThat(compiled.format(instant, new StringBuilder()).toString()).isEqualTo(reference.format(new Date(instant)));
+		}
+	}
+
+	@Test
+	void format_should_append_to_the_given_builder() {
+		// Arrange
+		CompiledDateFormat compiled = CompiledDateFormat.compile(DateConstant.DATETIME_FORMAT_FRENCH_LONG, Locale.FRENCH);
+		StringBuilder builder = new StringBuilder("Rendez-vous le ");
+
+		// Act
+		compiled.format(DateBuilder.dateTime(2011, 7, 11, 10, 40), builder);
+
+		// Assert
+		assertThat(builder.toString()).isEqualTo("Rendez-vous le lundi 11 juillet 2011 10h40");
+	}
+
+	@Test
+	void unsupported_letters_should_be_rejected() {
+		assertThatThrownBy(() -> CompiledDateFormat.compile("ww")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CompiledDateFormat.compile("qq")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CompiledDateFormat.compile("'unterminated")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CompiledDateFormat.compile("XXXX")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,82 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CurrentTimeFormatTest extends UnitTest {
+	private static final long NOW = DateBuilder.iso8601("2024-07-14T10:25:30.123Z").getTimeInMillis();
+
+	@AfterEach
+	void resetClock() {
+		DateBuilder.setClock(Clock.systemDefaultZone());
+	}
+
+	@Test
+	void get_should_render_once_per_second() {
+		// Arrange
+		SimulatedClock clock = new SimulatedClock(NOW);
+		DateBuilder.setClock(clock);
+		CurrentTimeFormat format = CurrentTimeFormat.zuluTimeNoMillis();
+
+		// Act
+		String first = format.get();
+		clock.millis = NOW + 876;
+		String sameSecond = format.get();
+		clock.millis = NOW + 877;
+		String nextSecond = format.get();
+
+		// Assert
+		assertThat(first).isEqualTo(DateBuilder.milliseconds(NOW).toISO8601ZuluTimeNoMillis()).isSameAs(sameSecond);
+		assertThat(nextSecond).isEqualTo("2024-07-14T10:25:31Z");
+		assertThat(format.getBytes()).isEqualTo(nextSecond.getBytes(StandardCharsets.UTF_8)).isSameAs(format.getBytes());
+		assertThat(format.getRenderCount()).isEqualTo(2);
+	}
+
+	@Test
+	void get_should_render_again_when_the_clock_steps_back() {
+		// Arrange
+		SimulatedClock clock = new SimulatedClock(NOW);
+		DateBuilder.setClock(clock);
+		CurrentTimeFormat format = CurrentTimeFormat.isoFormatTime(ZoneId.of("Europe/Paris"));
+		format.get();
+
+		// Act
+		clock.millis = NOW - 60_000;
+		String result = format.get();
+
+		// Assert
+		assertThat(result).isEqualTo("2024-07-14 12:24:30");
+	}
+
+	@Nested
+	class of {
+		@Test
+		void should_render_every_millisecond_for_millisecond_patterns() {
+			// Arrange
+			SimulatedClock clock = new SimulatedClock(NOW);
+			DateBuilder.setClock(clock);
+			CurrentTimeFormat format = CurrentTimeFormat.of("HH:mm:ss.SSS 'Seconds'", Locale.ROOT, ZoneId.of("UTC"));
+			CurrentTimeFormat quoted = CurrentTimeFormat.of("HH:mm 'Sharp'", Locale.ROOT, ZoneId.of("UTC"));
+
+			// Act
+			format.get();
+			quoted.get();
+			clock.millis = NOW + 1;
+			String result = format.get();
+			quoted.get();
+
+			// Assert
+			assertThat(result).isEqualTo("10:25:30.124 Seconds");
+			assertThat(format.getRenderCount()).isEqualTo(2);
+			assertThat(quoted.getRenderCount()).isEqualTo(1);
+		}
+	}
+}
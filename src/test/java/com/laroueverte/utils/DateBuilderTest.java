@@ -4,13 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.Calendar;
 import java.util.Date;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class DateBuilderTest extends UnitTest {
 
@@ -33,6 +39,28 @@ public class DateBuilderTest extends UnitTest {
 			// Assert
 			assertThat(date.getMillisecond()).isEqualTo(456);
 		}
+
+		@Test
+		void with_dates_should_combine_as_calendar_setters() throws ParseException {
+			for (String day : new String[] { "2024-03-31", "2024-10-27", "2024-07-14", "1950-01-01", "1905-06-01", "1890-06-01", "1850-06-01" }) {
+				for (int minutes = 0; minutes < 1440; minutes += 15) {
+					// Arrange
+					Date date = DateBuilder.iso(day).addHours(12).setMillisecond(321).getDate();
+					Date time = DateBuilder.time(minutes / 60, minutes % 60, 7).setMillisecond(999).getDate();
+					Calendar reference = Calendar.getInstance();
+					reference.setTime(date);
+					reference.set(Calendar.HOUR_OF_DAY, minutes / 60);
+					reference.set(Calendar.MINUTE, minutes % 60);
+					reference.set(Calendar.SECOND, 7);
+
+					// Act
+					DateBuilder result = DateBuilder.dateTime(date, time);
+
+					// Assert
+					assertThat(result.getTimeInMillis()).as(day + " " + minutes).isEqualTo(reference.getTimeInMillis());
+				}
+			}
+		}
 	}
 
 	@Test
@@ -164,6 +192,266 @@ public class DateBuilderTest extends UnitTest {
 		assertThat(DateBuilder.iso8601(iso8601ParisSummer).getDate().getTime()).isEqualTo(okDateSummer.getTime());
 	}
 
+	@Nested
+	class addMillis {
+		@Test
+		void should_add_exact_elapsed_time() {
+			// Arrange
+			DateBuilder date = DateBuilder.dateTime(2022, 11, 27, 2, 58, 0, 0);
+
+			// Act
+			date.addMillis(1_234);
+
+			// Assert
+			assertThat(date).isEqualTo(DateBuilder.dateTime(2022, 11, 27, 2, 58, 1, 234));
+		}
+
+		@Test
+		void should_be_elapsed_time_across_summer_dst() {
+			// Arrange
+			DateBuilder date = DateBuilder.dateTime(2024, 3, 31, 1, 30);
+
+			// Act
+			date.addMillis(60 * 60 * 1000);
+
+			// Assert
+			assertThat(date.getHour()).isEqualTo(3);
+			assertThat(date.getMinute()).isEqualTo(30);
+		}
+
+		@Test
+		void addHours_should_remain_elapsed_time_across_winter_dst() {
+			// Arrange
+			DateBuilder date = DateBuilder.dateTime(2024, 10, 27, 1, 30);
+
+			// Act
+			date.addHours(2);
+
+			// Assert
+			assertThat(date.getHour()).isEqualTo(2);
+			assertThat(date.getTimeZoneOffset()).isEqualTo(60);
+		}
+	}
+
+	@Nested
+	class addDuration {
+		@Test
+		void should_keep_milliseconds() {
+			// Arrange
+			DateBuilder date = DateBuilder.dateTime(2022, 11, 27, 2, 58, 0, 0);
+
+			// Act
+			date.addDuration(Duration.ofMillis(1_500));
+
+			// Assert
+			assertThat(date.getSecond()).isEqualTo(1);
+			assertThat(date.getMillisecond()).isEqualTo(500);
+		}
+
+		@Test
+		void should_not_overflow_beyond_68_years() {
+			// Arrange
+			DateBuilder date = DateBuilder.milliseconds(0);
+
+			// Act
+			date.addDuration(Duration.ofDays(100 * 365));
+
+			// Assert
+			assertThat(date.getTimeInMillis()).isEqualTo(100 * 365 * 86_400_000L);
+		}
+
+		@Test
+		void should_go_back_in_time_with_negative_duration() {
+			// Arrange
+			DateBuilder date = DateBuilder.milliseconds(0);
+
+			// Act
+			date.addDuration(Duration.ofMillis(-1));
+
+			// Assert
+			assertThat(date.getTimeInMillis()).isEqualTo(-1);
+		}
+	}
+
+	@Nested
+	class xToReach {
+		@Test
+		void days_should_count_local_days_across_dst() {
+			// Arrange
+			DateBuilder start = DateBuilder.dateTime(2024, 3, 30, 12, 0);
+
+			// Act
+			int result = start.getDaysToReach(DateBuilder.dateTime(2024, 3, 31, 12, 0).getDate());
+
+			// Assert
+			assertThat(result).isEqualTo(1);
+			assertThat(start.getDaysToReach(DateBuilder.dateTime(2024, 3, 31, 11, 59))).isZero();
+			assertThat(start.getHoursToReach(DateBuilder.dateTime(2024, 3, 31, 12, 0).getDate())).isEqualTo(23);
+		}
+
+		@Test
+		void should_not_overflow_over_a_century() {
+			// Arrange
+			DateBuilder start = DateBuilder.date(1950, 1, 1);
+			DateBuilder end = DateBuilder.date(2100, 1, 1);
+
+			// Act
+			int result = start.getDaysToReach(end.getDate());
+
+			// Assert
+			assertThat(result).isEqualTo(54787);
+			assertThat(start.getMinutesToReach(end.getDate())).isEqualTo(54787 * 1440);
+			assertThat(start.getWeeksToReach(end)).isEqualTo(7826);
+			assertThat(start.getMonthsToReach(end.getTimeInMillis())).isEqualTo(1800);
+			assertThat(start.getYearsToReach(end)).isEqualTo(150);
+		}
+
+		@Test
+		void months_should_need_the_same_day_and_time() {
+			// Arrange
+			DateBuilder start = DateBuilder.dateTime(2024, 1, 31, 10, 0);
+
+			// Act & Assert
+			assertThat(start.getMonthsToReach(DateBuilder.dateTime(2024, 2, 29, 23, 0))).isZero();
+			assertThat(start.getMonthsToReach(DateBuilder.dateTime(2024, 3, 31, 10, 0))).isEqualTo(2);
+			assertThat(DateBuilder.dateTime(2024, 3, 31, 10, 0).getMonthsToReach(start)).isEqualTo(-2);
+		}
+	}
+
+	@Nested
+	class inZone {
+		@Test
+		void should_keep_the_instant_and_change_the_fields() {
+			// Arrange
+			DateBuilder date = DateBuilder.iso8601("2024-07-01T10:15Z");
+
+			// Act
+			DateBuilder result = date.inZone(ZoneId.of("Asia/Tokyo"));
+
+			// Assert
+			assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-01T10:15Z").getTimeInMillis());
+			assertThat(result.getHour()).isEqualTo(19);
+			assertThat(result.getZone()).isEqualTo(ZoneId.of("Asia/Tokyo"));
+			assertThat(result.toString("yyyy-MM-dd HH:mm Z")).isEqualTo("2024-07-01 19:15 +0900");
+			assertThat(result.toOffsetDateTime().toString()).isEqualTo("2024-07-01T19:15+09:00");
+		}
+
+		@Test
+		void should_apply_trim_and_add_in_the_zone() {
+			// Act
+			DateBuilder result = DateBuilder.milliseconds(DateBuilder.iso8601("2024-03-09T12:00Z").getTimeInMillis(), ZoneId.of("America/New_York")).addDays(1)
+					.trimToDay();
+
+			// Assert
+			assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-03-10T00:00-05:00").getTimeInMillis());
+		}
+
+		@Test
+		void should_be_kept_by_builder_and_constant() {
+			// Arrange
+			DateBuilder date = DateBuilder.localDateTime(LocalDateTime.of(2024, 7, 1, 8, 0), ZoneId.of("America/New_York"));
+
+			// Act
+			DateConstant constant = date.constant();
+			DateBuilder builder = constant.builder();
+
+			// Assert
+			assertThat(date.getHour()).isEqualTo(8);
+			assertThat(constant.getHour()).isEqualTo(8);
+			assertThat(builder.getZone()).isEqualTo(ZoneId.of("America/New_York"));
+			assertThat(builder.getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-01T12:00Z").getTimeInMillis());
+		}
+	}
+
+	@Nested
+	class tryParse {
+		private final DateParseResult result = new DateParseResult();
+
+		@ParameterizedTest
+		@ValueSource(strings = { "2017-02-13T08:08:43Z", "2017-02-13T09:08:43+01:00", "2017-02-13T07:08:43-01:00", "2017-02-13T09:08:43", "2017-02-13T09:08",
+				"2017-07-13T09:08:43+02:00", "2017-07-13T09:08:43.5", "2017-07-13T09:08:43.123456789Z", "1969-12-31T23:59:59.999Z", "2024-02-29T00:00",
+				"2024-10-27T02:30", "2024-03-31T02:30", "2017-02-13t09:08:43" })
+		void tryIso8601_should_match_iso8601(String iso) {
+			// Act
+			boolean success = DateBuilder.tryIso8601(iso, result);
+
+			// Assert
+			assertThat(success).isTrue();
+			assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601(iso).getTimeInMillis());
+			assertThat(result.toDateBuilder()).isEqualTo(DateBuilder.iso8601(iso));
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "2017-02-13T09:08:43+0100, 19", "2017-02-30T09:08, 8", "2017-13-01T09:08, 5", "2017-02-13 09:08, 10", "2017-02-13T24:08, 11",
+				"2017-02-13T09:08:60, 17", "2017-0a-13T09:08, 6", "2017-02-13T09:08z, 16", "2017-02-13, 10", "2017-02-13T09:08+19:00, 16" })
+		void tryIso8601_should_report_error_position(String iso, int errorIndex) {
+			// Act
+			boolean success = DateBuilder.tryIso8601(iso, result);
+
+			// Assert
+			assertThat(success).isFalse();
+			assertThat(result.isSuccess()).isFalse();
+			assertThat(result.getErrorIndex()).isEqualTo(errorIndex);
+			assertThat(result.getReason()).isNotNull();
+			assertThat(result.toDateBuilder()).isNull();
+			try {
+				DateBuilder.iso8601(iso);
+				fail("iso8601 should reject " + iso);
+			} catch (DateTimeParseException e) {
+				// OK
+			}
+		}
+
+		@Test
+		void tryIsoTimestamp_should_match_isoTimestamp() throws ParseException {
+			// Act
+			boolean success = DateBuilder.tryIsoTimestamp("2015-09-01 08:20:00", result);
+
+			// Assert
+			assertThat(success).isTrue();
+			assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.isoTimestamp("2015-09-01 08:20:00").getTimeInMillis());
+		}
+
+		@Test
+		void tryIso_should_report_error_index_instead_of_throwing() {
+			// Act
+			boolean success = DateBuilder.tryIso("2015/09/01", result);
+
+			// Assert
+			assertThat(success).isFalse();
+			assertThat(result.getErrorIndex()).isEqualTo(4);
+		}
+
+		@Test
+		void result_should_be_reusable() {
+			// Act
+			DateBuilder.tryIso("bad", result);
+			boolean success = DateBuilder.tryIso("2015-09-01", result);
+
+			// Assert
+			assertThat(success).isTrue();
+			assertThat(result.getErrorIndex()).isEqualTo(-1);
+			assertThat(result.getReason()).isNull();
+			assertThat(result.toDateBuilder()).isEqualTo(DateBuilder.date(2015, 9, 1));
+		}
+
+		@Test
+		void new_result_should_not_be_a_success() {
+			// Assert
+			assertThat(result.isSuccess()).isFalse();
+			assertThat(result.getErrorIndex()).isZero();
+			assertThat(result.getReason()).isEqualTo(DateParseResult.NOT_PARSED);
+			assertThat(result.toDateBuilder()).isNull();
+		}
+
+		@Test
+		void null_input_should_fail() {
+			// Assert
+			assertThat(DateBuilder.tryIso8601(null, result)).isFalse();
+			assertThat(DateBuilder.tryString(null, DateConstant.FRENCH_FORMAT, result)).isFalse();
+		}
+	}
+
 	@Test
 	void testMoveToPreviousDay() {
 		// Trim to week go back to previous monday
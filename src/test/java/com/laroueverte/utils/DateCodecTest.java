@@ -0,0 +1,76 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+class DateCodecTest extends UnitTest {
+
+	@Test
+	void single_value_should_round_trip() throws IOException {
+		// Arrange
+		DateConstant date = DateBuilder.dateTime(2022, 11, 28, 10, 11, 15, 568).constant();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		// Act
+		date.writeTo(new DataOutputStream(bytes));
+		DateBuilder result = DateBuilder.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		// Assert
+		assertThat(result).isEqualTo(date);
+	}
+
+	@Test
+	void zone_id_should_be_written_once_per_stream() throws IOException {
+		// Arrange
+		DateCodec writer = new DateCodec();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		writer.writeTo(DateBuilder.milliseconds(-1), out);
+		int firstSize = bytes.size();
+
+		// Act
+		writer.writeTo(DateBuilder.milliseconds(1_700_000_000_000L), out);
+		int secondSize = bytes.size() - firstSize;
+
+		// Assert : 6 bytes of varint millis plus 1 byte of zone index
+		assertThat(secondSize).isEqualTo(7);
+		DateCodec reader = new DateCodec();
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		assertThat(reader.readFrom(in).getTimeInMillis()).isEqualTo(-1);
+		assertThat(reader.readFrom(in).getTimeInMillis()).isEqualTo(1_700_000_000_000L);
+	}
+
+	@Test
+	void zone_should_be_restored() throws IOException {
+		// Arrange
+		DateBuilder date = DateBuilder.iso8601("2024-07-01T10:00Z");
+		date.calendar.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		// Act
+		date.writeTo(new DataOutputStream(bytes));
+		DateBuilder result = DateBuilder.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		// Assert
+		assertThat(result.getHour()).isEqualTo(6);
+		assertThat(result.getTimeZoneOffset()).isEqualTo(-4 * 60);
+	}
+
+	@Test
+	void unknown_zone_index_should_fail() {
+		// Arrange : millis 0, zone index 3 never defined
+		byte[] bytes = { 0, 3 };
+
+		// Act & Assert
+		assertThatThrownBy(() -> new DateCodec().readFrom(new DataInputStream(new ByteArrayInputStream(bytes)))).isInstanceOf(IOException.class);
+	}
+}
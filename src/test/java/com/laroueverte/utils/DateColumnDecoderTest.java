@@ -0,0 +1,130 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DateColumnDecoderTest extends UnitTest {
+	private static final String ROWS = "1;2024-07-14 10:25:30;a\r\n2;2024-07-15 00:00:00;b\n3;14/07/2024\n4;2024-07-14T10:25Z;c\n5;2024-13-01 00:00:00\n6\n";
+
+	private static List<String> decodeAll(DateColumnDecoder decoder) throws IOException {
+		List<String> rows = new ArrayList<>();
+		DateParseResult result = new DateParseResult();
+		while (decoder.next(result)) {
+			rows.add(decoder.getRowNumber() + ":" + (result.isSuccess() ? Long.toString(result.getTimeInMillis()) : result.getErrorIndex() + " " + result.getReason()));
+		}
+		return rows;
+	}
+
+	private static List<String> expectedRows() throws ParseException {
+		List<String> rows = new ArrayList<>();
+		rows.add("1:" + DateBuilder.isoTimestamp("2024-07-14 10:25:30").getTimeInMillis());
+		rows.add("2:" + DateBuilder.isoTimestamp("2024-07-15 00:00:00").getTimeInMillis());
+		rows.add("3:" + DateBuilder.date(2024, 7, 14).getTimeInMillis());
+		rows.add("4:" + DateBuilder.iso8601("2024-07-14T10:25Z").getTimeInMillis());
+		rows.add("5:5 invalid month");
+		rows.add("6:0 missing column");
+		return rows;
+	}
+
+	@Test
+	void next_should_decode_the_date_column_of_each_row() throws IOException, ParseException {
+		// Arrange
+		DateColumnDecoder decoder = DateColumnDecoder.of(new ByteArrayInputStream(ROWS.getBytes(StandardCharsets.US_ASCII)), ';', 1);
+
+		// Act
+		List<String> result = decodeAll(decoder);
+
+		// Assert
+		assertThat(result).containsExactlyElementsOf(expectedRows());
+	}
+
+	@Test
+	void next_should_handle_rows_split_across_reads_and_larger_than_the_buffer() throws IOException, ParseException {
+		// Arrange
+		DateColumnDecoder decoder = new DateColumnDecoder(new TrickleChannel(ROWS + "7;2024-07-14", 3), ';', 1, new DateFormatDetector(ZoneId.systemDefault()), 4);
+
+		// Act
+		List<String> result = decodeAll(decoder);
+
+		// Assert
+		List<String> expected = expectedRows();
+		expected.add("7:" + DateBuilder.date(2024, 7, 14).getTimeInMillis());
+		assertThat(result).containsExactlyElementsOf(expected);
+	}
+
+	@Nested
+	class next {
+		@Test
+		void should_return_false_on_an_empty_stream() throws IOException {
+			// Arrange
+			DateColumnDecoder decoder = DateColumnDecoder.of(new ByteArrayInputStream(new byte[0]), ',', 0);
+
+			// Act
+			boolean result = decoder.next(new DateParseResult());
+
+			// Assert
+			assertThat(result).isFalse();
+			assertThat(decoder.getRowNumber()).isZero();
+		}
+
+		@Test
+		void should_read_the_first_column() throws IOException {
+			// Arrange
+			DateColumnDecoder decoder = DateColumnDecoder.of(new ByteArrayInputStream("2024-07-14,x\n2024-07-15".getBytes(StandardCharsets.US_ASCII)), ',', 0);
+			DateParseResult result = new DateParseResult();
+
+			// Act & Assert
+			assertThat(decoder.next(result)).isTrue();
+			assertThat(result.toDateBuilder()).isEqualTo(DateBuilder.date(2024, 7, 14));
+			assertThat(decoder.next(result)).isTrue();
+			assertThat(result.toDateBuilder()).isEqualTo(DateBuilder.date(2024, 7, 15));
+			assertThat(decoder.next(result)).isFalse();
+		}
+	}
+
+	/**
+	 * Channel returning at most a few bytes per read, like a slow socket
+	 */
+	private static final class TrickleChannel implements ReadableByteChannel {
+		private final byte[] bytes;
+		private final int chunk;
+		private int position;
+
+		TrickleChannel(String text, int chunk) {
+			this.bytes = text.getBytes(StandardCharsets.US_ASCII);
+			this.chunk = chunk;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) {
+			if (position == bytes.length) {
+				return -1;
+			}
+			int length = Math.min(chunk, Math.min(dst.remaining(), bytes.length - position));
+			dst.put(bytes, position, length);
+			position += length;
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -3,7 +3,12 @@ package com.laroueverte.utils;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
 import java.util.Locale;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +49,18 @@ class DateConstantTest {
 			// Assert
 			assertThat(weekOfYear).isEqualTo(expectedWeekNumber);
 		}
+
+		@Test
+		void should_use_the_time_zone_of_the_date() {
+			// Arrange : Monday morning in Tokyo is still Sunday in the default zone
+			DateConstant dateConstant = DateBuilder.localDateTime(LocalDateTime.of(2024, 7, 8, 6, 30), ZoneId.of("Asia/Tokyo")).constant();
+
+			// Act
+			int weekOfYear = dateConstant.getWeekOfYear(Locale.FRENCH);
+
+			// Assert
+			assertThat(weekOfYear).isEqualTo(28);
+		}
 	}
 
 	@Nested
@@ -274,6 +291,23 @@ class DateConstantTest {
 			assertThat(result).isEqualTo(1 * 60);
 		}
 
+		@ParameterizedTest
+		@CsvSource({ "Europe/Paris, 2024-07-01T10:00Z, 120, 2024-07-01T12:00", "Europe/Paris, 2024-10-15T10:00Z, 60, 2024-10-15T11:00",
+				"Custom/Shifted, 2024-07-01T10:00Z, 300, 2024-07-01T15:00", "Custom/Shifted, 2024-10-15T10:00Z, 240, 2024-10-15T14:00" })
+		void should_honor_the_daylight_saving_of_a_SimpleTimeZone(String id, String iso, int expectedOffset, String expectedLocal) {
+			// Arrange : daylight saving from April 1st to October 1st, unlike the tzdb zone of the same ID
+			int rawOffset = id.startsWith("Custom") ? 4 * 3_600_000 : 3_600_000;
+			TimeZone timeZone = new SimpleTimeZone(rawOffset, id, Calendar.APRIL, 1, 0, 3_600_000, Calendar.OCTOBER, 1, 0, 3_600_000);
+			DateBuilder date = DateBuilder.iso8601(iso);
+			date.calendar.setTimeZone(timeZone);
+			date.calendar.setTimeInMillis(date.getTimeInMillis());
+
+			// Act & Assert
+			assertThat(date.getTimeZoneOffset()).isEqualTo(expectedOffset);
+			assertThat(date.toOffsetDateTime().getOffset().getTotalSeconds()).isEqualTo(expectedOffset * 60);
+			assertThat(date.toLocalDateTime()).isEqualTo(LocalDateTime.parse(expectedLocal));
+		}
+
 		@Test
 		void should_return_1h_in_the_second_2h_to_3h_span_in_winter_DST_when_set() {
 			// Arrange : this local date is non unique, behavior is not very defined... This code will produce 2h30 GMT+1 (after DST)
@@ -375,4 +409,29 @@ class DateConstantTest {
 			}
 		}
 	}
+
+	@Nested
+	class memoized {
+		@Test
+		void should_render_as_the_original_and_cache_renderings() {
+			// Arrange
+			DateBuilder builder = DateBuilder.iso8601("2024-07-14T10:25:30.123+02:00");
+
+			// Act
+			DateConstant result = builder.memoized();
+			builder.addDays(1);
+
+			// Assert
+			DateConstant original = DateBuilder.iso8601("2024-07-14T10:25:30.123+02:00").constant();
+			assertThat(result.toString()).isEqualTo(original.toString()).isSameAs(result.toString());
+			assertThat(result.toISOFormat()).isEqualTo(original.toISOFormat()).isSameAs(result.toISOTimestamp());
+			assertThat(result.toISO8601WithTimeZone()).isEqualTo(original.toISO8601WithTimeZone()).isSameAs(result.toISO8601OffsetDateTime());
+			assertThat(result.toISO8601LocalDateTime()).isEqualTo(original.toISO8601LocalDateTime()).isSameAs(result.toISO8601LocalDateTime());
+			assertThat(result.toISO8601ZuluTimeNoMillis()).isEqualTo("2024-07-14T08:25:30Z").isSameAs(result.toISO8601ZuluTimeNoMillis());
+			assertThat(result.toFrenchFormat()).isEqualTo("14/07/2024").isSameAs(result.toFrenchFormat());
+			assertThat(result.getTimeInMillis()).isEqualTo(original.getTimeInMillis());
+			assertThat(result.memoized()).isSameAs(result);
+			assertThat(result).isEqualTo(original);
+		}
+	}
 }
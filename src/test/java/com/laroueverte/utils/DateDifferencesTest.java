@@ -0,0 +1,52 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class DateDifferencesTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	@ParameterizedTest
+	@EnumSource(value = ChronoUnit.class, names = { "MILLIS", "SECONDS", "MINUTES", "HOURS", "DAYS", "WEEKS", "MONTHS", "YEARS" })
+	void between_should_match_java_time(ChronoUnit unit) {
+		// Arrange
+		Random random = new Random(unit.ordinal());
+		long base = DateBuilder.iso8601("2024-01-01T00:00Z").getTimeInMillis();
+		int count = 5000;
+		long[] starts = new long[count];
+		long[] ends = new long[count];
+		for (int i = 0; i < count; i++) {
+			starts[i] = base + (long) (random.nextDouble() * 400 * 86_400_000L);
+			// Mostly short differences around DST changes, some over a century
+			long span = i % 10 == 0 ? 100 * 366 * 86_400_000L : 70 * 86_400_000L;
+			ends[i] = starts[i] + (long) ((random.nextDouble() - 0.3) * span);
+		}
+		long[] results = new long[count];
+
+		// Act
+		DateDifferences.between(unit, starts, ends, results, PARIS);
+
+		// Assert
+		for (int i = 0; i < count; i++) {
+			ZonedDateTime start = Instant.ofEpochMilli(starts[i]).atZone(PARIS);
+			ZonedDateTime end = Instant.ofEpochMilli(ends[i]).atZone(PARIS);
+			assertThat(results[i]).as(start + " " + end).isEqualTo(unit.between(start, end));
+		}
+	}
+
+	@Test
+	void between_should_reject_other_units() {
+		// Act & Assert
+		assertThatThrownBy(() -> DateDifferences.between(ChronoUnit.DECADES, 0, 1, PARIS)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
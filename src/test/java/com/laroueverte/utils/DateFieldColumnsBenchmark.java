@@ -0,0 +1,44 @@
+package com.laroueverte.utils;
+
+import java.time.ZoneId;
+
+/**
+ * Compares the {@link DateConstant} getters with the scalar and vectorized {@link DateFieldColumns}, run as a main from the test classpath. Start it with
+ * {@code --add-modules jdk.incubator.vector} and the Java 17 classes first in the classpath to measure the vectorized path
+ *
+ * @author la roue verte
+ */
+public final class DateFieldColumnsBenchmark {
+	private static final int SIZE = 1_000_000;
+	private static final int ROUNDS = 10;
+
+	private DateFieldColumnsBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		ZoneId zone = ZoneId.of("Europe/Paris");
+		long[] instants = DateFieldColumnsTest.randomInstants(SIZE, 1900, 2100);
+		int[][] columns = new int[5][SIZE];
+		System.out.println("Vectorized : " + DateFieldColumns.isVectorized());
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			long hash = 0;
+			for (long instant : instants) {
+				DateConstant date = DateBuilder.milliseconds(instant, zone).constant();
+				hash += date.getYear() + date.getHumanMonth() + date.getDayOfMonth() + date.getHour() + date.getDayOfWeek();
+			}
+			long getters = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			DateFieldColumns.decompose(new ScalarFieldDecomposer(), instants, zone, columns[0], columns[1], columns[2], columns[3], columns[4]);
+			long scalar = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			DateFieldColumns.decompose(instants, zone, columns[0], columns[1], columns[2], columns[3], columns[4]);
+			long bulk = System.nanoTime() - start;
+
+			System.out.printf("Round %d : getters %.1f ns, scalar %.1f ns, default %.1f ns per date (%d)%n", round, (double) getters / SIZE,
+					(double) scalar / SIZE, (double) bulk / SIZE, hash + columns[0][0]);
+		}
+	}
+}
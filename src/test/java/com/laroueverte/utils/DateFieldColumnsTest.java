@@ -0,0 +1,127 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZoneId;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class DateFieldColumnsTest extends UnitTest {
+	static long[] randomInstants(int count, int fromYear, int toYear) {
+		long min = EpochDays.of(fromYear, 1, 1) * EpochDays.MILLIS_PER_DAY;
+		long max = EpochDays.of(toYear, 1, 1) * EpochDays.MILLIS_PER_DAY;
+		Random random = new Random(42);
+		long[] instants = new long[count];
+		for (int i = 0; i < count; i++) {
+			instants[i] = min + (long) (random.nextDouble() * (max - min));
+		}
+		return instants;
+	}
+
+	private static void assertMatchesGetters(FieldDecomposer decomposer, long[] instants, ZoneId zone) {
+		int[] years = new int[instants.length];
+		int[] months = new int[instants.length];
+		int[] days = new int[instants.length];
+		int[] hours = new int[instants.length];
+		int[] daysOfWeek = new int[instants.length];
+
+		if (decomposer == null) {
+			DateFieldColumns.decompose(instants, zone, years, months, days, hours, daysOfWeek);
+		} else {
+			DateFieldColumns.decompose(decomposer, instants, zone, years, months, days, hours, daysOfWeek);
+		}
+
+		for (int i = 0; i < instants.length; i++) {
+			DateConstant date = DateBuilder.milliseconds(instants[i], zone).constant();
+			String description = date.toISO8601OffsetDateTime();
+			assertThat(years[i]).as(description).isEqualTo(date.getYear());
+			assertThat(months[i]).as(description).isEqualTo(date.getHumanMonth());
+			assertThat(days[i]).as(description).isEqualTo(date.getDayOfMonth());
+			assertThat(hours[i]).as(description).isEqualTo(date.getHour());
+			assertThat(daysOfWeek[i]).as(description).isEqualTo(date.getDayOfWeek());
+		}
+	}
+
+	@Test
+	void decompose_should_match_DateConstant_getters() {
+		// Arrange : beyond the years of the zone offset tables and of the vector lanes
+		long[] instants = randomInstants(20_003, 1600, 2300);
+
+		for (ZoneId zone : new ZoneId[] { ZoneId.of("Europe/Paris"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kolkata") }) {
+			// Act & Assert
+			assertMatchesGetters(new ScalarFieldDecomposer(), instants, zone);
+			assertMatchesGetters(null, instants, zone);
+		}
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "datebuilder.vectorized", matches = "true")
+	void isVectorized_should_be_true_with_the_java17_layer() {
+		// Act & Assert
+		assertThat(DateFieldColumns.isVectorized()).isTrue();
+	}
+
+	@Nested
+	class decompose {
+		@Test
+		void should_handle_instants_before_EPOCH_and_day_boundaries() {
+			// Arrange
+			ZoneId utc = ZoneId.of("UTC");
+			long[] instants = { -1, 0, EpochDays.MILLIS_PER_DAY - 1, -EpochDays.MILLIS_PER_DAY, -EpochDays.MILLIS_PER_DAY - 1, 951_782_400_000L,
+					951_868_799_999L, EpochDays.of(1693, 1, 1) * EpochDays.MILLIS_PER_DAY, EpochDays.of(2248, 1, 1) * EpochDays.MILLIS_PER_DAY - 1 };
+
+			// Act & Assert
+			assertMatchesGetters(new ScalarFieldDecomposer(), instants, utc);
+			assertMatchesGetters(null, instants, utc);
+		}
+
+		@Test
+		void should_use_the_Calendar_offsets_before_1900() {
+			// Arrange : local mean time of Paris for java.time, +01:00 for Calendar
+			ZoneId paris = ZoneId.of("Europe/Paris");
+			long[] instants = { DateBuilder.iso8601("1850-06-01T10:30Z").getTimeInMillis(), DateBuilder.iso8601("1890-06-01T22:50Z").getTimeInMillis() };
+			int[][] columns = new int[5][instants.length];
+
+			// Act
+			DateFieldColumns.decompose(instants, paris, columns[0], columns[1], columns[2], columns[3], columns[4]);
+
+			// Assert
+			assertThat(columns[3]).containsExactly(11, 23);
+			assertMatchesGetters(new ScalarFieldDecomposer(), instants, paris);
+			assertMatchesGetters(null, instants, paris);
+		}
+
+		@Test
+		void should_match_EpochDays_on_every_day_of_an_era() {
+			// Arrange
+			int length = 146_097 + 5;
+			long firstDay = EpochDays.of(1800, 3, 1);
+			long[] instants = new long[length];
+			for (int i = 0; i < length; i++) {
+				instants[i] = (firstDay + i) * EpochDays.MILLIS_PER_DAY + i % 24 * 3_600_000L;
+			}
+			int[][] columns = new int[5][length];
+
+			// Act
+			DateFieldColumns.decompose(instants, ZoneId.of("UTC"), columns[0], columns[1], columns[2], columns[3], columns[4]);
+
+			// Assert
+			for (int i = 0; i < length; i++) {
+				int civil = EpochDays.toCivil(firstDay + i);
+				assertThat(new int[] { columns[0][i], columns[1][i], columns[2][i], columns[3][i], columns[4][i] }).as("day %d", i)
+						.containsExactly(EpochDays.year(civil), EpochDays.month(civil), EpochDays.dayOfMonth(civil), i % 24, EpochDays.dayOfWeek(firstDay + i));
+			}
+		}
+
+		@Test
+		void should_reject_short_columns() {
+			// Act & Assert
+			assertThatThrownBy(() -> DateFieldColumns.decompose(new long[2], ZoneId.of("UTC"), new int[2], new int[2], new int[1], new int[2], new int[2]))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
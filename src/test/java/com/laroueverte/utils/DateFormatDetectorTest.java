@@ -0,0 +1,66 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.ParseException;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DateFormatDetectorTest extends UnitTest {
+	@ParameterizedTest
+	@CsvSource({ "2024-07-14, ISO_FORMAT", "2024-07-14 10:25:30, ISO_FORMAT_TIME", "14/07/2024, FRENCH_FORMAT", "2024-07-14-10-25, DATE_TIME_FOR_FILE_FORMAT",
+			"2024-07-14T10:25+02:00, ISO8601", "2024-07-14T10:25:30.123Z, ISO8601", "2024-10-27 02:30:00, ISO_FORMAT_TIME", "2024-10-27T02:30, ISO8601" })
+	void parse_should_match_the_DateBuilder_parsers(String text, DateLayout expectedLayout) throws ParseException {
+		// Arrange
+		DateFormatDetector detector = new DateFormatDetector();
+		DateParseResult result = new DateParseResult();
+		DateBuilder expected = expectedLayout == DateLayout.ISO8601 ? DateBuilder.iso8601(text) : DateBuilder.string(text, expectedLayout.getPattern());
+
+		// Act
+		boolean success = detector.parse(text, result);
+
+		// Assert
+		assertThat(success).isTrue();
+		assertThat(detector.getLayout()).isEqualTo(expectedLayout);
+		assertThat(result.getTimeInMillis()).isEqualTo(expected.getTimeInMillis());
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "2024-13-14, 5, invalid month", "31/02/2024, 0, invalid day of month", "2024-07-14 24:00:00, 11, invalid hour",
+			"2024-07-1x, 9, digit expected", "2024-07-14 10:25, 16, text too short", "2024-07-14-10-25-00, 16, unexpected trailing text",
+			"14.07.2024, 0, unknown date layout", "2024/07/14, 0, unknown date layout", "2024-07-14T25:00, 11, invalid hour" })
+	void parse_should_report_errors(String text, int expectedIndex, String expectedReason) {
+		// Arrange
+		DateParseResult result = new DateParseResult();
+
+		// Act
+		boolean success = new DateFormatDetector().parse(text, result);
+
+		// Assert
+		assertThat(success).isFalse();
+		assertThat(result.getErrorIndex()).isEqualTo(expectedIndex);
+		assertThat(result.getReason()).isEqualTo(expectedReason);
+	}
+
+	@Nested
+	class layout {
+		@Test
+		void should_be_kept_from_one_row_to_the_next() {
+			// Arrange
+			DateFormatDetector detector = new DateFormatDetector();
+			DateParseResult result = new DateParseResult();
+
+			// Act & Assert
+			assertThat(detector.getLayout()).isNull();
+			assertThat(detector.parse("14/07/2024", result)).isTrue();
+			assertThat(detector.parse("15/07/2024", result)).isTrue();
+			assertThat(detector.getLayout()).isEqualTo(DateLayout.FRENCH_FORMAT);
+			assertThat(detector.parse("2024-07-16", result)).isTrue();
+			assertThat(detector.getLayout()).isEqualTo(DateLayout.ISO_FORMAT);
+			assertThat(result.toDateBuilder()).isEqualTo(DateBuilder.date(2024, 7, 16));
+		}
+	}
+}
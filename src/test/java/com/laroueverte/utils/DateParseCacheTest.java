@@ -0,0 +1,153 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DateParseCacheTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	@Test
+	void parse_should_call_the_parser_once_per_text() {
+		// Arrange
+		AtomicInteger calls = new AtomicInteger();
+		DateParseCache cache = new DateParseCache(16, PARIS, (text, result) -> {
+			calls.incrementAndGet();
+			return DateBuilder.tryIso8601(text.toString(), result);
+		});
+		DateParseResult result = new DateParseResult();
+		StringBuilder text = new StringBuilder("2024-07-14T10:25:30Z");
+
+		// Act
+		for (int i = 0; i < 100; i++) {
+			cache.parse(text, result);
+		}
+
+		// Assert
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-14T10:25:30Z").getTimeInMillis());
+		assertThat(cache.getHitCount()).isEqualTo(99);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitRate()).isEqualTo(0.99);
+	}
+
+	@Test
+	void parse_should_cache_failures() {
+		// Arrange
+		DateParseCache cache = DateParseCache.iso8601(16, PARIS);
+		DateParseResult result = new DateParseResult();
+
+		// Act
+		cache.parse("2024-13-14T10:25", result);
+		boolean success = cache.parse("2024-13-14T10:25", result);
+
+		// Assert
+		assertThat(success).isFalse();
+		assertThat(result.getErrorIndex()).isEqualTo(5);
+		assertThat(result.getReason()).isEqualTo(Iso8601Parser.INVALID_MONTH);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void parse_should_stay_bounded_and_keep_referenced_entries() {
+		// Arrange
+		DateParseCache cache = DateParseCache.detecting(8, PARIS);
+		DateParseResult result = new DateParseResult();
+		cache.parse("2024-07-14", result);
+
+		// Act
+		for (int day = 1; day <= 28; day++) {
+			cache.parse("2024-07-14", result);
+			cache.parse(String.format("2024-02-%02d", day), result);
+		}
+
+		// Assert
+		assertThat(cache.getMissCount()).isEqualTo(29);
+		assertThat(cache.getHitCount()).isEqualTo(28);
+		assertThat(cache.getEvictionCount()).isEqualTo(21);
+		assertThat(result.getTimeInMillis()).isEqualTo(LocalDate.of(2024, 2, 28).atStartOfDay(PARIS).toInstant().toEpochMilli());
+	}
+
+	@Test
+	void parse_should_be_consistent_across_threads() throws Exception {
+		// Arrange
+		DateParseCache cache = DateParseCache.iso8601(64, PARIS);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Boolean>> futures = new ArrayList<>();
+
+		// Act
+		for (int t = 0; t < 4; t++) {
+			futures.add(executor.submit(() -> {
+				DateParseResult result = new DateParseResult();
+				for (int i = 0; i < 20_000; i++) {
+					String text = String.format("2024-07-14T10:%02d:%02dZ", i / 60 % 60, i % 60);
+					cache.parse(text, result);
+					if (result.getTimeInMillis() != DateBuilder.iso8601(text).getTimeInMillis()) {
+						return false;
+					}
+				}
+				return true;
+			}));
+		}
+
+		// Assert
+		for (Future<Boolean> future : futures) {
+			assertThat(future.get()).isTrue();
+		}
+		executor.shutdown();
+		assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(80_000);
+	}
+
+	@Nested
+	class getDate {
+		@Test
+		void should_return_the_same_constant_in_the_zone() {
+			// Arrange
+			DateParseCache cache = DateParseCache.detecting(16, PARIS);
+
+			// Act
+			DateConstant result = cache.getDate("2024-07-14 10:25:30");
+
+			// Assert
+			assertThat(cache.getDate("2024-07-14 10:25:30")).isSameAs(result);
+			assertThat(result.getZone()).isEqualTo(PARIS);
+			assertThat(result.getHour()).isEqualTo(10);
+			assertThat(cache.getDate("14.07.2024")).isNull();
+			assertThat(cache.getDate(null)).isNull();
+		}
+
+		@Test
+		void should_be_readable_by_concurrent_threads() throws Exception {
+			// Arrange
+			DateParseCache cache = DateParseCache.detecting(1024, PARIS);
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+
+			for (int day = 1; day <= 28; day++) {
+				String text = String.format("2024-02-%02d 23:45:00", day);
+				DateConstant date = cache.getDate(text);
+				List<Future<String>> readings = new ArrayList<>();
+
+				// Act
+				for (int thread = 0; thread < 4; thread++) {
+					readings.add(executor.submit(() -> date.getYear() + "-" + date.getHumanMonth() + "-" + date.getDayOfMonth() + " " + date.getHour()));
+				}
+
+				// Assert
+				for (Future<String> reading : readings) {
+					assertThat(reading.get()).isEqualTo("2024-2-" + day + " 23");
+				}
+			}
+			executor.shutdown();
+		}
+	}
+}
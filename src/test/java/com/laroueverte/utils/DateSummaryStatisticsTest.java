@@ -0,0 +1,78 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DateSummaryStatisticsTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	@Test
+	void summarizing_should_collect_count_min_max_span_and_mean() {
+		// Arrange
+		Stream<DateConstant> dates = Stream.of(DateBuilder.iso8601("2024-07-14T10:00Z").constant(), DateBuilder.iso8601("2024-07-12T10:00Z").constant(),
+				DateBuilder.iso8601("2024-07-16T10:00Z").constant());
+
+		// Act
+		DateSummaryStatistics result = dates.collect(DateSummaryStatistics.summarizing(PARIS));
+
+		// Assert
+		assertThat(result.getCount()).isEqualTo(3);
+		assertThat(result.getMin().toISO8601OffsetDateTime()).isEqualTo("2024-07-12T12:00+02:00");
+		assertThat(result.getMax().getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-16T10:00Z").getTimeInMillis());
+		assertThat(result.getMean().getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-14T10:00Z").getTimeInMillis());
+		assertThat(result.getSpanMillis()).isEqualTo(4 * EpochDays.MILLIS_PER_DAY);
+		assertThat(result.getMean().getZone()).isEqualTo(PARIS);
+	}
+
+	@Test
+	void of_should_not_overflow_on_large_parallel_streams() {
+		// Arrange
+		long start = DateBuilder.iso8601("2024-01-01T00:00Z").getTimeInMillis();
+
+		// Act
+		DateSummaryStatistics result = DateSummaryStatistics.of(LongStream.range(0, 10_000_000).parallel().map(i -> start + i), PARIS);
+
+		// Assert
+		assertThat(result.getCount()).isEqualTo(10_000_000);
+		assertThat(result.getMinMillis()).isEqualTo(start);
+		assertThat(result.getMaxMillis()).isEqualTo(start + 9_999_999);
+		assertThat(result.getMeanMillis()).isEqualTo(start + 4_999_999);
+	}
+
+	@Test
+	void getMeanMillis_should_round_down_before_EPOCH() {
+		// Arrange
+		DateSummaryStatistics statistics = new DateSummaryStatistics();
+		long[] millis = { Long.MIN_VALUE / 2, Long.MIN_VALUE / 2, Long.MIN_VALUE / 2 + 1, -2 };
+		// The sum, -3 * 2^62 - 1, does not fit in a long
+
+		// Act
+		Arrays.stream(millis).forEach(statistics);
+
+		// Assert
+		assertThat(statistics.getMeanMillis()).isEqualTo(-3 * (1L << 60) - 1);
+	}
+
+	@Nested
+	class empty {
+		@Test
+		void should_have_no_dates() {
+			// Arrange
+			DateSummaryStatistics statistics = Stream.<DateConstant> empty().collect(DateSummaryStatistics.summarizing());
+
+			// Act & Assert
+			assertThat(statistics.getCount()).isZero();
+			assertThat(statistics.getMin()).isNull();
+			assertThat(statistics.getMean()).isNull();
+			assertThat(statistics.getSpanMillis()).isZero();
+			assertThat(statistics).hasToString("DateSummaryStatistics[count=0]");
+		}
+	}
+}
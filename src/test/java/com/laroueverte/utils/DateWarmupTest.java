@@ -0,0 +1,58 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DateWarmupTest extends UnitTest {
+	@Nested
+	class run {
+		@Test
+		void should_report_each_initialized_item() {
+			// Arrange
+			DateWarmup warmup = DateWarmup.empty().locale(Locale.GERMAN).pattern("EEEE dd MMMM", "ww").zone(ZoneId.of("America/New_York")).iterations(10);
+
+			// Act
+			DateWarmup.Report result = warmup.run();
+
+			// Assert
+			assertThat(result.getSteps()).extracting(DateWarmup.Step::getName).containsExactly("zone America/New_York", "locale de",
+					"locale data EEEE dd MMMM de", "locale data ww de", "hot paths x10");
+			assertThat(result.getTotalNanos()).isPositive();
+			assertThat(result.toString()).startsWith("Date warm-up in ").contains("\n  zone America/New_York : ");
+		}
+
+		@Test
+		void should_reject_an_invalid_pattern() {
+			// Act & Assert
+			assertThatThrownBy(() -> DateWarmup.empty().locale(Locale.FRENCH).pattern("yyyy-bb").run()).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	class iterations {
+		@Test
+		void should_reject_a_negative_count() {
+			// Act & Assert
+			assertThatThrownBy(() -> DateWarmup.empty().iterations(-1)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	class defaults {
+		@Test
+		void should_warm_up_the_repository_patterns() {
+			// Act
+			DateWarmup.Report result = DateWarmup.defaults().iterations(0).run();
+
+			// Assert
+			assertThat(result.getSteps()).extracting(DateWarmup.Step::getName).contains("zone " + ZoneId.systemDefault(),
+					"locale data " + DateConstant.DATETIME_FORMAT_FRENCH_LONG + " fr").noneMatch(name -> name.startsWith("hot paths"));
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class DaySetTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	private static DaySet randomSet(Random random, TreeSet<Long> expected, int count, int range) {
+		DaySet set = new DaySet();
+		for (int i = 0; i < count; i++) {
+			long day = random.nextInt(range) - 1000;
+			set.add(day);
+			expected.add(day);
+		}
+		return set;
+	}
+
+	private static TreeSet<Long> toTreeSet(DaySet set) {
+		TreeSet<Long> days = new TreeSet<>();
+		set.forEachDay(days::add);
+		return days;
+	}
+
+	@Test
+	void operations_should_match_sets_of_days() {
+		// Arrange
+		Random random = new Random(42);
+		for (int[] shape : new int[][] { { 100, 3000 }, { 6000, 8000 }, { 20_000, 140_000 } }) {
+			TreeSet<Long> expectedA = new TreeSet<>();
+			TreeSet<Long> expectedB = new TreeSet<>();
+			DaySet a = randomSet(random, expectedA, shape[0], shape[1]);
+			DaySet b = randomSet(random, expectedB, shape[0] / 2, shape[1]);
+			b.addRange(500, 5000);
+			for (long day = 500; day <= 5000; day++) {
+				expectedB.add(day);
+			}
+
+			// Act
+			TreeSet<Long> and = toTreeSet(a.and(b));
+			TreeSet<Long> or = toTreeSet(a.or(b));
+			TreeSet<Long> andNot = toTreeSet(a.andNot(b));
+
+			// Assert
+			TreeSet<Long> expectedAnd = new TreeSet<>(expectedA);
+			expectedAnd.retainAll(expectedB);
+			TreeSet<Long> expectedOr = new TreeSet<>(expectedA);
+			expectedOr.addAll(expectedB);
+			TreeSet<Long> expectedAndNot = new TreeSet<>(expectedA);
+			expectedAndNot.removeAll(expectedB);
+			assertThat(and).isEqualTo(expectedAnd);
+			assertThat(or).isEqualTo(expectedOr);
+			assertThat(andNot).isEqualTo(expectedAndNot);
+			assertThat(a.cardinality()).isEqualTo(expectedA.size());
+			assertThat(b.cardinality()).isEqualTo(expectedB.size());
+		}
+	}
+
+	@Test
+	void intersection_should_intersect_all_the_calendars() {
+		// Arrange
+		DaySet summer = new DaySet();
+		summer.addRange(19_905, 19_997);
+		DaySet weekends = new DaySet();
+		for (long day = 19_900; day < 20_000; day++) {
+			if (day % 7 == 2 || day % 7 == 3) {
+				weekends.add(day);
+			}
+		}
+		DaySet july = new DaySet();
+		july.addRange(19_905, 19_935);
+
+		// Act
+		DaySet result = DaySet.intersection(Arrays.asList(summer, weekends, july));
+
+		// Assert
+		assertThat(result.cardinality()).isEqualTo(8);
+		assertThat(result.contains(19_910)).isTrue();
+		assertThat(result.contains(19_912)).isFalse();
+		assertThat(DaySet.intersection(Arrays.asList())).matches(DaySet::isEmpty);
+	}
+
+	@Test
+	void writeTo_should_write_a_compact_set_read_back_by_readFrom() throws IOException {
+		// Arrange
+		DaySet set = new DaySet();
+		set.addRange(0, 100_000);
+		set.remove(50_000);
+		set.add(-3);
+		set.add(-700_000);
+		for (long day = 200_000; day < 220_000; day += 3) {
+			set.add(day);
+		}
+		set.runOptimize();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		// Act
+		set.writeTo(new DataOutputStream(bytes));
+		DaySet result = DaySet.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		// Assert
+		assertThat(result).isEqualTo(set);
+		assertThat(result.cardinality()).isEqualTo(100_000 + 2 + 6667);
+		assertThat(bytes.size()).isLessThan(2 * 1024 * 8);
+	}
+
+	@Test
+	void readFrom_should_reject_a_corrupted_stream() {
+		// Arrange
+		byte[] bytes = { 1, 0, 0, 0, 0, 7 };
+
+		// Act & Assert
+		assertThatThrownBy(() -> DaySet.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)))).isInstanceOf(IOException.class);
+	}
+
+	@Nested
+	class dates {
+		@Test
+		void should_be_local_days_in_their_zone() {
+			// Arrange
+			DaySet set = DaySet.of(Arrays.asList(DateBuilder.iso8601("2024-07-14T23:30Z").inZone(PARIS).constant(),
+					DateBuilder.iso8601("2024-03-31T12:00+02:00").inZone(PARIS).constant()));
+
+			// Act
+			List<DateConstant> result = set.toDates(PARIS);
+
+			// Assert
+			assertThat(result).extracting(DateConstant::toISO8601OffsetDateTime).containsExactly("2024-03-31T00:00+01:00", "2024-07-15T00:00+02:00");
+			assertThat(set.contains(DateBuilder.iso8601("2024-07-15T08:00+02:00").inZone(PARIS).constant())).isTrue();
+			assertThat(set.contains(DateBuilder.iso8601("2024-07-14T08:00+02:00").inZone(PARIS).constant())).isFalse();
+		}
+
+		@Test
+		void remove_should_drop_empty_chunks() {
+			// Arrange
+			DaySet set = new DaySet();
+			set.add(5);
+
+			// Act
+			boolean removed = set.remove(5);
+
+			// Assert
+			assertThat(removed).isTrue();
+			assertThat(set.isEmpty()).isTrue();
+			assertThat(set.remove(5)).isFalse();
+			assertThat(set.days().hasNext()).isFalse();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DeltaTimestampColumnTest extends UnitTest {
+
+	private static long[] regularEvents(int count) {
+		Random random = new Random(42);
+		long[] values = new long[count];
+		values[0] = DateBuilder.dateTime(2024, 1, 1, 0, 0).getTimeInMillis();
+		for (int i = 1; i < count; i++) {
+			values[i] = values[i - 1] + 1000 + random.nextInt(3);
+		}
+		return values;
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 7, 128, 1000 })
+	void decode_should_return_encoded_values(int blockSize) {
+		// Arrange
+		long[] values = regularEvents(1001);
+
+		// Act
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(values, 0, values.length, blockSize);
+
+		// Assert
+		assertThat(column.size()).isEqualTo(values.length);
+		assertThat(column.decode()).containsExactly(values);
+	}
+
+	@Test
+	void get_should_give_random_access() {
+		// Arrange
+		long[] values = regularEvents(1000);
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(values);
+
+		// Act & Assert
+		for (int i = 0; i < values.length; i += 37) {
+			assertThat(column.get(i)).isEqualTo(values[i]);
+		}
+		assertThat(column.get(999)).isEqualTo(values[999]);
+	}
+
+	@Test
+	void regular_events_should_take_about_one_byte_each() {
+		// Act
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(regularEvents(10_000));
+
+		// Assert
+		assertThat(column.dataSize()).isLessThanOrEqualTo(10_000);
+	}
+
+	@Test
+	void extreme_values_should_round_trip() {
+		// Arrange
+		long[] values = { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE, Long.MIN_VALUE };
+
+		// Act
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(values);
+
+		// Assert
+		assertThat(column.decode()).containsExactly(values);
+	}
+
+	@Test
+	void serialized_form_should_round_trip() throws IOException {
+		// Arrange
+		long[] values = regularEvents(300);
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(values);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		// Act
+		column.writeTo(new DataOutputStream(bytes));
+		DeltaTimestampColumn result = DeltaTimestampColumn.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		// Assert
+		assertThat(result.decode()).containsExactly(values);
+		assertThat(result.get(200)).isEqualTo(values[200]);
+	}
+
+	@Test
+	void empty_column_should_be_supported() {
+		// Act
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(new long[0]);
+
+		// Assert
+		assertThat(column.size()).isZero();
+		assertThat(column.decode()).isEmpty();
+	}
+
+	@Test
+	void huge_block_size_should_give_a_single_block() {
+		// Arrange
+		long[] values = regularEvents(10);
+
+		// Act
+		DeltaTimestampColumn column = DeltaTimestampColumn.encode(values, 0, values.length, Integer.MAX_VALUE);
+
+		// Assert
+		assertThat(column.blockCount()).isEqualTo(1);
+		assertThat(column.decode()).containsExactly(values);
+	}
+
+	@Test
+	void encode_should_reject_invalid_ranges() {
+		// Arrange
+		long[] values = regularEvents(10);
+
+		// Act & Assert
+		assertThatThrownBy(() -> DeltaTimestampColumn.encode(values, -1, 5, 4)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> DeltaTimestampColumn.encode(values, 6, 5, 4)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> DeltaTimestampColumn.encode(values, 0, 11, 4)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void readFrom_should_reject_corrupted_offsets() throws IOException {
+		// Arrange
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(3);
+		out.writeInt(2);
+		out.writeLong(0);
+		out.writeLong(0);
+		out.writeInt(0);
+		out.writeInt(5);
+		out.writeInt(-4);
+
+		// Act & Assert
+		assertThatThrownBy(() -> DeltaTimestampColumn.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+				.isInstanceOf(IOException.class);
+	}
+}
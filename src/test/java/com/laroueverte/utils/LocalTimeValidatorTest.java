@@ -0,0 +1,147 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LocalTimeValidatorTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	private static long local(String iso) {
+		return LocalDateTime.parse(iso).toEpochSecond(ZoneOffset.UTC) * 1000;
+	}
+
+	private static long instant(String iso) {
+		return DateBuilder.iso8601(iso).getTimeInMillis();
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "2024-03-31T01:59:59, UNIQUE", "2024-03-31T02:00, NONEXISTENT", "2024-03-31T02:59:59, NONEXISTENT", "2024-03-31T03:00, UNIQUE",
+			"2024-10-27T01:59:59, UNIQUE", "2024-10-27T02:00, AMBIGUOUS", "2024-10-27T02:59:59, AMBIGUOUS", "2024-10-27T03:00, UNIQUE",
+			"2150-03-29T02:30, NONEXISTENT", "1850-03-29T02:30, UNIQUE" })
+	void classify_should_detect_gaps_and_overlaps(String localIso, LocalTimeStatus expected) {
+		// Arrange
+		LocalTimeValidator validator = new LocalTimeValidator(PARIS, DstPolicy.EARLIER);
+
+		// Act
+		LocalTimeStatus result = validator.classify(local(localIso));
+
+		// Assert
+		assertThat(result).isEqualTo(expected);
+	}
+
+	@Nested
+	class resolve {
+		@ParameterizedTest
+		@CsvSource({ "EARLIER, 2024-03-31T03:30+02:00", "LATER, 2024-03-31T03:30+02:00", "SHIFT, 2024-03-31T03:00+02:00" })
+		void gap(DstPolicy policy, String expectedIso) {
+			// Act
+			long result = new LocalTimeValidator(PARIS, policy).resolve(local("2024-03-31T02:30"));
+
+			// Assert
+			assertThat(result).isEqualTo(instant(expectedIso));
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "EARLIER, 2024-10-27T02:30+02:00", "LATER, 2024-10-27T02:30+01:00", "SHIFT, 2024-10-27T02:30+02:00" })
+		void overlap(DstPolicy policy, String expectedIso) {
+			// Act
+			long result = new LocalTimeValidator(PARIS, policy).resolve(local("2024-10-27T02:30"));
+
+			// Assert
+			assertThat(result).isEqualTo(instant(expectedIso));
+		}
+
+		@Test
+		void reject_should_only_reject_non_unique_times() {
+			// Arrange
+			LocalTimeValidator validator = new LocalTimeValidator(PARIS, DstPolicy.REJECT);
+
+			// Assert
+			assertThat(validator.resolve(local("2024-10-27T02:30"))).isEqualTo(LocalTimeValidator.REJECTED);
+			assertThat(validator.resolve(local("2024-03-31T02:30"))).isEqualTo(LocalTimeValidator.REJECTED);
+			assertThat(validator.resolve(local("2024-03-31T03:30"))).isEqualTo(instant("2024-03-31T03:30+02:00"));
+		}
+
+		@Test
+		void later_should_match_calendar_resolution() {
+			// Arrange
+			LocalTimeValidator validator = new LocalTimeValidator(PARIS, DstPolicy.LATER);
+
+			Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(PARIS));
+			calendar.clear();
+
+			// Assert
+			calendar.set(2024, Calendar.OCTOBER, 27, 2, 30);
+			assertThat(validator.resolve(local("2024-10-27T02:30"))).isEqualTo(calendar.getTimeInMillis());
+			calendar.set(2024, Calendar.MARCH, 31, 2, 30);
+			assertThat(validator.resolve(local("2024-03-31T02:30"))).isEqualTo(calendar.getTimeInMillis());
+		}
+
+		@Test
+		void outside_precomputed_years_should_use_zone_rules() {
+			// Act
+			long result = new LocalTimeValidator(PARIS, DstPolicy.SHIFT).resolve(local("2150-03-29T02:30"));
+
+			// Assert
+			assertThat(result).isEqualTo(instant("2150-03-29T03:00+02:00"));
+		}
+	}
+
+	@Test
+	void validate_should_classify_and_resolve_a_column() {
+		// Arrange
+		LocalTimeValidator validator = new LocalTimeValidator(PARIS, DstPolicy.REJECT);
+		long[] locals = { local("2024-03-31T01:30"), local("2024-03-31T02:30"), local("2024-10-27T02:30"), local("2024-10-27T03:30") };
+		long[] utc = new long[locals.length];
+		byte[] statuses = new byte[locals.length];
+
+		// Act
+		int nonUnique = validator.validate(locals, utc, statuses);
+
+		// Assert
+		assertThat(nonUnique).isEqualTo(2);
+		assertThat(LocalTimeValidator.status(statuses[0])).isEqualTo(LocalTimeStatus.UNIQUE);
+		assertThat(LocalTimeValidator.status(statuses[1])).isEqualTo(LocalTimeStatus.NONEXISTENT);
+		assertThat(LocalTimeValidator.status(statuses[2])).isEqualTo(LocalTimeStatus.AMBIGUOUS);
+		assertThat(utc).containsExactly(instant("2024-03-31T01:30+01:00"), LocalTimeValidator.REJECTED, LocalTimeValidator.REJECTED,
+				instant("2024-10-27T03:30+01:00"));
+	}
+
+	@ParameterizedTest
+	@EnumSource(DstPolicy.class)
+	void validate_should_match_classify_and_resolve_in_any_order(DstPolicy policy) {
+		// Arrange
+		LocalTimeValidator validator = new LocalTimeValidator(PARIS, policy);
+		Random random = new Random(42);
+		long start = local("2023-03-20T00:00");
+		long[] locals = new long[5000];
+		for (int i = 0; i < locals.length; i++) {
+			// Sorted first half every 3 hours 7 minutes across both changes of 2023, random second half including the years outside of the table
+			locals[i] = i < locals.length / 2 ? start + i * 11_220_000L : local("1850-01-01T00:00") + (long) (random.nextDouble() * 300 * 365.25 * 86_400_000L);
+		}
+		long[] utc = new long[locals.length];
+		byte[] statuses = new byte[locals.length];
+
+		// Act
+		validator.validate(locals, utc, statuses);
+
+		// Assert
+		for (int i = 0; i < locals.length; i++) {
+			assertThat(LocalTimeValidator.status(statuses[i])).as("value %d", i).isEqualTo(validator.classify(locals[i]));
+			assertThat(utc[i]).as("value %d", i).isEqualTo(validator.resolve(locals[i]));
+		}
+	}
+}
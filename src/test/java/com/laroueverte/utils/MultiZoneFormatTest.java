@@ -0,0 +1,48 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+class MultiZoneFormatTest extends UnitTest {
+	private static final ZoneId[] ZONES = { ZoneId.of("Europe/Paris"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kolkata"), ZoneId.of("UTC"),
+			ZoneId.of("Australia/Lord_Howe"), ZoneId.of("+03:00") };
+
+	@Test
+	void format_should_match_the_date_rendered_in_each_zone() {
+		// Arrange
+		String pattern = "EEE d MMM yyyy HH:mm:ss Z";
+		MultiZoneFormat format = MultiZoneFormat.compile(pattern, Locale.ENGLISH, ZONES);
+		for (long millis = DateBuilder.iso8601("2024-01-01T00:00Z").getTimeInMillis(); millis < DateBuilder.iso8601("2025-01-01T00:00Z")
+				.getTimeInMillis(); millis += 7 * 3_600_000 + 1234) {
+			DateBuilder date = DateBuilder.milliseconds(millis);
+
+			// Act
+			String[] result = format.format(date);
+
+			// Assert
+			for (int i = 0; i < ZONES.length; i++) {
+				assertThat(result[i]).isEqualTo(DateBuilder.milliseconds(millis, ZONES[i]).toString(pattern, Locale.ENGLISH));
+			}
+		}
+	}
+
+	@Test
+	void format_should_append_to_each_destination() {
+		// Arrange
+		MultiZoneFormat format = MultiZoneFormat.compile("HH:mm", Locale.ENGLISH, ZoneId.of("Europe/Paris"), ZoneId.of("Asia/Tokyo"));
+		StringBuilder[] destinations = { new StringBuilder("Paris "), new StringBuilder("Tokyo ") };
+
+		// Act
+		format.format(DateBuilder.iso8601("2024-07-01T10:15Z").getTimeInMillis(), destinations);
+
+		// Assert
+		assertThat(format.size()).isEqualTo(2);
+		assertThat(format.getZone(1)).isEqualTo(ZoneId.of("Asia/Tokyo"));
+		assertThat(destinations[0]).hasToString("Paris 12:15");
+		assertThat(destinations[1]).hasToString("Tokyo 19:15");
+	}
+}
@@ -0,0 +1,94 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PackedDateTimeTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	@Test
+	void fields_should_match_DateConstant() {
+		// Arrange
+		Random random = new Random(3);
+		for (int i = 0; i < 2000; i++) {
+			DateBuilder date = DateBuilder.milliseconds(-2_000_000_000_000L + (long) (random.nextDouble() * 6_000_000_000_000L));
+
+			// Act
+			long result = date.toPackedDateTime();
+
+			// Assert
+			assertThat(PackedDateTime.year(result)).isEqualTo(date.getYear());
+			assertThat(PackedDateTime.month(result)).isEqualTo(date.getHumanMonth());
+			assertThat(PackedDateTime.dayOfMonth(result)).isEqualTo(date.getDayOfMonth());
+			assertThat(PackedDateTime.hour(result)).isEqualTo(date.getHour());
+			assertThat(PackedDateTime.minute(result)).isEqualTo(date.getMinute());
+			assertThat(PackedDateTime.second(result)).isEqualTo(date.getSecond());
+			assertThat(PackedDateTime.millisecond(result)).isEqualTo(date.getMillisecond());
+			assertThat(PackedDateTime.toDateBuilder(result)).isEqualTo(date);
+		}
+	}
+
+	@Test
+	void packed_values_should_sort_as_local_date_times() {
+		// Arrange
+		long[] packed = { PackedDateTime.of(-5, 12, 31, 23, 59, 59, 999), PackedDateTime.of(2024, 2, 29, 0, 0, 0, 0),
+				PackedDateTime.of(2024, 1, 31, 23, 59, 59, 999), PackedDateTime.of(1969, 12, 31, 23, 59, 59, 999), PackedDateTime.of(2024, 2, 29, 0, 0, 0, 1) };
+
+		// Act
+		Arrays.sort(packed);
+
+		// Assert
+		assertThat(Arrays.stream(packed).mapToObj(PackedDateTime::toString)).containsExactly("-005-12-31T23:59:59.999", "1969-12-31T23:59:59.999",
+				"2024-01-31T23:59:59.999", "2024-02-29T00:00:00.000", "2024-02-29T00:00:00.001");
+	}
+
+	@Test
+	void of_should_reject_invalid_fields() {
+		// Act & Assert
+		assertThatThrownBy(() -> PackedDateTime.of(2023, 2, 29, 0, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PackedDateTime.of(2024, 1, 1, 24, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Nested
+	class fromMillis {
+		@Test
+		void bulk_should_match_single_conversions() {
+			// Arrange
+			long[] millis = { 0, DateBuilder.iso8601("2024-03-31T00:59:59Z").getTimeInMillis(), DateBuilder.iso8601("2024-03-31T01:00Z").getTimeInMillis(),
+					DateBuilder.iso8601("2024-10-27T00:30Z").getTimeInMillis(), DateBuilder.iso8601("2024-10-27T01:30Z").getTimeInMillis() };
+			long[] packed = new long[millis.length];
+
+			// Act
+			PackedDateTime.fromMillis(millis, packed, PARIS);
+
+			// Assert
+			assertThat(Arrays.stream(packed).mapToObj(PackedDateTime::toString)).containsExactly("1970-01-01T01:00:00.000", "2024-03-31T01:59:59.000",
+					"2024-03-31T03:00:00.000", "2024-10-27T02:30:00.000", "2024-10-27T02:30:00.000");
+			for (int i = 0; i < millis.length; i++) {
+				assertThat(PackedDateTime.fromMillis(millis[i], PARIS)).isEqualTo(packed[i]);
+			}
+		}
+	}
+
+	@Nested
+	class trim {
+		@Test
+		void should_give_grouping_keys() {
+			// Arrange
+			long packed = PackedDateTime.of(2024, 7, 14, 10, 25, 30, 500);
+
+			// Act & Assert
+			assertThat(PackedDateTime.toString(PackedDateTime.trimToHour(packed))).isEqualTo("2024-07-14T10:00:00.000");
+			assertThat(PackedDateTime.toString(PackedDateTime.trimToDay(packed))).isEqualTo("2024-07-14T00:00:00.000");
+			assertThat(PackedDateTime.toString(PackedDateTime.trimToMonth(packed))).isEqualTo("2024-07-01T00:00:00.000");
+			assertThat(PackedDateTime.toLocalMillis(PackedDateTime.trimToDay(packed)) % EpochDays.MILLIS_PER_DAY).isZero();
+		}
+	}
+}
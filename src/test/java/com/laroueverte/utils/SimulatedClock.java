@@ -0,0 +1,32 @@
+package com.laroueverte.utils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Clock whose time is only changed by the test, to be given to the schedulers or to {@link DateBuilder#setClock(Clock)}
+ */
+class SimulatedClock extends Clock {
+	// Read by the scheduler threads
+	volatile long millis;
+
+	SimulatedClock(long millis) {
+		this.millis = millis;
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return ZoneId.systemDefault();
+	}
+
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return this;
+	}
+
+	@Override
+	public Instant instant() {
+		return Instant.ofEpochMilli(millis);
+	}
+}
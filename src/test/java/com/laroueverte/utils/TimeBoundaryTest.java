@@ -0,0 +1,68 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TimeBoundaryTest extends UnitTest {
+	@ParameterizedTest
+	@CsvSource({ "SECOND, Europe/Paris, 2024-07-01T10:00:00.250+02:00, 2024-07-01T10:00:01+02:00",
+			"MINUTE, Europe/Paris, 2024-07-01T10:00+02:00, 2024-07-01T10:01+02:00",
+			"MINUTE, Asia/Kolkata, 2024-07-01T10:29:59+05:30, 2024-07-01T10:30+05:30",
+			"HOUR, Asia/Kolkata, 2024-07-01T10:29:59+05:30, 2024-07-01T11:00+05:30",
+			"HOUR, Europe/Paris, 2024-03-31T01:30+01:00, 2024-03-31T03:00+02:00",
+			"HOUR, Europe/Paris, 2024-10-27T02:30+02:00, 2024-10-27T02:00+01:00",
+			"DAY, America/Havana, 2024-11-02T12:00-04:00, 2024-11-03T00:00-04:00", "DAY, America/Havana, 2024-11-03T00:30-04:00, 2024-11-04T00:00-05:00",
+			"HOUR, Australia/Lord_Howe, 2024-10-06T01:45+10:30, 2024-10-06T03:00+11:00",
+			"DAY, Europe/Paris, 2024-03-30T12:00+01:00, 2024-03-31T00:00+01:00",
+			"DAY, Europe/Paris, 2024-03-31T00:00+01:00, 2024-04-01T00:00+02:00",
+			"DAY, America/Sao_Paulo, 2018-11-03T12:00-03:00, 2018-11-04T01:00-02:00",
+			"MONTH, Europe/Paris, 2024-01-31T10:00+01:00, 2024-02-01T00:00+01:00",
+			"MONTH, Europe/Paris, 2024-12-31T23:59:59.999+01:00, 2025-01-01T00:00+01:00",
+			"YEAR, Europe/Paris, 2024-06-15T10:00+02:00, 2025-01-01T00:00+01:00", "YEAR, Europe/Paris, 2150-06-15T10:00+02:00, 2151-01-01T00:00+01:00" })
+	void next_should_return_the_first_local_boundary_after_the_time(TimeBoundary boundary, String zone, String timeIso, String expectedIso) {
+		// Act
+		long result = boundary.next(DateBuilder.iso8601(timeIso).getTimeInMillis(), ZoneId.of(zone));
+
+		// Assert
+		assertThat(result).isEqualTo(DateBuilder.iso8601(expectedIso).getTimeInMillis());
+	}
+
+	@Test
+	void next_hour_should_be_a_boundary_twice_in_an_overlap() {
+		// Arrange
+		ZoneId paris = ZoneId.of("Europe/Paris");
+		long time = DateBuilder.iso8601("2024-10-27T01:30+02:00").getTimeInMillis();
+		long[] result = new long[3];
+
+		// Act
+		for (int i = 0; i < result.length; i++) {
+			time = TimeBoundary.HOUR.next(time, paris);
+			result[i] = time;
+		}
+
+		// Assert
+		assertThat(result).containsExactly(DateBuilder.iso8601("2024-10-27T02:00+02:00").getTimeInMillis(),
+				DateBuilder.iso8601("2024-10-27T02:00+01:00").getTimeInMillis(), DateBuilder.iso8601("2024-10-27T03:00+01:00").getTimeInMillis());
+	}
+
+	@Test
+	void next_should_keep_the_time_zone_of_the_date() {
+		// Arrange
+		DateBuilder date = DateBuilder.iso8601("2024-07-01T10:15Z");
+		date.calendar.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+
+		// Act
+		DateBuilder result = TimeBoundary.DAY.next(date);
+
+		// Assert
+		assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601("2024-07-02T00:00-04:00").getTimeInMillis());
+		assertThat(result.getHour()).isZero();
+		assertThat(result.calendar.getTimeZone().getID()).isEqualTo("America/New_York");
+	}
+}
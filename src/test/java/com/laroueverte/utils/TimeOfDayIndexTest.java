@@ -0,0 +1,124 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TimeOfDayIndexTest extends UnitTest {
+	@Test
+	void forEach_should_match_a_linear_scan() {
+		// Arrange
+		Random random = new Random(42);
+		int[] times = new int[3000];
+		int[] masks = new int[times.length];
+		for (int i = 0; i < times.length; i++) {
+			times[i] = random.nextInt(TimeOfDay.MILLIS_PER_DAY / 1000) * 1000;
+			masks[i] = random.nextInt(TimeOfDayIndex.ALL_DAYS + 1);
+		}
+		TimeOfDayIndex index = TimeOfDayIndex.of(times, masks);
+
+		for (int query = 0; query < 500; query++) {
+			int time = random.nextInt(TimeOfDay.MILLIS_PER_DAY);
+			int tolerance = random.nextInt(4) == 0 ? random.nextInt(TimeOfDay.MILLIS_PER_DAY) : random.nextInt(3_600_000);
+			int dayOfWeek = random.nextInt(7) + 1;
+			List<Integer> result = new ArrayList<>();
+			List<Integer> anyDay = new ArrayList<>();
+
+			// Act
+			index.forEach(time, tolerance, dayOfWeek, result::add);
+			index.forEach(time, tolerance, anyDay::add);
+
+			// Assert
+			List<Integer> expected = new ArrayList<>();
+			List<Integer> expectedAnyDay = new ArrayList<>();
+			for (int i = 0; i < times.length; i++) {
+				if (TimeOfDay.distance(time, times[i]) <= tolerance && masks[i] != 0) {
+					expectedAnyDay.add(i);
+				}
+				for (int shift = -1; shift <= 1; shift++) {
+					boolean runs = (masks[i] & TimeOfDayIndex.weekdays(Math.floorMod(dayOfWeek - 1 + shift, 7) + 1)) != 0;
+					if (runs && Math.abs((long) shift * TimeOfDay.MILLIS_PER_DAY + times[i] - time) <= tolerance) {
+						expected.add(i);
+					}
+				}
+			}
+			assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+			assertThat(anyDay).containsExactlyInAnyOrderElementsOf(expectedAnyDay);
+			assertThat(index.count(time, tolerance, dayOfWeek)).isEqualTo(expected.size());
+		}
+	}
+
+	@Test
+	void forEach_should_wrap_around_midnight_in_time_order() {
+		// Arrange
+		int[] times = { TimeOfDay.of(0, 2, 0), TimeOfDay.of(23, 50, 0), TimeOfDay.of(0, 20, 0), TimeOfDay.of(23, 36, 0) };
+		int weekdays = TimeOfDayIndex.weekdays(2, 3, 4, 5, 6);
+		TimeOfDayIndex index = TimeOfDayIndex.of(times, new int[] { weekdays, weekdays, weekdays, TimeOfDayIndex.ALL_DAYS });
+		List<Integer> result = new ArrayList<>();
+
+		// Act
+		index.forEach(TimeOfDay.of(23, 50, 0), 15 * 60_000, 2, result::add);
+
+		// Assert
+		assertThat(result).containsExactly(3, 1, 0);
+		assertThat(index.count(TimeOfDay.of(23, 50, 0), 15 * 60_000, 1)).isEqualTo(2);
+		assertThat(index.count(TimeOfDay.of(23, 50, 0), 11 * 60_000, 1)).isZero();
+	}
+
+	@Test
+	void forEach_should_match_the_next_and_previous_days_across_midnight() {
+		// Arrange
+		int monday = 2;
+		int tuesday = 3;
+		int[] times = { TimeOfDay.of(0, 2, 0), TimeOfDay.of(0, 2, 0), TimeOfDay.of(23, 55, 0), TimeOfDay.of(23, 55, 0) };
+		TimeOfDayIndex index = TimeOfDayIndex.of(times, new int[] { TimeOfDayIndex.weekdays(monday), TimeOfDayIndex.weekdays(tuesday),
+				TimeOfDayIndex.weekdays(monday), TimeOfDayIndex.weekdays(tuesday) });
+		List<Integer> afterMidnight = new ArrayList<>();
+		List<Integer> beforeMidnight = new ArrayList<>();
+
+		// Act
+		index.forEach(TimeOfDay.of(23, 50, 0), 15 * 60_000, monday, afterMidnight::add);
+		index.forEach(TimeOfDay.of(0, 5, 0), 15 * 60_000, tuesday, beforeMidnight::add);
+
+		// Assert
+		assertThat(afterMidnight).containsExactly(2, 1);
+		assertThat(beforeMidnight).containsExactly(2, 1);
+		assertThat(index.count(TimeOfDay.of(23, 50, 0), 15 * 60_000, monday)).isEqualTo(2);
+	}
+
+	@Nested
+	class of {
+		@Test
+		void should_index_dates_on_their_day_of_week() {
+			// Arrange
+			ZoneId paris = ZoneId.of("Europe/Paris");
+			List<DateConstant> departures = Arrays.asList(DateBuilder.iso8601("2024-07-15T08:05+02:00").inZone(paris).constant(),
+					DateBuilder.iso8601("2024-07-16T07:50+02:00").inZone(paris).constant(), DateBuilder.iso8601("2024-07-15T09:00+02:00").inZone(paris).constant());
+			TimeOfDayIndex index = TimeOfDayIndex.of(departures);
+			List<Integer> result = new ArrayList<>();
+
+			// Act
+			index.forEach(TimeOfDay.of(8, 0, 0), 15 * 60_000, departures.get(0).getDayOfWeek(), result::add);
+
+			// Assert
+			assertThat(result).containsExactly(0);
+			assertThat(index.size()).isEqualTo(3);
+		}
+
+		@Test
+		void should_reject_invalid_values() {
+			// Act & Assert
+			assertThatThrownBy(() -> TimeOfDayIndex.of(new int[] { -1 }, new int[] { 1 })).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> TimeOfDayIndex.of(new int[] { 0 }, new int[0])).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> TimeOfDayIndex.weekdays(0)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TimeOfDayTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+	@Test
+	void of_should_pack_fields_in_milliseconds_of_day() {
+		// Act
+		int result = TimeOfDay.of(10, 25, 30, 123);
+
+		// Assert
+		assertThat(result).isEqualTo(37_530_123);
+		assertThat(TimeOfDay.hour(result)).isEqualTo(10);
+		assertThat(TimeOfDay.minute(result)).isEqualTo(25);
+		assertThat(TimeOfDay.second(result)).isEqualTo(30);
+		assertThat(TimeOfDay.millisecond(result)).isEqualTo(123);
+		assertThat(TimeOfDay.toString(result)).isEqualTo("10:25:30.123");
+		assertThatThrownBy(() -> TimeOfDay.of(24, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void of_should_be_the_local_time_of_a_date() {
+		// Arrange
+		DateConstant date = DateBuilder.iso8601("2024-07-14T23:30:15Z").inZone(PARIS).constant();
+
+		// Act
+		int result = TimeOfDay.of(date);
+
+		// Assert
+		assertThat(result).isEqualTo(TimeOfDay.of(1, 30, 15));
+		assertThat(date.getTimeOfDay()).isEqualTo(result);
+	}
+
+	@Test
+	void arithmetic_should_wrap_around_midnight() {
+		// Arrange
+		int time = TimeOfDay.of(23, 50, 0);
+
+		// Act & Assert
+		assertThat(TimeOfDay.plusMinutes(time, 20)).isEqualTo(TimeOfDay.of(0, 10, 0));
+		assertThat(TimeOfDay.plusMinutes(time, -1440 * 3 - 50)).isEqualTo(TimeOfDay.of(23, 0, 0));
+		assertThat(TimeOfDay.plusMillis(TimeOfDay.MIDNIGHT, -1)).isEqualTo(TimeOfDay.of(23, 59, 59, 999));
+		assertThat(TimeOfDay.until(time, TimeOfDay.of(0, 10, 0))).isEqualTo(20 * 60_000);
+		assertThat(TimeOfDay.until(TimeOfDay.of(0, 10, 0), time)).isEqualTo((23 * 60 + 40) * 60_000);
+		assertThat(TimeOfDay.distance(TimeOfDay.of(0, 10, 0), time)).isEqualTo(20 * 60_000);
+		assertThat(TimeOfDay.distance(TimeOfDay.MIDNIGHT, TimeOfDay.NOON)).isEqualTo(TimeOfDay.NOON);
+	}
+
+	@Nested
+	class parse {
+		@Test
+		void should_read_hours_minutes_and_optional_seconds() throws ParseException {
+			// Act & Assert
+			assertThat(TimeOfDay.parse("08:05")).isEqualTo(TimeOfDay.of(8, 5, 0));
+			assertThat(TimeOfDay.parse("23:59:58")).isEqualTo(TimeOfDay.of(23, 59, 58));
+			assertThat(TimeOfDay.appendHourMinuteTo(TimeOfDay.parse("08:05"), new StringBuilder("at ")).toString()).isEqualTo("at 08:05");
+			assertThat(TimeOfDay.toString(TimeOfDay.parse("00:00:07"))).isEqualTo("00:00:07");
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "8:05, 4, text too short", "24:00, 0, invalid hour", "10:60, 3, invalid minute", "10:25:61, 6, invalid second", "10h25, 2, separator expected",
+				"10:2x, 3, digit expected", "10:25:30.1, 5, unexpected trailing text" })
+		void should_report_errors(String text, int expectedIndex, String expectedReason) {
+			// Arrange
+			DateParseResult result = new DateParseResult();
+
+			// Act
+			boolean success = TimeOfDay.tryParse(text, result);
+
+			// Assert
+			assertThat(success).isFalse();
+			assertThat(result.getErrorIndex()).isEqualTo(expectedIndex);
+			assertThat(result.getReason()).isEqualTo(expectedReason);
+			assertThatThrownBy(() -> TimeOfDay.parse(text)).isInstanceOf(ParseException.class);
+		}
+	}
+
+	@Nested
+	class combine {
+		@ParameterizedTest
+		@CsvSource({ "2024-07-14T10:25+02:00, 10:25", "2024-03-31T03:30+02:00, 02:30", "2024-10-27T02:30+01:00, 02:30", "2024-10-27T01:30+02:00, 01:30" })
+		void should_resolve_local_times_as_dateTime(String expected, String time) throws ParseException {
+			// Arrange
+			DateConstant day = DateBuilder.iso8601(expected.substring(0, 10) + "T12:00+02:00").inZone(PARIS).constant();
+
+			// Act
+			DateBuilder result = TimeOfDay.combine(day, TimeOfDay.parse(time));
+
+			// Assert
+			assertThat(result.getTimeInMillis()).isEqualTo(DateBuilder.iso8601(expected).getTimeInMillis());
+			assertThat(result.getZone()).isEqualTo(PARIS);
+		}
+
+		@Test
+		void should_reuse_one_validator_per_zone() {
+			// Arrange
+			LocalTimeValidator first = TimeOfDay.validator(PARIS);
+
+			// Act
+			LocalTimeValidator second = TimeOfDay.validator(ZoneId.of(PARIS.getId()));
+
+			// Assert
+			assertThat(second).isSameAs(first);
+			assertThat(TimeOfDay.validator(ZoneId.of("America/Havana"))).isNotSameAs(first);
+		}
+	}
+}
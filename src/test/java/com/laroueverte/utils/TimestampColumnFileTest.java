@@ -0,0 +1,186 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TimestampColumnFileTest extends UnitTest {
+	private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+	private static final long START = DateBuilder.iso8601("2024-01-01T00:00Z").getTimeInMillis();
+	// About 37 minutes, so that values cross hours, days and both DST changes of 2024
+	private static final long STEP = 2_222_222;
+	private static final int COUNT = 15_000;
+
+	@TempDir
+	Path directory;
+
+	private TimestampColumnFile sortedColumn() throws IOException {
+		TimestampColumnFile column = TimestampColumnFile.open(directory.resolve("sorted.ts"));
+		for (int i = 0; i < COUNT; i++) {
+			column.append(START + i * STEP);
+		}
+		return column;
+	}
+
+	@Test
+	void values_should_survive_a_reopening() throws IOException {
+		// Arrange
+		Path path = directory.resolve("column.ts");
+		try (TimestampColumnFile column = TimestampColumnFile.open(path)) {
+			column.append(new long[] { 3, 1, 2 }, 0, 3);
+			column.append(DateBuilder.milliseconds(42));
+			column.force();
+		}
+
+		// Act
+		try (TimestampColumnFile result = TimestampColumnFile.openReadOnly(path)) {
+			// Assert
+			assertThat(result.size()).isEqualTo(4);
+			assertThat(result.get(0)).isEqualTo(3);
+			assertThat(result.get(3)).isEqualTo(42);
+			assertThat(result.isSorted()).isFalse();
+			assertThatThrownBy(() -> result.append(5)).isInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	@Test
+	void open_should_reject_other_files() throws IOException {
+		// Arrange
+		Path path = directory.resolve("other.txt");
+		Files.write(path, "not a timestamp column".getBytes());
+
+		// Act & Assert
+		assertThatThrownBy(() -> TimestampColumnFile.open(path)).isInstanceOf(IOException.class);
+	}
+
+	@Nested
+	class cursor {
+		@Test
+		void should_read_the_same_fields_as_DateConstant() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Arrange
+				TimestampCursor cursor = column.cursor(PARIS);
+
+				// Act
+				while (cursor.next()) {
+					// Assert
+					DateBuilder expected = DateBuilder.milliseconds(cursor.getTimeInMillis(), PARIS);
+					String description = expected.toISO8601OffsetDateTime();
+					assertThat(cursor.getYear()).as(description).isEqualTo(expected.getYear());
+					assertThat(cursor.getHumanMonth()).as(description).isEqualTo(expected.getHumanMonth());
+					assertThat(cursor.getDayOfMonth()).as(description).isEqualTo(expected.getDayOfMonth());
+					assertThat(cursor.getDayOfWeek()).as(description).isEqualTo(expected.getDayOfWeek());
+					assertThat(cursor.getHour()).as(description).isEqualTo(expected.getHour());
+					assertThat(cursor.getMinute()).as(description).isEqualTo(expected.getMinute());
+					assertThat(cursor.getSecond()).as(description).isEqualTo(expected.getSecond());
+					assertThat(cursor.getMillisecond()).as(description).isEqualTo(expected.getMillisecond());
+					assertThat(cursor.isWeekDay()).as(description).isEqualTo(expected.isWeekDay());
+					assertThat(cursor.isMorning()).as(description).isEqualTo(expected.isMorning());
+					assertThat(cursor.toISOFormat()).isEqualTo(expected.toISOFormat());
+					assertThat(cursor.toISO8601LocalDateTime()).isEqualTo(expected.toISO8601LocalDateTime());
+					assertThat(cursor.toISO8601OffsetDateTime()).isEqualTo(description);
+				}
+				assertThat(cursor.index()).isEqualTo(COUNT);
+			}
+		}
+
+		@Test
+		void should_not_read_before_the_first_value() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Arrange
+				TimestampCursor cursor = column.cursor(PARIS);
+
+				// Act & Assert
+				assertThatThrownBy(cursor::getHour).isInstanceOf(IllegalStateException.class);
+			}
+		}
+	}
+
+	@Nested
+	class range {
+		@Test
+		void should_select_the_values_between_inclusive_bounds() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Arrange
+				DateBuilder start = DateBuilder.milliseconds(START + 100 * STEP, PARIS);
+				DateBuilder end = DateBuilder.milliseconds(START + 200 * STEP, PARIS);
+
+				// Act
+				TimestampCursor result = column.range(start, end);
+
+				// Assert
+				assertThat(result.count()).isEqualTo(101);
+				assertThat(result.next()).isTrue();
+				assertThat(result.index()).isEqualTo(100);
+				assertThat(result.isBetween(start.getDate(), end.getDate())).isTrue();
+			}
+		}
+
+		@Test
+		void should_be_empty_outside_the_values() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Act
+				TimestampCursor result = column.range(0, START - 1, PARIS);
+
+				// Assert
+				assertThat(result.count()).isZero();
+				assertThat(result.next()).isFalse();
+			}
+		}
+
+		@Test
+		void should_need_a_sorted_column() throws IOException {
+			try (TimestampColumnFile column = TimestampColumnFile.open(directory.resolve("unsorted.ts"))) {
+				// Arrange
+				column.append(new long[] { 2, 1 }, 0, 2);
+
+				// Act & Assert
+				assertThatThrownBy(() -> column.range(0, 10, PARIS)).isInstanceOf(IllegalStateException.class);
+			}
+		}
+	}
+
+	@Nested
+	class parallelCount {
+		@Test
+		void should_match_a_sequential_scan() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Arrange
+				long expected = 0;
+				TimestampCursor cursor = column.cursor(PARIS);
+				while (cursor.next()) {
+					if (cursor.isWeekDay() && cursor.isMorning()) {
+						expected++;
+					}
+				}
+
+				// Act
+				long result = column.parallelCount(PARIS, date -> date.isWeekDay() && date.isMorning());
+
+				// Assert
+				assertThat(result).isEqualTo(expected).isPositive();
+			}
+		}
+
+		@Test
+		void split_should_cover_every_value_once() throws IOException {
+			try (TimestampColumnFile column = sortedColumn()) {
+				// Act
+				List<TimestampCursor> result = column.split(7, PARIS);
+
+				// Assert
+				assertThat(result).hasSize(7);
+				assertThat(result.stream().mapToLong(TimestampCursor::count).sum()).isEqualTo(COUNT);
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TimestampIndexTest extends UnitTest {
+	private static final long START = DateBuilder.iso8601("2024-01-01T00:00Z").getTimeInMillis();
+
+	private static long[] randomTimestamps(int count) {
+		// Few distinct values, to have duplicates across blocks
+		Random random = new Random(42);
+		long[] values = new long[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = START + random.nextInt(count / 3) * 1000L;
+		}
+		return values;
+	}
+
+	@Test
+	void queries_should_match_a_linear_scan() {
+		// Arrange
+		long[] values = randomTimestamps(5000);
+		TimestampIndex index = TimestampIndex.of(values);
+		Random random = new Random(7);
+
+		for (int query = 0; query < 2000; query++) {
+			long a = START - 10_000 + random.nextInt(1_700_000) * 1000L + random.nextInt(3) - 1;
+			long b = a + random.nextInt(100_000) * 1000L;
+
+			// Act
+			int count = index.count(a, b);
+			int rank = index.rank(a);
+			OptionalLong floor = index.floor(a);
+			OptionalLong ceiling = index.ceiling(a);
+
+			// Assert
+			assertThat(count).isEqualTo((int) Arrays.stream(values).filter(v -> v >= a && v <= b).count());
+			assertThat(rank).isEqualTo((int) Arrays.stream(values).filter(v -> v < a).count());
+			assertThat(floor).isEqualTo(Arrays.stream(values).filter(v -> v <= a).max());
+			assertThat(ceiling).isEqualTo(Arrays.stream(values).filter(v -> v >= a).min());
+		}
+	}
+
+	@Test
+	void get_should_return_the_kth_value() {
+		// Arrange
+		long[] values = randomTimestamps(1000);
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+
+		// Act
+		TimestampIndex result = TimestampIndex.of(values);
+
+		// Assert
+		assertThat(result.size()).isEqualTo(1000);
+		for (int k = 0; k < sorted.length; k++) {
+			assertThat(result.get(k)).isEqualTo(sorted[k]);
+		}
+	}
+
+	@Nested
+	class count {
+		@Test
+		void should_accept_dates_and_include_bounds() {
+			// Arrange
+			TimestampIndex index = TimestampIndex
+					.of(Arrays.asList(DateBuilder.iso8601("2024-03-01T10:00Z"), DateBuilder.iso8601("2024-03-02T10:00Z"), DateBuilder.iso8601("2024-03-03T10:00Z")));
+
+			// Act
+			int result = index.count(DateBuilder.iso8601("2024-03-01T10:00Z"), DateBuilder.iso8601("2024-03-02T10:00Z"));
+
+			// Assert
+			assertThat(result).isEqualTo(2);
+			assertThat(index.count(Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(3);
+			assertThat(index.count(START + 1, START)).isZero();
+		}
+
+		@Test
+		void should_handle_an_empty_index() {
+			// Arrange
+			TimestampIndex index = TimestampIndex.of(new long[0]);
+
+			// Act & Assert
+			assertThat(index.count(Long.MIN_VALUE, Long.MAX_VALUE)).isZero();
+			assertThat(index.floor(START)).isEmpty();
+			assertThat(index.ceiling(START)).isEmpty();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class TimingWheelTest extends UnitTest {
+	private static final long START = DateBuilder.iso8601("2024-07-01T10:00:00.250Z").getTimeInMillis();
+
+	private final SimulatedClock clock = new SimulatedClock(START);
+	private final List<String> runs = new ArrayList<>();
+
+	private Runnable record(String name) {
+		return () -> runs.add(name);
+	}
+
+	@Test
+	void now_should_use_the_library_clock() {
+		// Arrange
+		DateBuilder.setClock(clock);
+		try {
+			// Act
+			DateBuilder result = DateBuilder.now();
+
+			// Assert
+			assertThat(result.getTimeInMillis()).isEqualTo(START);
+			assertThat(DateBuilder.milliseconds(START + 1).isFuture()).isTrue();
+			assertThat(DateBuilder.milliseconds(START).isFuture()).isFalse();
+		} finally {
+			DateBuilder.setClock(Clock.systemDefaultZone());
+		}
+	}
+
+	@Nested
+	class advance {
+		@Test
+		void should_run_a_task_at_the_first_tick_boundary_after_its_deadline() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+			wheel.schedule(record("a"), START + 1500);
+
+			// Act
+			clock.millis = START + 1500;
+			int beforeBoundary = wheel.advance();
+			clock.millis = START + 1750;
+			int atBoundary = wheel.advance();
+
+			// Assert
+			assertThat(beforeBoundary).isZero();
+			assertThat(atBoundary).isEqualTo(1);
+			assertThat(runs).containsExactly("a");
+			assertThat(wheel.size()).isZero();
+		}
+
+		@Test
+		void should_expire_tasks_in_deadline_order_across_levels() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+			wheel.schedule(record("year"), DateBuilder.milliseconds(START).addYear(1).getTimeInMillis());
+			wheel.schedule(record("hour"), START + 3_600_000);
+			wheel.schedule(record("minute"), START + 60_000);
+			wheel.schedule(record("day"), DateBuilder.milliseconds(START).addDays(1));
+			wheel.schedule(record("second"), START + 1000);
+
+			// Act
+			for (long time = START; time <= START + 400L * 86_400_000; time += 1000) {
+				wheel.advanceTo(time);
+			}
+
+			// Assert
+			assertThat(runs).containsExactly("second", "minute", "hour", "day", "year");
+		}
+
+		@Test
+		void should_never_run_a_task_early() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perMinute(Runnable::run, clock);
+			List<Long> lateness = new ArrayList<>();
+			for (long deadline = START; deadline < START + 5 * 86_400_000L; deadline += 7_777_777) {
+				long due = deadline;
+				wheel.schedule(() -> lateness.add(clock.millis - due), deadline);
+			}
+
+			// Act
+			while (wheel.size() > 0) {
+				clock.millis += 1000;
+				wheel.advance();
+			}
+
+			// Assert
+			assertThat(lateness).hasSize(56).allMatch(late -> late >= 0 && late < 60_000 + 1000);
+		}
+
+		@Test
+		void should_skip_idle_time() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+
+			// Act
+			int result = wheel.advanceTo(START + 1000L * 86_400_000);
+			wheel.schedule(record("a"), START + 1000L * 86_400_000 + 1000);
+			wheel.advanceTo(START + 1000L * 86_400_000 + 2000);
+
+			// Assert
+			assertThat(result).isZero();
+			assertThat(runs).containsExactly("a");
+		}
+
+		@Test
+		@Timeout(5)
+		void should_jump_to_a_far_timeout_instead_of_walking_every_tick() {
+			// Arrange : ticking every second, a year is 31 million ticks
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+			long far = DateBuilder.milliseconds(START).addYear(1000).getTimeInMillis();
+			wheel.schedule(record("far"), far);
+
+			// Act
+			int yearly = 0;
+			for (int year = 1; year < 1000; year++) {
+				yearly += wheel.advanceTo(DateBuilder.milliseconds(START).addYear(year).getTimeInMillis());
+			}
+			int last = wheel.advanceTo(far + 1000);
+
+			// Assert
+			assertThat(yearly).isZero();
+			assertThat(last).isEqualTo(1);
+			assertThat(runs).containsExactly("far");
+		}
+	}
+
+	@Nested
+	class schedule {
+		@Test
+		void should_run_a_past_deadline_immediately() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+
+			// Act
+			TimingWheel.Timeout result = wheel.schedule(record("a"), DateBuilder.milliseconds(START).addSeconds(-10));
+
+			// Assert
+			assertThat(runs).containsExactly("a");
+			assertThat(result.isCancelled()).isFalse();
+			assertThat(wheel.size()).isZero();
+		}
+	}
+
+	@Nested
+	class cancel {
+		@Test
+		void should_remove_the_task() {
+			// Arrange
+			TimingWheel wheel = TimingWheel.perSecond(Runnable::run, clock);
+			TimingWheel.Timeout kept = wheel.schedule(record("kept"), START + 5000);
+			TimingWheel.Timeout cancelled = wheel.schedule(record("cancelled"), START + 5000);
+
+			// Act
+			boolean first = cancelled.cancel();
+			boolean second = cancelled.cancel();
+			clock.millis += 10_000;
+			wheel.advance();
+
+			// Assert
+			assertThat(first).isTrue();
+			assertThat(second).isFalse();
+			assertThat(cancelled.isCancelled()).isTrue();
+			assertThat(kept.isExpired()).isTrue();
+			assertThat(kept.cancel()).isFalse();
+			assertThat(runs).containsExactly("kept");
+		}
+	}
+}
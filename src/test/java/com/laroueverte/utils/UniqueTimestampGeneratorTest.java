@@ -0,0 +1,115 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class UniqueTimestampGeneratorTest extends UnitTest {
+	private static final long NOW = DateBuilder.iso8601("2024-07-14T10:25:30.123Z").getTimeInMillis();
+
+	@AfterEach
+	void resetClock() {
+		DateBuilder.setClock(Clock.systemDefaultZone());
+	}
+
+	@Test
+	void next_should_number_timestamps_of_the_same_millisecond() {
+		// Arrange
+		DateBuilder.setClock(new SimulatedClock(NOW));
+		UniqueTimestampGenerator generator = new UniqueTimestampGenerator();
+
+		// Act
+		long first = generator.next();
+		long second = generator.next();
+
+		// Assert
+		assertThat(second).isGreaterThan(first);
+		assertThat(UniqueTimestampGenerator.toMillis(first)).isEqualTo(NOW);
+		assertThat(UniqueTimestampGenerator.toMillis(second)).isEqualTo(NOW);
+		assertThat(UniqueTimestampGenerator.sequence(first)).isZero();
+		assertThat(UniqueTimestampGenerator.sequence(second)).isEqualTo(1);
+		assertThat(generator.getLast()).isEqualTo(second);
+	}
+
+	@Test
+	void next_should_keep_increasing_when_the_clock_steps_back() {
+		// Arrange
+		SimulatedClock clock = new SimulatedClock(NOW);
+		DateBuilder.setClock(clock);
+		UniqueTimestampGenerator generator = new UniqueTimestampGenerator();
+		long before = generator.next();
+
+		// Act
+		clock.millis = NOW - 5000;
+		long regressed = generator.next();
+		clock.millis = NOW + 1;
+		long caughtUp = generator.next();
+
+		// Assert
+		assertThat(regressed).isEqualTo(before + 1);
+		assertThat(caughtUp).isEqualTo(UniqueTimestampGenerator.fromMillis(NOW + 1));
+	}
+
+	@Test
+	void next_should_be_unique_across_threads() throws Exception {
+		// Arrange
+		UniqueTimestampGenerator generator = new UniqueTimestampGenerator();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<long[]>> futures = new ArrayList<>();
+
+		// Act
+		for (int t = 0; t < 4; t++) {
+			futures.add(executor.submit(() -> {
+				long[] timestamps = new long[50_000];
+				for (int i = 0; i < timestamps.length; i++) {
+					timestamps[i] = generator.next();
+				}
+				return timestamps;
+			}));
+		}
+
+		// Assert
+		long[] all = new long[0];
+		for (Future<long[]> future : futures) {
+			long[] timestamps = future.get();
+			for (int i = 1; i < timestamps.length; i++) {
+				assertThat(timestamps[i]).isGreaterThan(timestamps[i - 1]);
+			}
+			all = concat(all, timestamps);
+		}
+		executor.shutdown();
+		assertThat(Arrays.stream(all).distinct().count()).isEqualTo(200_000);
+	}
+
+	private static long[] concat(long[] a, long[] b) {
+		long[] result = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		return result;
+	}
+
+	@Nested
+	class toDateConstant {
+		@Test
+		void should_drop_the_sequence_number() {
+			// Arrange
+			long timestamp = UniqueTimestampGenerator.fromMillis(NOW) + 42;
+
+			// Act
+			DateConstant result = UniqueTimestampGenerator.toDateConstant(timestamp);
+
+			// Assert
+			assertThat(result.getTimeInMillis()).isEqualTo(NOW);
+			assertThat(result.getMillisecond()).isEqualTo(123);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.laroueverte.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ZoneOffsetTableTest extends UnitTest {
+	private static final long STEP = 37 * 60_000L + 13_000;
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Europe/Paris", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata", "UTC", "Pacific/Apia", "America/St_Johns" })
+	void getOffsetMillis_should_match_zone_rules(String zoneId) {
+		// Arrange
+		ZoneId zone = ZoneId.of(zoneId);
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+		long start = LocalDateTime.of(1890, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1000;
+		long end = LocalDateTime.of(2110, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1000;
+
+		// Act & Assert
+		for (long utc = start; utc < end; utc += STEP * 11) {
+			assertThat(table.getOffsetMillis(utc)).as(zoneId + " " + utc).isEqualTo(zone.getRules().getOffset(Instant.ofEpochMilli(utc)).getTotalSeconds() * 1000);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Europe/Paris", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia" })
+	void toUtcMillis_should_match_LocalDateTime_atZone(String zoneId) {
+		// Arrange
+		ZoneId zone = ZoneId.of(zoneId);
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(zone);
+
+		// Act & Assert
+		for (LocalDateTime local = LocalDateTime.of(1895, 1, 1, 0, 0); local.getYear() < 2105; local = local.plusSeconds(STEP / 1000 * 7)) {
+			long localMillis = local.toEpochSecond(ZoneOffset.UTC) * 1000;
+			assertThat(table.toUtcMillis(localMillis)).as(zoneId + " " + local).isEqualTo(local.atZone(zone).toEpochSecond() * 1000);
+		}
+	}
+
+	@Test
+	void toUtcMillis_should_resolve_gap_and_overlap_like_java_time() {
+		// Arrange
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(ZoneId.of("Europe/Paris"));
+		long gap = LocalDateTime.of(2024, 3, 31, 2, 30).toEpochSecond(ZoneOffset.UTC) * 1000;
+		long overlap = LocalDateTime.of(2024, 10, 27, 2, 30).toEpochSecond(ZoneOffset.UTC) * 1000;
+
+		// Act & Assert : the gap is skipped forward, the overlap takes the summer offset
+		assertThat(table.toUtcMillis(gap)).isEqualTo(DateBuilder.iso8601("2024-03-31T03:30+02:00").getTimeInMillis());
+		assertThat(table.toUtcMillis(overlap)).isEqualTo(DateBuilder.iso8601("2024-10-27T02:30+02:00").getTimeInMillis());
+	}
+
+	@Test
+	void bulk_conversions_should_round_trip() {
+		// Arrange
+		ZoneOffsetTable table = ZoneOffsetTable.forZone(ZoneId.of("Europe/Paris"));
+		long[] utc = new long[10_000];
+		for (int i = 0; i < utc.length; i++) {
+			utc[i] = DateBuilder.dateTime(2020, 1, 1, 0, 0).getTimeInMillis() + i * STEP;
+		}
+		long[] local = new long[utc.length];
+		long[] back = new long[utc.length];
+
+		// Act
+		table.toLocalMillis(utc, local);
+		table.toUtcMillis(local, back);
+
+		// Assert
+		for (int i = 0; i < utc.length; i++) {
+			assertThat(local[i]).isEqualTo(table.toLocalMillis(utc[i]));
+			if (!DateBuilder.milliseconds(utc[i]).isALocalNonUniqueTime()) {
+				assertThat(back[i]).isEqualTo(utc[i]);
+			}
+		}
+	}
+
+	@Test
+	void tables_should_be_cached_per_zone() {
+		// Assert
+		assertThat(ZoneOffsetTable.forZone(ZoneId.of("Europe/Paris"))).isSameAs(ZoneOffsetTable.forTimeZone(TimeZone.getTimeZone("Europe/Paris")));
+		assertThat(ZoneOffsetTable.systemDefault().getZone()).isEqualTo(ZoneId.systemDefault());
+	}
+
+	@Test
+	void forTimeZone_should_leave_custom_time_zones_to_their_own_offsets() {
+		// Arrange : same ID as a tzdb zone, or unknown to java.time
+		TimeZone sameId = new SimpleTimeZone(0, "Europe/Paris", Calendar.APRIL, 1, 0, 3_600_000, Calendar.OCTOBER, 1, 0, 3_600_000);
+		TimeZone unknown = new SimpleTimeZone(3_600_000, "Custom/Zone", Calendar.APRIL, 1, 0, 3_600_000, Calendar.OCTOBER, 1, 0, 3_600_000);
+
+		// Act & Assert
+		assertThat(ZoneOffsetTable.forTimeZone(sameId)).isNull();
+		assertThat(ZoneOffsetTable.forTimeZone(unknown)).isNull();
+		assertThat(ZoneOffsetTable.forTimeZone(TimeZone.getTimeZone("Europe/Paris"))).isSameAs(ZoneOffsetTable.forZone(ZoneId.of("Europe/Paris")));
+	}
+
+	@Test
+	void systemDefault_should_follow_the_default_zone_after_reset() {
+		// Arrange
+		TimeZone initial = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+
+			// Act
+			ZoneOffsetTable.resetSystemDefault();
+			ZoneOffsetTable table = ZoneOffsetTable.systemDefault();
+
+			// Assert
+			assertThat(table.getZone()).isEqualTo(ZoneId.of("Asia/Tokyo"));
+			assertThat(ZoneOffsetTable.systemDefault()).isSameAs(table);
+		} finally {
+			TimeZone.setDefault(initial);
+			ZoneOffsetTable.resetSystemDefault();
+		}
+	}
+}